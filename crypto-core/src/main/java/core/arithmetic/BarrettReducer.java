@@ -0,0 +1,222 @@
+package core.arithmetic;
+
+import java.util.Arrays;
+
+/**
+ * Barrett reduction by a fixed modulus <i>N</i> of <i>n</i> coefficients, of any parity.
+ * <p>
+ * The reciprocal <i>&mu; = &lfloor;BASE<sup>2n</sup> / N&rfloor;</i> is computed once.
+ * A number <i>x &lt; BASE<sup>2n</sup></i> is reduced without division: the quotient is estimated
+ * as <i>q = &lfloor;&lfloor;x / BASE<sup>n-1</sup>&rfloor; &mu; / BASE<sup>n+1</sup>&rfloor;</i>, which is
+ * less than the true one by at most 2, then <i>x - qN</i> is computed modulo <i>BASE<sup>n+1</sup></i>
+ * and corrected by at most two subtractions of <i>N</i>.
+ * <p>
+ * The reducer is immutable and could be shared between threads, the operations on
+ * coefficients take caller-owned buffers.
+ *
+ * @author vadym
+ * @since 17.10.26 14:37
+ * @see <a href="http://cacr.uwaterloo.ca/hac/about/chap14.pdf">Handbook of Applied Cryptography, 14.42</a>
+ */
+public final class BarrettReducer {
+    /**
+     * Mask for reading a coefficient as unsigned value.
+     */
+    private static final long MASK = Large.MASK;
+
+    private final Large modulus;
+    /**
+     * Coefficients of the modulus.
+     */
+    private final int[] m;
+    /**
+     * Number of coefficients of the modulus.
+     */
+    private final int n;
+    /**
+     * Coefficients of the reciprocal <i>&mu;</i>.
+     */
+    private final int[] mu;
+
+
+    /**
+     * Creates a reducer for the modulus.
+     *
+     * @param modulus a positive modulus.
+     * @throws IllegalArgumentException if modulus is not positive.
+     */
+    public BarrettReducer(final Large modulus) {
+        if (modulus.sign() <= 0) throw new IllegalArgumentException("Modulus must be positive");
+
+        this.modulus = modulus;
+        this.n = modulus.digits.size();
+        this.m = Arrays.copyOf(modulus.digits.limbs, n);
+
+        final MutableLarge quotient = new MutableLarge(n + 2);
+        new MutableLarge(2 * n + 1).set(1).shiftLeft(64 * n).divide(modulus.magnitude(), quotient);
+        this.mu = Arrays.copyOf(quotient.value, quotient.length);
+    }
+
+
+    /**
+     * Returns the modulus of this reducer.
+     *
+     * @return the modulus.
+     */
+    public Large modulus() {
+        return modulus;
+    }
+
+    /**
+     * Reduces a number by the modulus. Numbers below <i>BASE<sup>2n</sup></i>, squares of
+     * residues included, are reduced without division, longer ones are divided.
+     *
+     * @param x any number.
+     * @return <i>x mod N</i>, in range <i>[0, N)</i>.
+     */
+    public Large reduce(final Large x) {
+        final MutableLarge r;
+
+        if (x.digits.size() > 2 * n) {
+            r = new MutableLarge(x).reduce(modulus.magnitude());
+        } else {
+            final int[] t = Arrays.copyOf(x.digits.limbs, 2 * n);
+            Arrays.fill(t, x.digits.size(), 2 * n, 0);
+
+            final int[] residue = new int[n];
+            reduce(t, residue, scratch());
+            r = new MutableLarge(residue, n);
+            r.normalize();
+        }
+
+        if (x.sign() < 0 && !r.isZero()) r.set(new MutableLarge(modulus.magnitude()).subtract(r));
+        return new Large(r, false);
+    }
+
+    /**
+     * Provides modular multiplication operation.
+     *
+     * @param x first number to be multiplied.
+     * @param y second number to be multiplied.
+     * @return <i>xy mod N</i>.
+     */
+    public Large multiply(final Large x, final Large y) {
+        return reduce(x.multiply(y));
+    }
+
+    /**
+     * Provides modular squaring operation.
+     *
+     * @param x a number to be squared.
+     * @return <i>x<sup>2</sup> mod N</i>.
+     */
+    public Large square(final Large x) {
+        return reduce(x.square());
+    }
+
+    /**
+     * Provides modular power operation with this modulus.
+     *
+     * @param base     any number.
+     * @param exponent a non-negative power value.
+     * @return <i>base<sup>exponent</sup> mod N</i>.
+     * @throws ArithmeticException if exponent is negative.
+     */
+    public Large modPow(final Large base, final Large exponent) {
+        if (exponent.sign() < 0) throw new ArithmeticException("Negative exponent");
+
+        return Exponentiation.modPow(base, exponent, this);
+    }
+
+
+    /**
+     * Returns number of coefficients of residues.
+     */
+    int size() {
+        return n;
+    }
+
+    /**
+     * Returns a new scratch buffer for operations on coefficients.
+     */
+    int[] scratch() {
+        return new int[2 * n + (n + 1 + mu.length) + (2 * n + 1) + Multiplication.scratchSize(n + 2)];
+    }
+
+    /**
+     * Computes <i>xy mod N</i> on <i>n</i> coefficients, <i>r</i> could be an operand.
+     */
+    void multiply(final int[] x, final int[] y, final int[] r, final int[] s) {
+        if (x == y) {
+            square(x, r, s);
+            return;
+        }
+
+        Multiplication.multiply(x, 0, n, y, 0, n, s, 0, s, s.length - Multiplication.scratchSize(n + 2));
+        reduce(s, r, s);
+    }
+
+    /**
+     * Computes <i>x<sup>2</sup> mod N</i> on <i>n</i> coefficients, <i>r</i> could be the operand.
+     */
+    void square(final int[] x, final int[] r, final int[] s) {
+        Multiplication.square(x, 0, n, s, 0, s, s.length - Multiplication.scratchSize(n + 2));
+        reduce(s, r, s);
+    }
+
+    /**
+     * Reduces <i>2n</i> coefficients of <i>t</i> into <i>n</i> coefficients of <i>r</i>.
+     * The number could be the first <i>2n</i> coefficients of scratch buffer.
+     */
+    void reduce(final int[] t, final int[] r, final int[] s) {
+        final int q2 = 2 * n;                       // q1 * mu
+        final int q3m = q2 + n + 1 + mu.length;     // q3 * N
+        final int ss = q3m + 2 * n + 1;             // scratch of multiplications
+
+        // q1 = t / BASE^(n-1), n + 1 coefficients, q3 = q1 * mu / BASE^(n+1)
+        Multiplication.multiply(t, n - 1, n + 1, mu, 0, mu.length, s, q2, s, ss);
+
+        final int q3 = q2 + n + 1;
+        int q3len = Math.min(mu.length, n + 1);
+        while (q3len > 0 && s[q3 + q3len - 1] == 0) q3len--;
+
+        // x - q3 * N modulo BASE^(n+1), into the place of q2
+        final int rr = q2;
+        if (q3len > 0) {
+            Multiplication.multiply(s, q3, q3len, m, 0, n, s, q3m, s, ss);
+
+            long diff = 0;
+            for (int i = 0; i <= n; i++) {
+                diff += (t[i] & MASK) - (i < q3len + n ? s[q3m + i] & MASK : 0);
+                s[rr + i] = (int) diff;
+                diff >>= 32;
+            }
+        } else {
+            System.arraycopy(t, 0, s, rr, n + 1);
+        }
+
+        // at most two corrections
+        while (!less(s, rr)) {
+            long diff = 0;
+            for (int i = 0; i <= n; i++) {
+                diff += (s[rr + i] & MASK) - (i < n ? m[i] & MASK : 0);
+                s[rr + i] = (int) diff;
+                diff >>= 32;
+            }
+        }
+
+        System.arraycopy(s, rr, r, 0, n);
+    }
+
+
+    /**
+     * Helper method. Checks whether <i>n + 1</i> coefficients from <i>off</i> are less than modulus.
+     */
+    private boolean less(final int[] x, int off) {
+        if (x[off + n] != 0) return false;
+
+        int i = n - 1;
+        while (i >= 0 && x[off + i] == m[i]) i--;
+        return i >= 0 && Integer.compareUnsigned(x[off + i], m[i]) < 0;
+    }
+}
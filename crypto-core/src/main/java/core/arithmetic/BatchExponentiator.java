@@ -0,0 +1,204 @@
+package core.arithmetic;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Modular exponentiation of many bases by a fixed modulus.
+ * <p>
+ * Montgomery context of an odd modulus, or Barrett reducer of an even one, is computed once with
+ * the exponentiator. A batch is split into chunks, in a fork-join pool if any; every chunk takes
+ * one engine of {@link Exponentiation} with its buffers and window table, and reuses it for all of its powers,
+ * so a power allocates nothing but its result. Bases less than modulus are not reduced.
+ * <p>
+ * The exponentiator is immutable and could be shared between threads.
+ *
+ * @author vadym
+ * @since 17.10.26 15:56
+ */
+public final class BatchExponentiator {
+    /**
+     * Least number of powers computed by a task.
+     */
+    static final int CHUNK = 4;
+    /**
+     * Number of tasks per thread of pool, so threads are balanced.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final Large modulus;
+    private final MontgomeryContext context;
+    private final BarrettReducer reducer;
+
+
+    /**
+     * Creates an exponentiator for the modulus.
+     *
+     * @param modulus a positive modulus.
+     * @throws ArithmeticException if modulus is not positive.
+     */
+    public BatchExponentiator(final Large modulus) {
+        if (modulus.sign() <= 0) throw new ArithmeticException("Non-positive modulus");
+
+        final boolean odd = modulus.testBit(0) && modulus.bitLength() > 1;
+
+        this.modulus = modulus;
+        this.context = odd ? new MontgomeryContext(modulus) : null;
+        this.reducer = odd ? null : new BarrettReducer(modulus);
+    }
+
+
+    /**
+     * Returns the modulus of this exponentiator.
+     *
+     * @return the modulus.
+     */
+    public Large modulus() {
+        return modulus;
+    }
+
+    /**
+     * Raises every base to its exponent.
+     *
+     * @param bases     any numbers.
+     * @param exponents non-negative exponents, one for every base.
+     * @return <i>bases[i]<sup>exponents[i]</sup> mod N</i>.
+     * @throws IllegalArgumentException if number of exponents differs from number of bases.
+     * @throws ArithmeticException if an exponent is negative.
+     */
+    public Large[] modPow(final Large[] bases, final Large[] exponents) {
+        return modPow(bases, exponents, null);
+    }
+
+    /**
+     * Raises every base to its exponent, in parallel chunks.
+     *
+     * @param bases     any numbers.
+     * @param exponents non-negative exponents, one for every base.
+     * @param pool      a pool for chunks, could be <code>null</code> for sequential computation.
+     * @return <i>bases[i]<sup>exponents[i]</sup> mod N</i>.
+     * @throws IllegalArgumentException if number of exponents differs from number of bases.
+     * @throws ArithmeticException if an exponent is negative.
+     */
+    public Large[] modPow(final Large[] bases, final Large[] exponents, final ForkJoinPool pool) {
+        if (bases.length != exponents.length) throw new IllegalArgumentException("Number of exponents differs from number of bases");
+
+        return compute(bases, exponents, pool);
+    }
+
+    /**
+     * Raises every base to the exponent.
+     *
+     * @param bases    any numbers.
+     * @param exponent a non-negative exponent.
+     * @return <i>bases[i]<sup>exponent</sup> mod N</i>.
+     * @throws ArithmeticException if exponent is negative.
+     */
+    public Large[] modPow(final Large[] bases, final Large exponent) {
+        return modPow(bases, exponent, null);
+    }
+
+    /**
+     * Raises every base to the exponent, in parallel chunks.
+     *
+     * @param bases    any numbers.
+     * @param exponent a non-negative exponent.
+     * @param pool     a pool for chunks, could be <code>null</code> for sequential computation.
+     * @return <i>bases[i]<sup>exponent</sup> mod N</i>.
+     * @throws ArithmeticException if exponent is negative.
+     */
+    public Large[] modPow(final Large[] bases, final Large exponent, final ForkJoinPool pool) {
+        return compute(bases, new Large[]{exponent}, pool);
+    }
+
+
+    /**
+     * Helper method. Computes powers, a single exponent is shared by all the bases.
+     */
+    private Large[] compute(final Large[] bases, final Large[] exponents, final ForkJoinPool pool) {
+        for (Large exponent : exponents) {
+            if (exponent.sign() < 0) throw new ArithmeticException("Negative exponent");
+        }
+
+        final Large[] results = new Large[bases.length];
+        if (pool == null || bases.length <= CHUNK) {
+            compute(bases, exponents, results, 0, bases.length);
+        } else {
+            final int chunk = Math.max(CHUNK, bases.length / (TASKS_PER_THREAD * pool.getParallelism()));
+            pool.invoke(new Chunk(this, bases, exponents, results, 0, bases.length, chunk));
+        }
+        return results;
+    }
+
+    /**
+     * Helper method. Computes powers of a range of bases by one engine.
+     */
+    private void compute(final Large[] bases, final Large[] exponents, final Large[] results, int from, int to) {
+        if (modulus.bitLength() == 1) {
+            for (int i = from; i < to; i++) results[i] = new Large();
+            return;
+        }
+
+        int bits = 0;
+        for (int i = from; i < to; i++) bits = Math.max(bits, exponent(exponents, i).bitLength());
+
+        final int capacity = Exponentiation.windowSize(bits);
+        final Exponentiation.Engine engine = context != null
+                ? new Exponentiation.MontgomeryEngine(context, capacity)
+                : new Exponentiation.BarrettEngine(reducer, capacity);
+
+        for (int i = from; i < to; i++) {
+            final Large exponent = exponent(exponents, i);
+            if (exponent.sign() == 0) {
+                results[i] = Large.valueOf(1);
+                continue;
+            }
+
+            engine.base(bases[i], Exponentiation.windowSize(exponent.bitLength()));
+            Exponentiation.slide(exponent, engine);
+            results[i] = engine.result();
+        }
+    }
+
+    /**
+     * Helper method. Returns exponent of a base, the single one if it's shared.
+     */
+    private static Large exponent(final Large[] exponents, int i) {
+        return exponents[exponents.length == 1 ? 0 : i];
+    }
+
+
+    /**
+     * Task computing a range of powers, split in halves down to a chunk.
+     */
+    private static final class Chunk extends RecursiveAction {
+        private final BatchExponentiator exponentiator;
+        private final Large[] bases, exponents, results;
+        private final int from, to, chunk;
+
+        Chunk(final BatchExponentiator exponentiator, final Large[] bases, final Large[] exponents,
+              final Large[] results, int from, int to, int chunk) {
+            this.exponentiator = exponentiator;
+            this.bases = bases;
+            this.exponents = exponents;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                exponentiator.compute(bases, exponents, results, from, to);
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+            invokeAll(
+                    new Chunk(exponentiator, bases, exponents, results, from, middle, chunk),
+                    new Chunk(exponentiator, bases, exponents, results, middle, to, chunk)
+            );
+        }
+    }
+}
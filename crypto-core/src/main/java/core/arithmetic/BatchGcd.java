@@ -0,0 +1,76 @@
+package core.arithmetic;
+
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Batch greatest common divisors of Bernstein: divisor of every number with the product of all the others,
+ * so numbers sharing a factor, such as RSA moduli of weak keys, are found without pairwise GCD.
+ * <p>
+ * Product <i>P</i> of the numbers is computed by a {@link ProductTree}, then remainders
+ * <i>r<sub>i</sub> = P mod N<sub>i</sub><sup>2</sup></i> by its remainder tree of squares.
+ * As <i>P = N<sub>i</sub>Q<sub>i</sub></i>, <i>r<sub>i</sub> / N<sub>i</sub> = Q<sub>i</sub> mod N<sub>i</sub></i>
+ * exactly, and the divisor is <i>gcd(r<sub>i</sub> / N<sub>i</sub>, N<sub>i</sub>)</i>.
+ * A number repeated in the batch gets itself as the divisor.
+ *
+ * @author vadym
+ * @since 17.10.26 17:16
+ * @see <a href="https://cr.yp.to/factorization/smoothparts-20040510.pdf">D. J. Bernstein, How to find smooth parts of integers</a>
+ */
+public final class BatchGcd {
+
+    private BatchGcd() {
+    }
+
+
+    /**
+     * Computes divisor of every number with product of the others.
+     *
+     * @param values positive numbers.
+     * @return <i>gcd(values[i], &prod;<sub>j &ne; i</sub> values[j])</i>, one for a number sharing no factor.
+     * @throws ArithmeticException if a number is not positive.
+     */
+    public static Large[] gcd(final Large[] values) {
+        return gcd(values, null, null);
+    }
+
+    /**
+     * Computes divisor of every number with product of the others, every level of trees in parallel.
+     *
+     * @param values positive numbers.
+     * @param pool   a pool for nodes, could be <code>null</code> for sequential computation.
+     * @return <i>gcd(values[i], &prod;<sub>j &ne; i</sub> values[j])</i>, one for a number sharing no factor.
+     * @throws ArithmeticException if a number is not positive.
+     */
+    public static Large[] gcd(final Large[] values, final ForkJoinPool pool) {
+        return gcd(values, pool, null);
+    }
+
+    /**
+     * Computes divisor of every number with product of the others, every level of trees in parallel,
+     * levels of the product tree are spilled to memory-mapped files.
+     *
+     * @param values    positive numbers.
+     * @param pool      a pool for nodes, could be <code>null</code> for sequential computation.
+     * @param directory a directory for levels of the product tree, could be <code>null</code> to keep them in the heap.
+     * @return <i>gcd(values[i], &prod;<sub>j &ne; i</sub> values[j])</i>, one for a number sharing no factor.
+     * @throws ArithmeticException if a number is not positive.
+     * @throws java.io.UncheckedIOException if a level could not be spilled.
+     */
+    public static Large[] gcd(final Large[] values, final ForkJoinPool pool, final Path directory) {
+        if (values.length == 0) return new Large[0];
+
+        try (ProductTree tree = new ProductTree(values, pool, directory)) {
+            final Large[] remainders = tree.remaindersOfSquares(tree.product());
+            final Large[] divisors = new Large[values.length];
+
+            tree.run(values.length, new ProductTree.Step() {
+                @Override
+                void node(int i, final ForkJoinPool pool) {
+                    divisors[i] = remainders[i].divide(values[i]).gcd(values[i]);
+                }
+            });
+            return divisors;
+        }
+    }
+}
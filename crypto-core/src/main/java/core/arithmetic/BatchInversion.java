@@ -0,0 +1,257 @@
+package core.arithmetic;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Simultaneous modular inversion by Montgomery's trick: prefix products <i>c<sub>i</sub> = x<sub>0</sub>...x<sub>i</sub></i>
+ * are inverted by a single extended GCD, then every inverse is peeled off going back,
+ * <i>x<sub>i</sub><sup>-1</sup> = c<sub>i</sub><sup>-1</sup>c<sub>i-1</sub></i> and
+ * <i>c<sub>i-1</sub><sup>-1</sup> = c<sub>i</sub><sup>-1</sup>x<sub>i</sub></i>, so <i>n</i> numbers take
+ * one inversion and <i>3(n - 1)</i> multiplications.
+ * <p>
+ * Zeros are skipped. If the product is not invertible, some number shares a factor with modulus,
+ * so the range is split in halves to isolate it; other numbers of the batch are still inverted.
+ * Batches are split into chunks with an inversion each, in a fork-join pool if any.
+ *
+ * @author vadym
+ * @since 17.10.26 17:10
+ * @see <a href="http://cacr.uwaterloo.ca/hac/about/chap14.pdf">Handbook of Applied Cryptography, 14.64</a>
+ */
+final class BatchInversion {
+    /**
+     * Least number of inverses computed by a task, so an inversion is shared by many of them.
+     */
+    static final int CHUNK = 64;
+    /**
+     * Number of tasks per thread of pool, so threads are balanced.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
+    private BatchInversion() {
+    }
+
+
+    /**
+     * Computes inverses of numbers.
+     *
+     * @param values  any numbers.
+     * @param modulus a positive modulus.
+     * @param pool    a pool for chunks, could be <code>null</code> for sequential computation.
+     * @return <i>values[i]<sup>-1</sup> mod m</i>, <code>null</code> for numbers which are not invertible.
+     */
+    static Large[] modInverse(final Large[] values, final Large modulus, final ForkJoinPool pool) {
+        final Large[] results = new Large[values.length];
+        if (modulus.bitLength() == 1) {
+            for (int i = 0; i < values.length; i++) results[i] = new Large();
+            return results;
+        }
+
+        final Reduction reduction = Reduction.of(modulus);
+        if (pool == null || values.length <= CHUNK) {
+            modInverse(reduction, modulus, values, results, 0, values.length);
+        } else {
+            final int chunk = Math.max(CHUNK, values.length / (TASKS_PER_THREAD * pool.getParallelism()));
+            pool.invoke(new Chunk(reduction, modulus, values, results, null, null, 0, values.length, chunk));
+        }
+        return results;
+    }
+
+    /**
+     * Inverts residues in place.
+     *
+     * @param limbs   distinct buffers of <i>n</i> coefficients of residues, <i>n</i> coefficients of modulus.
+     * @param modulus a modulus greater than one.
+     * @param failed  flags of residues which are not invertible, those residues are left unchanged.
+     * @param pool    a pool for chunks, could be <code>null</code> for sequential computation.
+     */
+    static void invert(final int[][] limbs, final Large modulus, final boolean[] failed, final ForkJoinPool pool) {
+        final Reduction reduction = Reduction.of(modulus);
+        if (pool == null || limbs.length <= CHUNK) {
+            invert(reduction, modulus, limbs, failed, 0, limbs.length);
+        } else {
+            final int chunk = Math.max(CHUNK, limbs.length / (TASKS_PER_THREAD * pool.getParallelism()));
+            pool.invoke(new Chunk(reduction, modulus, null, null, limbs, failed, 0, limbs.length, chunk));
+        }
+    }
+
+    /**
+     * Inverts representations in place, those which are not invertible are left unchanged.
+     *
+     * @param reduction reduction of the modulus greater than one.
+     * @param modulus   the modulus.
+     * @param x         distinct buffers of representations of <i>n</i> coefficients.
+     * @param from      the first index of the range, inclusive.
+     * @param to        the last index of the range, exclusive.
+     * @param failed    flags of numbers which are not invertible, set for them and not changed for the others.
+     */
+    static void invert(final Reduction reduction, final Large modulus, final int[][] x, int from, int to,
+                       final boolean[] failed) {
+        if (from >= to) return;
+
+        final int[][] prefix = new int[to - from][reduction.n];
+        invert(reduction, modulus, x, from, to, failed, prefix, from, reduction.scratch());
+    }
+
+
+    /**
+     * Helper method. Computes inverses of a range of numbers by one reduction.
+     */
+    private static void modInverse(final Reduction reduction, final Large modulus,
+                                   final Large[] values, final Large[] results, int from, int to) {
+        final int[] s = reduction.scratch();
+        final int[][] x = new int[to - from][reduction.n];
+        final boolean[] failed = new boolean[to - from];
+
+        for (int i = 0; i < x.length; i++) {
+            Reduction.residue(values[from + i], modulus, x[i]);
+            reduction.encode(x[i], x[i], s);
+        }
+
+        invert(reduction, modulus, x, 0, x.length, failed);
+
+        for (int i = 0; i < x.length; i++) {
+            if (failed[i]) continue;
+
+            reduction.decode(x[i], x[i], s);
+            results[from + i] = new Large(new Digits(x[i], x[i].length), false);
+        }
+    }
+
+    /**
+     * Helper method. Inverts a range of residues in place by one reduction.
+     */
+    private static void invert(final Reduction reduction, final Large modulus,
+                               final int[][] limbs, final boolean[] failed, int from, int to) {
+        final int[] s = reduction.scratch();
+        for (int i = from; i < to; i++) reduction.encode(limbs[i], limbs[i], s);
+
+        invert(reduction, modulus, limbs, from, to, failed);
+
+        // representations which are not invertible are unchanged, so they are decoded back as well
+        for (int i = from; i < to; i++) reduction.decode(limbs[i], limbs[i], s);
+    }
+
+    /**
+     * Helper method. Inverts a range by prefix products, which are kept in <i>prefix[i - base]</i>.
+     */
+    private static void invert(final Reduction reduction, final Large modulus, final int[][] x, int from, int to,
+                               final boolean[] failed, final int[][] prefix, int base, final int[] s) {
+        final int n = reduction.n;
+
+        // prefix products of non-zero numbers
+        int last = -1, count = 0;
+        for (int i = from; i < to; i++) {
+            if (isZero(x[i])) {
+                failed[i] = true;
+                continue;
+            }
+
+            if (last < 0) {
+                System.arraycopy(x[i], 0, prefix[i - base], 0, n);
+            } else {
+                reduction.multiply(prefix[last - base], x[i], prefix[i - base], s);
+            }
+            last = i;
+            count++;
+        }
+        if (count == 0) return;
+
+        final int[] u = inverse(reduction, modulus, prefix[last - base], s);
+        if (u == null) {
+            // a number shares a factor with modulus, halves are inverted separately
+            if (count == 1) {
+                failed[last] = true;
+            } else {
+                final int middle = (from + to) >>> 1;
+                invert(reduction, modulus, x, from, middle, failed, prefix, base, s);
+                invert(reduction, modulus, x, middle, to, failed, prefix, base, s);
+            }
+            return;
+        }
+
+        // inverses from the last number, the prefix of a number is the place of its inverse
+        for (int i = last; ; ) {
+            int previous = i - 1;
+            while (previous >= from && isZero(x[previous])) previous--;
+
+            if (previous < from) {
+                System.arraycopy(u, 0, x[i], 0, n);
+                return;
+            }
+
+            reduction.multiply(u, prefix[previous - base], prefix[i - base], s);
+            reduction.multiply(u, x[i], u, s);
+            System.arraycopy(prefix[i - base], 0, x[i], 0, n);
+            i = previous;
+        }
+    }
+
+    /**
+     * Helper method. Returns representation of inverse of a representation, or <code>null</code> if it's not invertible.
+     */
+    private static int[] inverse(final Reduction reduction, final Large modulus, final int[] x, final int[] s) {
+        final int[] r = new int[reduction.n];
+        reduction.decode(x, r, s);
+
+        final Large inverse = Gcd.inverse(new Large(new Digits(r, r.length), false), modulus);
+        if (inverse == null) return null;
+
+        final int[] u = new int[reduction.n];
+        System.arraycopy(inverse.digits.limbs, 0, u, 0, inverse.digits.size());
+        reduction.encode(u, u, s);
+        return u;
+    }
+
+    /**
+     * Helper method. Checks if all coefficients are zero.
+     */
+    private static boolean isZero(final int[] x) {
+        for (int c : x) if (c != 0) return false;
+        return true;
+    }
+
+
+    /**
+     * Task computing a range of inverses, of numbers or of residues in place, split in halves down to a chunk.
+     */
+    private static final class Chunk extends RecursiveAction {
+        private final Reduction reduction;
+        private final Large modulus;
+        private final Large[] values, results;
+        private final int[][] limbs;
+        private final boolean[] failed;
+        private final int from, to, chunk;
+
+        Chunk(final Reduction reduction, final Large modulus, final Large[] values, final Large[] results,
+              final int[][] limbs, final boolean[] failed, int from, int to, int chunk) {
+            this.reduction = reduction;
+            this.modulus = modulus;
+            this.values = values;
+            this.results = results;
+            this.limbs = limbs;
+            this.failed = failed;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                if (limbs != null) {
+                    invert(reduction, modulus, limbs, failed, from, to);
+                } else {
+                    modInverse(reduction, modulus, values, results, from, to);
+                }
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+            invokeAll(
+                    new Chunk(reduction, modulus, values, results, limbs, failed, from, middle, chunk),
+                    new Chunk(reduction, modulus, values, results, limbs, failed, middle, to, chunk)
+            );
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package core.arithmetic;
+
+/**
+ * Recursive division of Burnikel and Ziegler.
+ * <p>
+ * Divisor is normalized to <i>n = j * 2<sup>k</sup></i> coefficients with the highest bit set,
+ * dividend is split into blocks of <i>n</i> coefficients and divided block by block, a division
+ * of <i>2n</i> coefficients by <i>n</i> is reduced to two divisions of <i>3n/2</i> by <i>n</i>, which are
+ * reduced to a division of <i>n</i> by <i>n/2</i> and a multiplication. So the division costs
+ * a few multiplications of its size and takes the fast ones. Short divisions are done
+ * by {@link MutableLarge#knuth(MutableLarge, MutableLarge)}.
+ *
+ * @author vadym
+ * @since 17.10.26 14:44
+ * @see <a href="http://cr.yp.to/bib/1998/burnikel.ps">C. Burnikel, J. Ziegler, Fast Recursive Division</a>
+ */
+final class BurnikelZiegler {
+    /**
+     * Number of coefficients of divisor from which the recursive division is used.
+     */
+    static final int THRESHOLD = 80;
+    /**
+     * Number of coefficients by which dividend should be longer than divisor for the recursive division.
+     */
+    static final int OFFSET = 40;
+
+
+    private BurnikelZiegler() {
+    }
+
+
+    /**
+     * Divides in place, see {@link MutableLarge#divide(MutableLarge, MutableLarge)}.
+     *
+     * @param a a dividend, replaced with the reminder.
+     * @param b a divisor.
+     * @param quotient a buffer for the quotient, could be <code>null</code>.
+     * @return the dividend replaced with the reminder.
+     */
+    static MutableLarge divide(final MutableLarge a, final MutableLarge b, final MutableLarge quotient) {
+        final int s = b.length;
+
+        // block size n = j * m, m is a power of two and j is less than the threshold
+        final int m = 1 << (32 - Integer.numberOfLeadingZeros(s / THRESHOLD));
+        final int j = (s + m - 1) / m;
+        final int n = j * m;
+        final int sigma = Math.max(0, 32 * n - b.bitLength());
+
+        final MutableLarge bShifted = new MutableLarge(b).shiftLeft(sigma);
+        a.shiftLeft(sigma);
+
+        // number of blocks, the highest one has its highest bit clear
+        final int t = Math.max(2, (a.bitLength() + 32 * n) / (32 * n));
+
+        final MutableLarge q = quotient != null ? quotient : new MutableLarge();
+        final MutableLarge qi = new MutableLarge(n + 1);
+        final MutableLarge z = block(a, (t - 2) * n, 2 * n);
+        q.length = 0;
+
+        for (int i = t - 2; i >= 0; i--) {
+            divide2n1n(z, bShifted, n, qi);
+            q.shiftLeft(32 * n).add(qi);
+
+            if (i > 0) z.shiftLeft(32 * n).add(block(a, (i - 1) * n, n));
+        }
+
+        return a.set(z.shiftRight(sigma));
+    }
+
+
+    /**
+     * Helper method. Divides <i>a &lt; b * BASE<sup>n</sup></i> by normalized divisor of <i>n</i> coefficients.
+     *
+     * @param a a dividend, replaced with the reminder.
+     * @param quotient receives the quotient.
+     */
+    private static void divide2n1n(final MutableLarge a, final MutableLarge b, int n, final MutableLarge quotient) {
+        if ((n & 1) != 0 || n < THRESHOLD) {
+            a.knuth(b, quotient);
+            return;
+        }
+
+        final int half = n >>> 1;
+
+        // a = [a1, a2, a3, a4] by halves, [a1, a2, a3] / b, then [reminder, a4] / b
+        final MutableLarge a4 = block(a, 0, half);
+        a.shiftRight(32 * half);
+
+        final MutableLarge q1 = new MutableLarge(half + 1);
+        divide3n2n(a, b, half, q1);
+
+        a.shiftLeft(32 * half).add(a4);
+        divide3n2n(a, b, half, quotient);
+
+        quotient.add(q1.shiftLeft(32 * half));
+    }
+
+    /**
+     * Helper method. Divides <i>a &lt; b * BASE<sup>n</sup></i> of <i>3n</i> coefficients
+     * by normalized divisor of <i>2n</i> coefficients.
+     *
+     * @param a a dividend, replaced with the reminder.
+     * @param quotient receives the quotient.
+     */
+    private static void divide3n2n(final MutableLarge a, final MutableLarge b, int n, final MutableLarge quotient) {
+        final MutableLarge b1 = block(b, n, n);
+        final MutableLarge b2 = block(b, 0, n);
+        final MutableLarge a3 = block(a, 0, n);
+        a.shiftRight(32 * n);      // a12
+
+        // estimate quotient by the higher halves, with reminder r1
+        if (block(a, n, n).compareTo(b1) < 0) {
+            divide2n1n(a, b1, n, quotient);
+        } else {
+            // q = BASE^n - 1, r1 = a12 - b1 * BASE^n + b1
+            quotient.set(1).shiftLeft(32 * n).subtract(new MutableLarge().set(1));
+            a.add(b1).subtract(b1.shiftLeft(32 * n));
+        }
+
+        // r = r1 * BASE^n + a3 - q * b2, corrected while negative
+        final MutableLarge d = new MutableLarge(2 * n).multiply(quotient, b2);
+        a.shiftLeft(32 * n).add(a3);
+
+        final MutableLarge one = new MutableLarge().set(1);
+        while (a.compareTo(d) < 0) {
+            quotient.subtract(one);
+            a.add(b);
+        }
+        a.subtract(d);
+    }
+
+    /**
+     * Helper method. Returns a copy of <i>count</i> coefficients of a number starting with <i>from</i>.
+     */
+    static MutableLarge block(final MutableLarge x, int from, int count) {
+        final int to = Math.min(x.length, from + count);
+        final MutableLarge r = new MutableLarge(Math.max(count, 1));
+
+        if (to > from) {
+            System.arraycopy(x.value, from, r.value, 0, to - from);
+            r.length = to - from;
+            r.normalize();
+        }
+        return r;
+    }
+}
@@ -1,26 +1,74 @@
 package core.arithmetic;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Class for storing and operating on internal number representation coefficients.
  * Allows access by every index. Returns 0 as a default value if tries to get
  * element outside the array bounds.
+ * <p>
+ * Coefficients are kept in a primitive array with an explicit length, so reads and
+ * writes never box and the whole store grows by doubling rather than per element.
  *
  * @author vadym
  * @since 08.03.15 16:49
  */
-public class Digits extends ArrayList<Integer> {
+public class Digits {
     /**
-     *  Returns the element at the specified position in this list
+     * Shared storage of the empty store.
+     */
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * Coefficients storage, only first {@link #size} elements are meaningful.
+     * Made package-private for the arithmetic kernels of {@link Large}.
+     */
+    int[] limbs;
+
+    /**
+     * Number of meaningful coefficients.
+     */
+    int size;
+
+
+    /**
+     * Creates an empty store.
+     */
+    public Digits() {
+        limbs = EMPTY;
+    }
+
+    /**
+     * Creates a store of <i>size</i> zero coefficients.
+     *
+     * @param size number of coefficients
+     */
+    Digits(int size) {
+        limbs = size == 0 ? EMPTY : new int[size];
+        this.size = size;
+    }
+
+    /**
+     * Wraps an array of coefficients without copying.
+     *
+     * @param limbs coefficients storage
+     * @param size number of meaningful coefficients
+     */
+    Digits(int[] limbs, int size) {
+        this.limbs = limbs;
+        this.size = size;
+    }
+
+
+    /**
+     *  Returns the element at the specified position in this store
      *  or default value if element's index out of range.
      *
      * @param index index of the element to return
-     * @return the element at the specified position in this list or the default value
+     * @return the element at the specified position in this store or the default value
      */
-    @Override
-    public Integer get(int index) {
-        return isInRange(index) ? super.get(index) : 0;
+    public int get(int index) {
+        return isInRange(index) ? limbs[index] : 0;
     }
 
 
@@ -29,7 +77,7 @@ public class Digits extends ArrayList<Integer> {
      *
      * @return least significant element
      */
-    public Integer getLSB() {
+    public int getLSB() {
         return get(0);
     }
 
@@ -38,40 +86,93 @@ public class Digits extends ArrayList<Integer> {
      *
      * @return most significant element
      */
-    public Integer getMSB() {
-        return get(size()-1);
+    public int getMSB() {
+        return get(size-1);
     }
 
 
     /**
-     * Replaces the element at the specified position in this list with
-     * the specified element or inserts new one if element's index out of range.
+     * Replaces the element at the specified position in this store with
+     * the specified element or appends new one if element's index out of range.
      *
      * @param index index of the element to replace
      * @param element element to be stored or inserted at the specified position
      * @return the element previously at the specified position
      */
-    @Override
-    public Integer set(int index, Integer element) {
+    public int set(int index, int element) {
         if (isInRange(index)) {
-            return super.set(index, element);
+            final int previous = limbs[index];
+            limbs[index] = element;
+            return previous;
         } else {
-            while (size() < index) add(0);
-            add(element);
+            ensureCapacity(index + 1);
+            Arrays.fill(limbs, size, index, 0);
+            limbs[index] = element;
+            size = index + 1;
             return 0;
         }
     }
 
+    /**
+     * Appends the element to the most significant end of the store.
+     *
+     * @param element element to be appended
+     */
+    public void add(int element) {
+        set(size, element);
+    }
+
+
+    /**
+     * Returns the number of coefficients in this store.
+     *
+     * @return the number of coefficients
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns <code>true</code> if this store contains no coefficients.
+     *
+     * @return <code>true</code> if this store contains no coefficients
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
     /**
      * Trims tailing default elements in array.
      * Element with index 0 is never trimmed.
      */
     public void trim() {
-        while (get(size()-1) == 0 && size() > 1) {
-            remove(size()-1);
+        while (size > 1 && limbs[size-1] == 0) {
+            size--;
         }
     }
 
+    /**
+     * Creates a copy of the store whose storage is exactly its size.
+     *
+     * @return new instance of the store with the same coefficients
+     */
+    public Digits copy() {
+        return new Digits(Arrays.copyOf(limbs, size), size);
+    }
+
+
+    /**
+     * Grows the storage so it can hold at least <i>capacity</i> coefficients.
+     * New coefficients are zeros.
+     *
+     * @param capacity required capacity
+     */
+    void ensureCapacity(int capacity) {
+        if (capacity > limbs.length) {
+            limbs = Arrays.copyOf(limbs, Math.max(capacity, limbs.length * 2));
+        }
+    }
 
     /**
      * Helper method for determining if specified index is in array's range.
@@ -80,6 +181,6 @@ public class Digits extends ArrayList<Integer> {
      * @return <code>true</code> if index is in range, <code>false</code> otherwise.
      */
     private boolean isInRange(int index) {
-        return index >= 0 && index < size();
+        return index >= 0 && index < size;
     }
 }
@@ -0,0 +1,439 @@
+package core.arithmetic;
+
+import java.util.Arrays;
+
+/**
+ * Modular exponentiation by left-to-right sliding window.
+ * <p>
+ * Exponent is scanned from its most significant bit; zero bits cost a squaring each,
+ * a window of at most <i>k</i> bits starting and ending with one bit costs squarings
+ * for its bits and a single multiplication by an odd power of base, taken from the table
+ * <i>b, b<sup>3</sup>, ..., b<sup>2<sup>k</sup>-1</sup></i>. The window size grows with
+ * the exponent, so the table pays off.
+ * <p>
+ * Arithmetic of residues is done by an {@link Engine}: by {@link MontgomeryContext} for odd moduli,
+ * by {@link BarrettReducer} for the others. Intermediate values are kept in place.
+ * <p>
+ * Products of powers are computed by interleaving windows of all the exponents over a single
+ * chain of squarings, see {@link #modPow(Large[], Large[], Large)}.
+ *
+ * @author vadym
+ * @since 17.10.26 14:31
+ * @see <a href="http://cacr.uwaterloo.ca/hac/about/chap14.pdf">Handbook of Applied Cryptography, 14.85</a>
+ */
+final class Exponentiation {
+    /**
+     * Exponent lengths, in bits, up to which the window of <i>index + 1</i> bits is used.
+     */
+    private static final int[] WINDOWS = {7, 25, 81, 241, 673, 1793};
+
+
+    private Exponentiation() {
+    }
+
+
+    /**
+     * Computes <i>base<sup>exponent</sup> mod modulus</i>.
+     *
+     * @param base     any number.
+     * @param exponent a non-negative exponent.
+     * @param modulus  a positive modulus.
+     * @return the power in range <i>[0, modulus)</i>.
+     */
+    static Large modPow(final Large base, final Large exponent, final Large modulus) {
+        if (modulus.testBit(0) && modulus.bitLength() > 1) {
+            return modPow(base, exponent, new MontgomeryContext(modulus));
+        }
+
+        if (modulus.bitLength() == 1) return new Large();
+
+        return modPow(base, exponent, new BarrettReducer(modulus));
+    }
+
+    /**
+     * Computes <i>base<sup>exponent</sup> mod N</i> by Barrett reduction.
+     *
+     * @param base     any number.
+     * @param exponent a non-negative exponent.
+     * @param reducer  reducer of a modulus <i>N</i>.
+     * @return the power in range <i>[0, N)</i>.
+     */
+    static Large modPow(final Large base, final Large exponent, final BarrettReducer reducer) {
+        if (reducer.modulus().bitLength() == 1) return new Large();
+        if (exponent.sign() == 0) return Large.valueOf(1);
+
+        final BarrettEngine engine = new BarrettEngine(reducer, windowSize(exponent.bitLength()));
+        engine.base(base, engine.capacity);
+        slide(exponent, engine);
+        return engine.result();
+    }
+
+    /**
+     * Computes <i>base<sup>exponent</sup> mod N</i> by Montgomery multiplication.
+     *
+     * @param base     any number.
+     * @param exponent a non-negative exponent.
+     * @param context  context of an odd modulus <i>N</i>.
+     * @return the power in range <i>[0, N)</i>.
+     */
+    static Large modPow(final Large base, final Large exponent, final MontgomeryContext context) {
+        if (exponent.sign() == 0) return Large.valueOf(1);
+
+        final MontgomeryEngine engine = new MontgomeryEngine(context, windowSize(exponent.bitLength()));
+        engine.base(base, engine.capacity);
+        slide(exponent, engine);
+        return engine.result();
+    }
+
+
+    /**
+     * Computes product of powers <i>&prod; bases[i]<sup>exponents[i]</sup> mod modulus</i> by interleaved
+     * sliding windows of Straus: every base has its table and windows of its exponent, and all of them
+     * share a single chain of squarings, so the product costs as many squarings as the longest power.
+     *
+     * @param bases     any numbers.
+     * @param exponents non-negative exponents, one for every base.
+     * @param modulus   a positive modulus.
+     * @return the product in range <i>[0, modulus)</i>.
+     */
+    static Large modPow(final Large[] bases, final Large[] exponents, final Large modulus) {
+        if (modulus.bitLength() == 1) return new Large();
+
+        final boolean odd = modulus.testBit(0);
+        final MontgomeryContext context = odd ? new MontgomeryContext(modulus) : null;
+        final BarrettReducer reducer = odd ? null : new BarrettReducer(modulus);
+
+        // multiplications by windows, marked at their lowest bits by index in table plus one
+        final Engine[] engines = new Engine[bases.length];
+        final int[][] marks = new int[bases.length][];
+        int top = 0;
+
+        for (int i = 0; i < bases.length; i++) {
+            final int bits = exponents[i].bitLength();
+            if (bits == 0) continue;
+
+            final int k = windowSize(bits);
+            engines[i] = odd ? new MontgomeryEngine(context, k) : new BarrettEngine(reducer, k);
+            engines[i].base(bases[i], k);
+            marks[i] = windows(exponents[i], k);
+            top = Math.max(top, bits);
+        }
+
+        Engine product = null;
+        for (int bit = top - 1; bit >= 0; bit--) {
+            if (product != null) product.square();
+
+            for (int i = 0; i < bases.length; i++) {
+                if (marks[i] == null || bit >= marks[i].length || marks[i][bit] == 0) continue;
+
+                final int[] power = engines[i].power(marks[i][bit] - 1);
+                if (product != null) {
+                    product.multiply(power);
+                } else {
+                    product = engines[i];
+                    product.load(power);
+                }
+            }
+        }
+
+        return product != null ? product.result() : Large.valueOf(1);
+    }
+
+
+    /**
+     * Helper method. Scans the exponent by windows, driving operations of the engine.
+     * The result of engine is set by the first window.
+     */
+    static void slide(final Large exponent, final Engine engine) {
+        final int[] e = exponent.digits.limbs;
+        final int k = engine.window;
+        boolean first = true;
+
+        for (int i = exponent.bitLength() - 1; i >= 0; ) {
+            if (!testBit(e, i)) {
+                engine.square();
+                i--;
+                continue;
+            }
+
+            // the longest window ending with one bit
+            int low = Math.max(i - k + 1, 0);
+            while (!testBit(e, low)) low++;
+            final int window = bits(e, low, i - low + 1);
+
+            if (first) {
+                engine.load(window >>> 1);
+                first = false;
+            } else {
+                for (int j = low; j <= i; j++) engine.square();
+                engine.multiply(window >>> 1);
+            }
+
+            i = low - 1;
+        }
+    }
+
+    /**
+     * Helper method. Scans the exponent by windows of at most <i>k</i> bits, as {@link #slide(Large, Engine)}.
+     *
+     * @return for every bit, index of the power in table plus one if a window has its lowest bit there, zero otherwise.
+     */
+    static int[] windows(final Large exponent, int k) {
+        final int[] e = exponent.digits.limbs;
+        final int[] marks = new int[exponent.bitLength()];
+
+        for (int i = marks.length - 1; i >= 0; ) {
+            if (!testBit(e, i)) {
+                i--;
+                continue;
+            }
+
+            int low = Math.max(i - k + 1, 0);
+            while (!testBit(e, low)) low++;
+            marks[low] = (bits(e, low, i - low + 1) >>> 1) + 1;
+
+            i = low - 1;
+        }
+        return marks;
+    }
+
+    /**
+     * Helper method. Returns window size for exponent of given length.
+     */
+    static int windowSize(int bits) {
+        int k = 1;
+        while (k <= WINDOWS.length && bits > WINDOWS[k - 1]) k++;
+        return k;
+    }
+
+    /**
+     * Helper method. Checks a bit of coefficients.
+     */
+    static boolean testBit(final int[] e, int n) {
+        return (e[n >>> 5] & (1 << n)) != 0;
+    }
+
+    /**
+     * Helper method. Returns <i>count &le; 31</i> bits of coefficients starting with bit <i>from</i>.
+     */
+    static int bits(final int[] e, int from, int count) {
+        final int index = from >>> 5;
+        final int shift = from & 31;
+
+        long word = (e[index] & Large.MASK) >>> shift;
+        if (shift + count > 32) word |= (e[index + 1] & Large.MASK) << (32 - shift);
+
+        return (int) word & ((1 << count) - 1);
+    }
+
+
+    /**
+     * Arithmetic of residues driven by the window scan. Keeps the result
+     * and the table of odd powers <i>b<sup>2i+1</sup></i>, <i>i &lt; 2<sup>window-1</sup></i>.
+     * Buffers are allocated once, so the engine could be reused for other bases.
+     */
+    abstract static class Engine {
+        /**
+         * Largest window size the table is allocated for, in bits.
+         */
+        final int capacity;
+        /**
+         * Window size for the current base, in bits.
+         */
+        int window;
+
+        Engine(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * Sets the base and fills the table for the window size, not greater than the capacity.
+         */
+        abstract void base(Large base, int window);
+
+        /**
+         * Returns the power from table, in representation of the engine.
+         */
+        abstract int[] power(int index);
+
+        /**
+         * Sets the result to a power, from table of this engine or another one of the same modulus.
+         */
+        abstract void load(int[] power);
+
+        /**
+         * Squares the result.
+         */
+        abstract void square();
+
+        /**
+         * Multiplies the result by a power, from table of this engine or another one of the same modulus.
+         */
+        abstract void multiply(int[] power);
+
+        /**
+         * Sets the result to the power from table.
+         */
+        final void load(int index) {
+            load(power(index));
+        }
+
+        /**
+         * Multiplies the result by the power from table.
+         */
+        final void multiply(int index) {
+            multiply(power(index));
+        }
+
+        /**
+         * Returns the result in range <i>[0, N)</i>.
+         */
+        abstract Large result();
+
+        /**
+         * Helper method. Copies a base less than modulus into <i>n</i> coefficients, clearing the higher ones.
+         * Returns <code>false</code> if the base should be reduced.
+         */
+        static boolean copy(final Large base, final Large modulus, final int[] r) {
+            if (base.sign() < 0 || base.compareTo(modulus) >= 0) return false;
+
+            final int size = base.digits.size();
+            System.arraycopy(base.digits.limbs, 0, r, 0, size);
+            Arrays.fill(r, size, r.length, 0);
+            return true;
+        }
+    }
+
+    /**
+     * Residues reduced by Barrett reduction, for any modulus.
+     */
+    static final class BarrettEngine extends Engine {
+        private final BarrettReducer reducer;
+        private final int[][] table;
+        private final int[] result, square, scratch;
+
+        BarrettEngine(final BarrettReducer reducer, int capacity) {
+            super(capacity);
+            this.reducer = reducer;
+
+            final int n = reducer.size();
+            scratch = reducer.scratch();
+            result = new int[n];
+            square = new int[n];
+            table = new int[1 << (capacity - 1)][n];
+        }
+
+        @Override
+        void base(final Large base, int window) {
+            this.window = window;
+
+            if (!copy(base, reducer.modulus(), table[0])) {
+                final Digits b = reducer.reduce(base).digits;
+                Arrays.fill(table[0], 0);
+                System.arraycopy(b.limbs, 0, table[0], 0, b.size());
+            }
+
+            final int count = 1 << (window - 1);
+            if (count > 1) {
+                reducer.square(table[0], square, scratch);
+                for (int i = 1; i < count; i++) {
+                    reducer.multiply(table[i - 1], square, table[i], scratch);
+                }
+            }
+        }
+
+        @Override
+        int[] power(int index) {
+            return table[index];
+        }
+
+        @Override
+        void load(final int[] power) {
+            System.arraycopy(power, 0, result, 0, result.length);
+        }
+
+        @Override
+        void square() {
+            reducer.square(result, result, scratch);
+        }
+
+        @Override
+        void multiply(final int[] power) {
+            reducer.multiply(result, power, result, scratch);
+        }
+
+        @Override
+        Large result() {
+            return new Large(new Digits(result.clone(), result.length), false);
+        }
+    }
+
+    /**
+     * Residues in Montgomery representation, for odd modulus.
+     */
+    static final class MontgomeryEngine extends Engine {
+        private final MontgomeryContext context;
+        private final int[][] table;
+        private final int[] result, square, scratch;
+
+        MontgomeryEngine(final MontgomeryContext context, int capacity) {
+            super(capacity);
+            this.context = context;
+
+            final int n = context.size();
+            scratch = context.scratch();
+            result = new int[n];
+            square = new int[n];
+            table = new int[1 << (capacity - 1)][n];
+        }
+
+        @Override
+        void base(final Large base, int window) {
+            this.window = window;
+
+            if (copy(base, context.modulus(), square)) {
+                context.toMontgomery(square, table[0], scratch);
+            } else {
+                context.toMontgomery(context.reduce(base), table[0], scratch);
+            }
+
+            final int count = 1 << (window - 1);
+            if (count > 1) {
+                context.square(table[0], square, scratch);
+                for (int i = 1; i < count; i++) {
+                    context.multiply(table[i - 1], square, table[i], scratch);
+                }
+            }
+        }
+
+        @Override
+        int[] power(int index) {
+            return table[index];
+        }
+
+        @Override
+        void load(final int[] power) {
+            System.arraycopy(power, 0, result, 0, result.length);
+        }
+
+        @Override
+        void square() {
+            context.square(result, result, scratch);
+        }
+
+        @Override
+        void multiply(final int[] power) {
+            context.multiply(result, power, result, scratch);
+        }
+
+        /**
+         * Returns the result converted from Montgomery representation.
+         */
+        @Override
+        Large result() {
+            final int[] r = new int[result.length];
+            context.fromMontgomery(result, r, scratch);
+            return new Large(new Digits(r, r.length), false);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package core.arithmetic;
+
+import java.util.Arrays;
+
+/**
+ * Mutable element of a {@link PrimeField}, a residue of fixed width of <i>n</i> coefficients.
+ * <p>
+ * Operations are done in place: the result is written into this element, which could be an operand too.
+ * Every element owns buffers of its operations, so arithmetic never allocates memory, only conversions
+ * from and to {@link Large} do. Operands must be elements of the same field. Elements are not thread safe,
+ * but {@link #toLarge()} only reads the element, so an element no longer changed could be read concurrently.
+ *
+ * @author vadym
+ * @since 17.10.26 16:11
+ */
+public final class FieldElement {
+    /**
+     * Mask for reading a coefficient as unsigned value.
+     */
+    private static final long MASK = Large.MASK;
+
+    private final PrimeField field;
+    /**
+     * Representation of the residue, less than modulus.
+     */
+    final int[] value;
+    /**
+     * Scratch buffer of reduction and the base of inversion.
+     */
+    private final int[] scratch, base;
+
+
+    FieldElement(final PrimeField field) {
+        this.field = field;
+        this.value = new int[field.n];
+        this.scratch = field.reduction.scratch();
+        this.base = new int[field.n];
+    }
+
+
+    /**
+     * Returns the field of this element.
+     *
+     * @return the field.
+     */
+    public PrimeField field() {
+        return field;
+    }
+
+    /**
+     * Assigns a value of another element to this one.
+     *
+     * @param x an element of the same field.
+     * @return this instance.
+     */
+    public FieldElement set(final FieldElement x) {
+        check(x);
+        if (x != this) System.arraycopy(x.value, 0, value, 0, value.length);
+        return this;
+    }
+
+    /**
+     * Assigns a residue of the number to this element.
+     *
+     * @param x any number, negative ones included.
+     * @return this instance equal to <i>x mod p</i>.
+     */
+    public FieldElement set(final Large x) {
+        Reduction.residue(x, field.modulus(), value);
+        field.reduction.encode(value, value, scratch);
+        return this;
+    }
+
+    /**
+     * Assigns zero to this element.
+     *
+     * @return this instance equal to 0.
+     */
+    public FieldElement setZero() {
+        Arrays.fill(value, 0);
+        return this;
+    }
+
+    /**
+     * Assigns one to this element.
+     *
+     * @return this instance equal to 1.
+     */
+    public FieldElement setOne() {
+        System.arraycopy(field.one, 0, value, 0, value.length);
+        return this;
+    }
+
+    /**
+     * Returns the residue of this element. Decodes through a buffer of its own rather than the element's one.
+     *
+     * @return a number in range <i>[0, p)</i>.
+     */
+    public Large toLarge() {
+        final int[] r = new int[value.length];
+        field.reduction.decode(value, r, field.reduction.scratch());
+        return new Large(new Digits(r, r.length), false);
+    }
+
+    /**
+     * Checks if this element is zero.
+     *
+     * @return <code>true</code> if this element is zero.
+     */
+    public boolean isZero() {
+        return Arrays.equals(value, field.zero);
+    }
+
+    /**
+     * Checks if this element is one.
+     *
+     * @return <code>true</code> if this element is one.
+     */
+    public boolean isOne() {
+        return Arrays.equals(value, field.one);
+    }
+
+    /**
+     * Computes sum of elements.
+     *
+     * @return this instance equal to <i>x + y mod p</i>.
+     */
+    public FieldElement add(final FieldElement x, final FieldElement y) {
+        check(x);
+        check(y);
+
+        final int[] a = x.value, b = y.value, r = value;
+        long carry = 0;
+        for (int i = 0; i < r.length; i++) {
+            carry += (a[i] & MASK) + (b[i] & MASK);
+            r[i] = (int) carry;
+            carry >>>= 32;
+        }
+
+        if (carry != 0 || !less(r, field.p)) subtract(r, field.p);
+        return this;
+    }
+
+    /**
+     * Computes difference of elements.
+     *
+     * @return this instance equal to <i>x - y mod p</i>.
+     */
+    public FieldElement subtract(final FieldElement x, final FieldElement y) {
+        check(x);
+        check(y);
+
+        final int[] a = x.value, b = y.value, r = value;
+        long borrow = 0;
+        for (int i = 0; i < r.length; i++) {
+            borrow += (a[i] & MASK) - (b[i] & MASK);
+            r[i] = (int) borrow;
+            borrow >>= 32;
+        }
+
+        if (borrow != 0) add(r, field.p);
+        return this;
+    }
+
+    /**
+     * Computes negation of element.
+     *
+     * @return this instance equal to <i>-x mod p</i>.
+     */
+    public FieldElement negate(final FieldElement x) {
+        check(x);
+        if (x.isZero()) return set(x);
+
+        final int[] a = x.value, p = field.p, r = value;
+        long borrow = 0;
+        for (int i = 0; i < r.length; i++) {
+            borrow += (p[i] & MASK) - (a[i] & MASK);
+            r[i] = (int) borrow;
+            borrow >>= 32;
+        }
+        return this;
+    }
+
+    /**
+     * Computes product of elements.
+     *
+     * @return this instance equal to <i>xy mod p</i>.
+     */
+    public FieldElement multiply(final FieldElement x, final FieldElement y) {
+        check(x);
+        check(y);
+        field.reduction.multiply(x.value, y.value, value, scratch);
+        return this;
+    }
+
+    /**
+     * Computes square of element.
+     *
+     * @return this instance equal to <i>x<sup>2</sup> mod p</i>.
+     */
+    public FieldElement square(final FieldElement x) {
+        check(x);
+        field.reduction.square(x.value, value, scratch);
+        return this;
+    }
+
+    /**
+     * Computes multiplicative inverse of element by Fermat's little theorem,
+     * <i>x<sup>-1</sup> = x<sup>p - 2</sup></i>, with left-to-right binary exponentiation.
+     *
+     * @return this instance equal to <i>x<sup>-1</sup> mod p</i>.
+     * @throws ArithmeticException if element is zero.
+     */
+    public FieldElement invert(final FieldElement x) {
+        check(x);
+        if (x.isZero()) throw new ArithmeticException("Zero is not invertible");
+
+        final int[] e = field.inversion;
+        final Reduction reduction = field.reduction;
+        System.arraycopy(x.value, 0, base, 0, base.length);
+        System.arraycopy(base, 0, value, 0, value.length);
+
+        // the highest bit of p - 2 is the base itself
+        for (int i = 32 * e.length - Integer.numberOfLeadingZeros(e[e.length - 1]) - 2; i >= 0; i--) {
+            reduction.square(value, value, scratch);
+            if (Exponentiation.testBit(e, i)) reduction.multiply(value, base, value, scratch);
+        }
+        return this;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FieldElement)) return false;
+
+        final FieldElement other = (FieldElement) o;
+        return field == other.field && Arrays.equals(value, other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+        return toLarge().toString();
+    }
+
+
+    /**
+     * Helper method. Checks that the element belongs to the same field.
+     */
+    private void check(final FieldElement x) {
+        if (x.field != field) throw new IllegalArgumentException("Elements of different fields");
+    }
+
+    /**
+     * Helper method. Checks if <i>a &lt; b</i> on coefficients of equal length.
+     */
+    private static boolean less(final int[] a, final int[] b) {
+        int i = a.length - 1;
+        while (i >= 0 && a[i] == b[i]) i--;
+        return i >= 0 && Integer.compareUnsigned(a[i], b[i]) < 0;
+    }
+
+    /**
+     * Helper method. Adds coefficients of equal length in place, dropping the carry out.
+     */
+    private static void add(final int[] r, final int[] b) {
+        long carry = 0;
+        for (int i = 0; i < r.length; i++) {
+            carry += (r[i] & MASK) + (b[i] & MASK);
+            r[i] = (int) carry;
+            carry >>>= 32;
+        }
+    }
+
+    /**
+     * Helper method. Subtracts coefficients of equal length in place, dropping the borrow out.
+     */
+    private static void subtract(final int[] r, final int[] b) {
+        long borrow = 0;
+        for (int i = 0; i < r.length; i++) {
+            borrow += (r[i] & MASK) - (b[i] & MASK);
+            r[i] = (int) borrow;
+            borrow >>= 32;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package core.arithmetic;
+
+/**
+ * Modular exponentiation of a fixed base by comb method of Lim and Lee.
+ * <p>
+ * Exponent of at most <i>t</i> bits is written as a matrix of <i>h</i> rows of <i>a = &lceil;t / h&rceil;</i> bits,
+ * so a column of bits is an index into a table of all <i>2<sup>h</sup></i> products of powers
+ * <i>g<sup>2<sup>ia</sup></sup></i>. Columns are split into <i>v</i> blocks of <i>b = &lceil;a / v&rceil;</i>
+ * columns with a table per block, so the power is computed by <i>b</i> squarings and at most <i>a</i>
+ * multiplications, instead of <i>t</i> squarings and about <i>t / (k + 1)</i> multiplications by sliding window.
+ * Tables take <i>v 2<sup>h</sup></i> residues, more teeth or blocks trade memory for speed.
+ * <p>
+ * Tables are computed once with the exponentiator and never change, so it could be shared
+ * between threads without locking. Residues are kept in Montgomery representation for odd moduli,
+ * reduced by Barrett reduction for the others.
+ *
+ * @author vadym
+ * @since 17.10.26 15:59
+ * @see <a href="http://cacr.uwaterloo.ca/hac/about/chap14.pdf">Handbook of Applied Cryptography, 14.117</a>
+ */
+public final class FixedBaseExponentiator {
+    /**
+     * Default number of rows of exponent, the teeth of comb.
+     */
+    static final int TEETH = 8;
+    /**
+     * Default number of blocks of columns.
+     */
+    static final int BLOCKS = 2;
+
+    private final Large base, modulus;
+    private final MontgomeryContext context;
+    private final BarrettReducer reducer;
+    private final int bits, teeth, blocks;
+    /**
+     * Number of bits of a row, <i>a</i>, and number of columns of a block, <i>b</i>.
+     */
+    private final int width, columns;
+    /**
+     * Tables of blocks, <i>table[s][j]</i> is the product of <i>g<sup>2<sup>ia + sb</sup></sup></i>
+     * over bits <i>i</i> of <i>j</i>.
+     */
+    private final int[][][] table;
+    /**
+     * Representation of 1.
+     */
+    private final int[] one;
+
+
+    /**
+     * Creates an exponentiator with default table size, {@value #BLOCKS} tables of <i>2<sup>{@value #TEETH}</sup></i> residues.
+     *
+     * @param base    any number.
+     * @param modulus a positive modulus.
+     * @param bits    maximal bit length of exponents, longer ones are raised by sliding window.
+     * @throws ArithmeticException if modulus is not positive.
+     * @throws IllegalArgumentException if bit length is not positive.
+     */
+    public FixedBaseExponentiator(final Large base, final Large modulus, int bits) {
+        this(base, modulus, bits, TEETH, BLOCKS);
+    }
+
+    /**
+     * Creates an exponentiator with tables of given size.
+     *
+     * @param base    any number.
+     * @param modulus a positive modulus.
+     * @param bits    maximal bit length of exponents, longer ones are raised by sliding window.
+     * @param teeth   number of rows of exponent, from 1 to 16, a table has <i>2<sup>teeth</sup></i> residues.
+     * @param blocks  number of blocks of columns, a positive number of tables.
+     * @throws ArithmeticException if modulus is not positive.
+     * @throws IllegalArgumentException if bit length, teeth or blocks are out of range.
+     */
+    public FixedBaseExponentiator(final Large base, final Large modulus, int bits, int teeth, int blocks) {
+        if (modulus.sign() <= 0) throw new ArithmeticException("Non-positive modulus");
+        if (bits <= 0) throw new IllegalArgumentException("Bit length must be positive");
+        if (teeth < 1 || teeth > 16) throw new IllegalArgumentException("Teeth must be from 1 to 16");
+        if (blocks < 1) throw new IllegalArgumentException("Blocks must be positive");
+
+        final boolean odd = modulus.testBit(0) && modulus.bitLength() > 1;
+
+        this.base = base;
+        this.modulus = modulus;
+        this.context = odd ? new MontgomeryContext(modulus) : null;
+        this.reducer = odd ? null : new BarrettReducer(modulus);
+        this.bits = bits;
+        this.teeth = teeth;
+        this.width = (bits + teeth - 1) / teeth;
+
+        // columns of a block, the number of blocks is corrected so none is empty
+        this.columns = (width + blocks - 1) / blocks;
+        this.blocks = (width + columns - 1) / columns;
+
+        this.one = residue(Large.valueOf(1));
+        this.table = tables(residue(base));
+    }
+
+
+    /**
+     * Returns the base of this exponentiator.
+     *
+     * @return the base.
+     */
+    public Large base() {
+        return base;
+    }
+
+    /**
+     * Returns the modulus of this exponentiator.
+     *
+     * @return the modulus.
+     */
+    public Large modulus() {
+        return modulus;
+    }
+
+    /**
+     * Provides modular power operation of the base.
+     *
+     * @param exponent a non-negative power value.
+     * @return <i>base<sup>exponent</sup> mod modulus</i>, in range <i>[0, modulus)</i>.
+     * @throws ArithmeticException if exponent is negative.
+     */
+    public Large modPow(final Large exponent) {
+        if (exponent.sign() < 0) throw new ArithmeticException("Negative exponent");
+        if (modulus.bitLength() == 1) return new Large();
+        if (exponent.bitLength() > bits) return Exponentiation.modPow(base, exponent, modulus);
+
+        final int[] e = exponent.digits.limbs;
+        final int size = exponent.digits.size();
+        final int[] result = new int[one.length];
+        final int[] scratch = scratch();
+        boolean started = false;
+
+        for (int c = columns - 1; c >= 0; c--) {
+            if (started) square(result, scratch);
+
+            for (int s = 0; s < blocks; s++) {
+                final int column = s * columns + c;
+                if (column >= width) continue;
+
+                // bits of the column from every row
+                int index = 0;
+                for (int i = 0, bit = column; i < teeth; i++, bit += width) {
+                    if (bit >>> 5 < size && Exponentiation.testBit(e, bit)) index |= 1 << i;
+                }
+                if (index == 0) continue;
+
+                if (started) {
+                    multiply(result, table[s][index], scratch);
+                } else {
+                    System.arraycopy(table[s][index], 0, result, 0, result.length);
+                    started = true;
+                }
+            }
+        }
+
+        return started ? value(result, scratch) : Large.valueOf(1);
+    }
+
+
+    /**
+     * Helper method. Computes tables of blocks: powers <i>g<sup>2<sup>ia + sb</sup></sup></i> by a single chain
+     * of squarings, and their products by one multiplication each.
+     */
+    private int[][][] tables(final int[] g) {
+        final int size = 1 << teeth;
+        final int[][][] t = new int[blocks][size][];
+        final int[] scratch = scratch();
+        final int[] x = g.clone();
+
+        int position = 0;
+        for (int i = 0; i < teeth; i++) {
+            for (int s = 0; s < blocks; s++) {
+                for (; position < i * width + s * columns; position++) square(x, scratch);
+                t[s][1 << i] = x.clone();
+            }
+        }
+
+        for (int s = 0; s < blocks; s++) {
+            t[s][0] = one;
+            for (int j = 3; j < size; j++) {
+                if ((j & (j - 1)) == 0) continue;
+
+                // j without its highest bit, times the power of the highest bit
+                final int high = Integer.highestOneBit(j);
+                final int[] r = t[s][j ^ high].clone();
+                multiply(r, t[s][high], scratch);
+                t[s][j] = r;
+            }
+        }
+        return t;
+    }
+
+    /**
+     * Helper method. Returns representation of a number.
+     */
+    private int[] residue(final Large x) {
+        if (context != null) {
+            final int[] r = new int[context.size()];
+            context.toMontgomery(context.reduce(x), r, scratch());
+            return r;
+        }
+
+        final Large reduced = reducer.reduce(x);
+        final int[] r = new int[reducer.size()];
+        System.arraycopy(reduced.digits.limbs, 0, r, 0, reduced.digits.size());
+        return r;
+    }
+
+    /**
+     * Helper method. Returns number of a representation.
+     */
+    private Large value(final int[] x, final int[] scratch) {
+        final int[] r = x.clone();
+        if (context != null) context.fromMontgomery(x, r, scratch);
+        return new Large(new Digits(r, r.length), false);
+    }
+
+    /**
+     * Helper method. Multiplies representations in place of the first one.
+     */
+    private void multiply(final int[] x, final int[] y, final int[] scratch) {
+        if (context != null) {
+            context.multiply(x, y, x, scratch);
+        } else {
+            reducer.multiply(x, y, x, scratch);
+        }
+    }
+
+    /**
+     * Helper method. Squares representation in place.
+     */
+    private void square(final int[] x, final int[] scratch) {
+        if (context != null) {
+            context.square(x, x, scratch);
+        } else {
+            reducer.square(x, x, scratch);
+        }
+    }
+
+    /**
+     * Helper method. Returns a new scratch buffer.
+     */
+    private int[] scratch() {
+        return context != null ? context.scratch() : reducer.scratch();
+    }
+}
@@ -0,0 +1,521 @@
+package core.arithmetic;
+
+import core.Zip;
+
+/**
+ * Greatest common divisor, extended one and modular inverse.
+ * <p>
+ * Numbers are reduced by steps of Euclid's algorithm, batched in several ways by length:
+ * <ul>
+ *     <li>long numbers are halved by a half-GCD: the quotient sequence of the higher halves is
+ *     computed recursively as a matrix and applied to the whole numbers by multiplications,
+ *     so reduction costs <i>O(M(n) log n)</i>;</li>
+ *     <li>shorter ones are reduced by Lehmer's algorithm: the quotient sequence is computed by the leading
+ *     62 bits as long as it's certainly correct, and a step of about 30 bits is applied to the numbers at once;</li>
+ *     <li>numbers of two coefficients are finished by binary algorithm.</li>
+ * </ul>
+ * Every step is a step of Euclid's algorithm, <i>(a, b) = M(a', b')</i> with <i>M</i> a product of matrices
+ * <i>[[q, 1], [1, 0]]</i>, so the cofactor of the first number is tracked through the matrices
+ * by its magnitudes, its signs alternate.
+ *
+ * @author vadym
+ * @since 17.10.26 15:34
+ * @see <a href="http://www.ams.org/journals/mcom/2008-77-261/S0025-5718-07-02017-0/">N. Moller, On Schonhage's algorithm and subquadratic integer gcd computation</a>
+ */
+final class Gcd {
+    /**
+     * Mask for reading a coefficient as unsigned value.
+     */
+    private static final long MASK = Large.MASK;
+
+    /**
+     * Number of coefficients from which numbers are reduced by half-GCD.
+     */
+    static final int HGCD_THRESHOLD = 2000;
+    /**
+     * Number of coefficients below which half-GCD reduces by Lehmer's steps instead of recursion.
+     */
+    static final int HGCD_BASE_THRESHOLD = 100;
+
+    /**
+     * Bound of Lehmer's cofactors, so a cofactor times a coefficient fits into a long.
+     */
+    private static final long COFACTOR_BOUND = Integer.MAX_VALUE;
+
+
+    private Gcd() {
+    }
+
+
+    /**
+     * Computes the greatest common divisor.
+     *
+     * @return non-negative divisor, zero if both numbers are zero.
+     */
+    static Large gcd(final Large a, final Large b) {
+        return new Large(reduce(new MutableLarge(a), new MutableLarge(b), null), false);
+    }
+
+    /**
+     * Computes the greatest common divisor <i>g = ax + by</i> with its cofactors.
+     * The first cofactor is the least non-negative one, unless <i>b</i> is zero.
+     *
+     * @return <i>g</i> and cofactors <i>x</i>, <i>y</i>.
+     */
+    static Zip<Large, Zip<Large, Large>> extendedGcd(final Large a, final Large b) {
+        final Cofactors cofactors = new Cofactors();
+        final Large g = new Large(reduce(new MutableLarge(a), new MutableLarge(b), cofactors), false);
+
+        if (b.sign() == 0) {
+            final Large x = a.sign() == 0 ? new Large() : Large.valueOf(a.sign());
+            return new Zip<>(g, new Zip<>(x, new Large()));
+        }
+
+        // cofactor of |a| turned into the least non-negative cofactor of a
+        final Large step = b.abs().divide(g);
+        Large x = new Large(cofactors.s0, cofactors.sign < 0 != a.sign() < 0).modulo(step);
+        if (cofactors.sign < 0 != a.sign() < 0 && x.sign() != 0) x = step.subtract(x);
+
+        final Large y = g.subtract(a.multiply(x)).divide(b);
+        return new Zip<>(g, new Zip<>(x, y));
+    }
+
+    /**
+     * Computes the modular inverse.
+     *
+     * @param a any number.
+     * @param m a positive modulus.
+     * @return <i>a<sup>-1</sup> mod m</i>, in range <i>[0, m)</i>.
+     * @throws ArithmeticException if the number is not invertible.
+     */
+    static Large modInverse(final Large a, final Large m) {
+        final Large inverse = inverse(a, m);
+        if (inverse == null) throw new ArithmeticException("Not invertible");
+        return inverse;
+    }
+
+    /**
+     * Computes the modular inverse, if it exists.
+     *
+     * @param a any number.
+     * @param m a positive modulus.
+     * @return <i>a<sup>-1</sup> mod m</i>, in range <i>[0, m)</i>, or <code>null</code> if the number is not invertible.
+     */
+    static Large inverse(final Large a, final Large m) {
+        if (m.bitLength() == 1) return new Large();
+
+        final MutableLarge modulus = m.magnitude();
+        final MutableLarge x = new MutableLarge(a).reduce(modulus);
+        if (a.sign() < 0 && !x.isZero()) x.set(new MutableLarge(modulus).subtract(x));
+
+        final Cofactors cofactors = new Cofactors();
+        final MutableLarge g = reduce(x, new MutableLarge(modulus), cofactors);
+        if (g.length != 1 || g.value[0] != 1) return null;
+
+        final MutableLarge inverse = cofactors.s0.reduce(modulus);
+        if (cofactors.sign < 0 && !inverse.isZero()) inverse.set(new MutableLarge(modulus).subtract(inverse));
+        return new Large(inverse, false);
+    }
+
+
+    /**
+     * Helper method. Reduces two non-negative numbers to their greatest common divisor.
+     * The numbers are destroyed.
+     *
+     * @param cofactors cofactor of the first number, could be <code>null</code>.
+     * @return the greatest common divisor, one of the arguments.
+     */
+    static MutableLarge reduce(final MutableLarge a, final MutableLarge b, final Cofactors cofactors) {
+        if (a.compareTo(b) < 0) {
+            swap(a, b);
+            if (cofactors != null) cofactors.swap();
+        }
+
+        final MutableLarge quotient = new MutableLarge();
+
+        while (!b.isZero()) {
+            if (b.length >= HGCD_THRESHOLD && a.length - b.length < HGCD_THRESHOLD / 2) {
+                final Matrix m = hgcd(a, b);
+                if (!m.isIdentity()) {
+                    if (cofactors != null) cofactors.apply(m);
+                    continue;
+                }
+            } else if (cofactors == null && a.length <= 2) {
+                return a.set(binary(low(a), low(b)));
+            } else if (a.length > 2 && lehmer(a, b, cofactors, null, 0)) {
+                continue;
+            }
+
+            // a step of Euclid's algorithm: (a, b) = (b, a mod b)
+            a.divide(b, quotient);
+            swap(a, b);
+            if (cofactors != null) cofactors.step(quotient);
+        }
+
+        return a;
+    }
+
+    /**
+     * Helper method. Half-GCD: reduces <i>a &ge; b</i> of <i>n</i> coefficients by steps of Euclid's algorithm while
+     * the numbers stay above <i>BASE<sup>s</sup></i> and differ by <i>BASE<sup>s</sup></i> at least, <i>s = &lfloor;n/2&rfloor; + 1</i>.
+     * Then the entries of the matrix are less than <i>BASE<sup>s-1</sup></i>, so the same matrix
+     * reduces the numbers extended by lower coefficients, see {@link #lift}.
+     *
+     * @param a the larger number, replaced with <i>a'</i>.
+     * @param b the smaller number, replaced with <i>b'</i>.
+     * @return the matrix <i>M</i>, <i>(a, b) = M(a', b')</i>.
+     */
+    private static Matrix hgcd(final MutableLarge a, final MutableLarge b) {
+        final int n = a.length;
+        final int s = n / 2 + 1;
+        final Matrix m = new Matrix();
+
+        if (b.length <= s) return m;
+
+        if (n < HGCD_BASE_THRESHOLD) {
+            final MutableLarge quotient = new MutableLarge();
+            final MutableLarge spare = new MutableLarge();
+            while (b.length > s + 2 && lehmer(a, b, null, m, s) || step(a, b, s, m, quotient, spare)) ;
+            return m;
+        }
+
+        // the higher n - s coefficients reduce the numbers to about 3n/4 coefficients
+        lift(a, b, s, m);
+
+        // a step of Euclid's algorithm, then the higher 2(n' - s) coefficients reduce them to about s;
+        // if the step can't be made, the next remainder is already below the bound
+        if (!step(a, b, s, m, new MutableLarge(), new MutableLarge())) return m;
+        lift(a, b, 2 * s - a.length, m);
+
+        return m;
+    }
+
+    /**
+     * Helper method. Reduces the numbers by half-GCD of their coefficients from <i>p</i>,
+     * the matrix is applied to the whole numbers and multiplied into <i>m</i>.
+     */
+    private static void lift(final MutableLarge a, final MutableLarge b, int p, final Matrix m) {
+        if (p <= 0 || b.length <= p) return;
+
+        final MutableLarge a1 = new MutableLarge(a).shiftRight(32 * p);
+        final MutableLarge b1 = new MutableLarge(b).shiftRight(32 * p);
+        final Matrix r = hgcd(a1, b1);
+        if (r.isIdentity()) return;
+
+        // (a', b') = R^-1 (a, b) = (a1', b1') * BASE^p + R^-1 (a0, b0), with R^-1 = det [[r11, -r01], [-r10, r00]]
+        final MutableLarge a0 = BurnikelZiegler.block(a, 0, p);
+        final MutableLarge b0 = BurnikelZiegler.block(b, 0, p);
+
+        final MutableLarge x = new MutableLarge().multiply(r.u11, a0);
+        final MutableLarge y = new MutableLarge().multiply(r.u01, b0);
+        a1.shiftLeft(32 * p).add(r.det > 0 ? x : y).subtract(r.det > 0 ? y : x);
+
+        x.multiply(r.u10, a0);
+        y.multiply(r.u00, b0);
+        b1.shiftLeft(32 * p).add(r.det > 0 ? y : x).subtract(r.det > 0 ? x : y);
+
+        swap(a, a1);
+        swap(b, b1);
+        m.multiply(r);
+    }
+
+    /**
+     * Helper method. Makes a step of Euclid's algorithm if both remainders stay above <i>BASE<sup>s</sup></i>
+     * and differ by <i>BASE<sup>s</sup></i> at least.
+     *
+     * @return <code>true</code> if the step was made.
+     */
+    private static boolean step(final MutableLarge a, final MutableLarge b, int s, final Matrix m,
+                                final MutableLarge quotient, final MutableLarge remainder) {
+        remainder.set(a).divide(b, quotient);
+        if (remainder.length <= s) return false;
+
+        final MutableLarge difference = new MutableLarge(b).subtract(remainder);
+        if (difference.length <= s) return false;
+
+        m.step(quotient);
+        swap(a, b);
+        swap(b, remainder);
+        return true;
+    }
+
+    /**
+     * Helper method. Lehmer's step, by Knuth's algorithm L: the quotients are computed by the leading
+     * 62 bits of <i>a &ge; b</i> while the bounds of both numbers give the same quotient and
+     * the cofactors are within {@link #COFACTOR_BOUND}, then the cofactors are applied to the numbers.
+     * In half-GCD the step is taken back if the numbers drop below the bound of {@link #hgcd}.
+     *
+     * @param cofactors cofactors to update, could be <code>null</code>.
+     * @param m matrix of half-GCD to update, <code>null</code> outside of half-GCD.
+     * @param s bound of half-GCD.
+     * @return <code>true</code> if the numbers were reduced.
+     */
+    private static boolean lehmer(final MutableLarge a, final MutableLarge b, final Cofactors cofactors,
+                                  final Matrix m, int s) {
+        final int shift = a.bitLength() - 62;
+        long x = top(a, shift);
+        long y = top(b, shift);
+
+        // (a', b') = [[A, B], [C, D]] (a, b), signs of A, B and of C, D alternate
+        long A = 1, B = 0, C = 0, D = 1;
+        while (y + C > 0 && y + D > 0) {
+            final long q = (x + A) / (y + C);
+            if (q != (x + B) / (y + D)) break;
+
+            final long nc = A - q * C;
+            final long nd = B - q * D;
+            if (Math.abs(nc) > COFACTOR_BOUND || Math.abs(nd) > COFACTOR_BOUND) break;
+
+            A = C;
+            C = nc;
+            B = D;
+            D = nd;
+
+            final long r = x - q * y;
+            x = y;
+            y = r;
+        }
+
+        if (B == 0) return false;
+
+        final int n = a.length;
+        final int blen = b.length;
+        b.ensureCapacity(n);
+
+        final int[] u = a.value;
+        final int[] v = b.value;
+        long ca = 0;
+        long cb = 0;
+
+        for (int i = 0; i < n; i++) {
+            final long ui = u[i] & MASK;
+            final long vi = i < blen ? v[i] & MASK : 0;
+            ca += A * ui + B * vi;
+            cb += C * ui + D * vi;
+            u[i] = (int) ca;
+            v[i] = (int) cb;
+            ca >>= 32;
+            cb >>= 32;
+        }
+
+        b.length = n;
+        a.normalize();
+        b.normalize();
+
+        // matrix of the step is the inverse, [[|D|, |B|], [|C|, |A|]]
+        if (m != null) {
+            final MutableLarge difference = new MutableLarge(a).subtract(b);
+
+            if (b.length <= s || difference.length <= s) {
+                final MutableLarge a0 = combine(a, Math.abs(D), b, Math.abs(B));
+                final MutableLarge b0 = combine(a, Math.abs(C), b, Math.abs(A));
+                swap(a, a0);
+                swap(b, b0);
+                return false;
+            }
+            m.lehmer(Math.abs(D), Math.abs(B), Math.abs(C), Math.abs(A));
+        }
+
+        if (cofactors != null) {
+            cofactors.lehmer(Math.abs(A), Math.abs(B), Math.abs(C), Math.abs(D), A > 0 || B < 0);
+        }
+        return true;
+    }
+
+    /**
+     * Helper method. Binary algorithm for numbers of 64 bits, treated as unsigned.
+     */
+    static long binary(long a, long b) {
+        if (a == 0) return b;
+        if (b == 0) return a;
+
+        final int shift = Long.numberOfTrailingZeros(a | b);
+        a >>>= Long.numberOfTrailingZeros(a);
+
+        do {
+            b >>>= Long.numberOfTrailingZeros(b);
+            if (Long.compareUnsigned(a, b) > 0) {
+                final long t = a;
+                a = b;
+                b = t;
+            }
+            b -= a;
+        } while (b != 0);
+
+        return a << shift;
+    }
+
+
+    /**
+     * Helper method. Returns lower 64 bits of a number.
+     */
+    private static long low(final MutableLarge x) {
+        if (x.length == 0) return 0;
+        return x.length == 1 ? x.value[0] & MASK : (x.value[0] & MASK) | ((long) x.value[1] << 32);
+    }
+
+    /**
+     * Helper method. Returns <i>&lfloor;x / 2<sup>shift</sup>&rfloor;</i>, less than <i>2<sup>62</sup></i>.
+     */
+    private static long top(final MutableLarge x, int shift) {
+        final int index = shift >>> 5;
+        final int bits = shift & 31;
+        final int[] v = x.value;
+
+        final long lo = (index < x.length ? v[index] & MASK : 0)
+                | (index + 1 < x.length ? (v[index + 1] & MASK) << 32 : 0);
+        if (bits == 0) return lo;
+
+        final long hi = index + 2 < x.length ? v[index + 2] & MASK : 0;
+        return (lo >>> bits) | (hi << (64 - bits));
+    }
+
+    /**
+     * Helper method. Returns <i>xp + yq</i> for non-negative <i>p, q &le; </i>{@link #COFACTOR_BOUND}.
+     */
+    private static MutableLarge combine(final MutableLarge x, long p, final MutableLarge y, long q) {
+        final int n = Math.max(x.length, y.length);
+        final MutableLarge r = new MutableLarge(n + 2);
+        final int[] rv = r.value;
+        long sum = 0;   // < 2^64, unsigned
+
+        for (int i = 0; i < n; i++) {
+            sum += (i < x.length ? (x.value[i] & MASK) * p : 0) + (i < y.length ? (y.value[i] & MASK) * q : 0);
+            rv[i] = (int) sum;
+            sum >>>= 32;
+        }
+        rv[n] = (int) sum;
+
+        r.length = n + 1;
+        r.normalize();
+        return r;
+    }
+
+    /**
+     * Helper method. Swaps values of two numbers with their buffers.
+     */
+    private static void swap(final MutableLarge x, final MutableLarge y) {
+        final int[] value = x.value;
+        final int length = x.length;
+        x.value = y.value;
+        x.length = y.length;
+        y.value = value;
+        y.length = length;
+    }
+
+
+    /**
+     * Matrix <i>[[u00, u01], [u10, u11]]</i> of non-negative entries, a product of
+     * <i>[[q, 1], [1, 0]]</i>, so the columns don't increase and the determinant is &plusmn;1.
+     */
+    private static final class Matrix {
+        MutableLarge u00 = new MutableLarge().set(1), u01 = new MutableLarge();
+        MutableLarge u10 = new MutableLarge(), u11 = new MutableLarge().set(1);
+        int det = 1;
+
+        boolean isIdentity() {
+            return u10.isZero();
+        }
+
+        /**
+         * Multiplies by <i>[[q, 1], [1, 0]]</i> from the right.
+         */
+        void step(final MutableLarge q) {
+            final MutableLarge c0 = new MutableLarge().multiply(q, u00).add(u01);
+            final MutableLarge c1 = new MutableLarge().multiply(q, u10).add(u11);
+            u01 = u00;
+            u11 = u10;
+            u00 = c0;
+            u10 = c1;
+            det = -det;
+        }
+
+        /**
+         * Multiplies by <i>[[p00, p01], [p10, p11]]</i> of Lehmer's step from the right.
+         */
+        void lehmer(long p00, long p01, long p10, long p11) {
+            final MutableLarge c00 = combine(u00, p00, u01, p10);
+            final MutableLarge c01 = combine(u00, p01, u01, p11);
+            final MutableLarge c10 = combine(u10, p00, u11, p10);
+            final MutableLarge c11 = combine(u10, p01, u11, p11);
+            u00 = c00;
+            u01 = c01;
+            u10 = c10;
+            u11 = c11;
+            det *= p00 * p11 > p01 * p10 ? 1 : -1;
+        }
+
+        /**
+         * Multiplies by the matrix from the right.
+         */
+        void multiply(final Matrix r) {
+            final MutableLarge c00 = product(u00, r.u00).add(product(u01, r.u10));
+            final MutableLarge c01 = product(u00, r.u01).add(product(u01, r.u11));
+            final MutableLarge c10 = product(u10, r.u00).add(product(u11, r.u10));
+            final MutableLarge c11 = product(u10, r.u01).add(product(u11, r.u11));
+            u00 = c00;
+            u01 = c01;
+            u10 = c10;
+            u11 = c11;
+            det *= r.det;
+        }
+
+        private static MutableLarge product(final MutableLarge x, final MutableLarge y) {
+            return new MutableLarge(x.length + y.length + 1).multiply(x, y);
+        }
+    }
+
+    /**
+     * Cofactors <i>s<sub>0</sub></i>, <i>s<sub>1</sub></i> of the first number in the current pair:
+     * <i>a' = s<sub>0</sub>a + t<sub>0</sub>b</i>, <i>b' = s<sub>1</sub>a + t<sub>1</sub>b</i>.
+     * The signs alternate, so the magnitudes are kept with the sign of <i>s<sub>0</sub></i>.
+     */
+    static final class Cofactors {
+        MutableLarge s0 = new MutableLarge().set(1), s1 = new MutableLarge();
+        int sign = 1;
+
+        /**
+         * Follows swap of the numbers.
+         */
+        void swap() {
+            final MutableLarge t = s0;
+            s0 = s1;
+            s1 = t;
+            sign = -sign;
+        }
+
+        /**
+         * Follows the step <i>(a, b) = (b, a - qb)</i>.
+         */
+        void step(final MutableLarge q) {
+            final MutableLarge t = new MutableLarge().multiply(q, s1).add(s0);
+            s0 = s1;
+            s1 = t;
+            sign = -sign;
+        }
+
+        /**
+         * Follows Lehmer's step by magnitudes of its cofactors.
+         *
+         * @param same whether the sign of <i>s<sub>0</sub></i> is kept.
+         */
+        void lehmer(long a, long b, long c, long d, boolean same) {
+            final MutableLarge t0 = combine(s0, a, s1, b);
+            final MutableLarge t1 = combine(s0, c, s1, d);
+            s0 = t0;
+            s1 = t1;
+            if (!same) sign = -sign;
+        }
+
+        /**
+         * Follows reduction by a matrix, <i>(s<sub>0</sub>', s<sub>1</sub>') = M<sup>-1</sup>(s<sub>0</sub>, s<sub>1</sub>)</i>.
+         */
+        void apply(final Matrix m) {
+            final MutableLarge t0 = Matrix.product(m.u11, s0).add(Matrix.product(m.u01, s1));
+            final MutableLarge t1 = Matrix.product(m.u10, s0).add(Matrix.product(m.u00, s1));
+            s0 = t0;
+            s1 = t1;
+            sign *= m.det;
+        }
+    }
+}
@@ -2,7 +2,8 @@ package core.arithmetic;
 
 import core.Zip;
 
-import java.util.List;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Implementation of arbitrary-precision arithmetic operations on large integer numbers.
@@ -13,13 +14,19 @@ import java.util.List;
  */
 public class Large implements Comparable<Large>, Cloneable {
     /**
-     * Number base.
+     * Number base, 2<sup>32</sup>.
+     * Coefficients are unsigned <code>int</code>s, intermediate results are <code>long</code>s.
      */
-    private static final int BASE = 10_000;
+    private static final long BASE = 1L << 32;
     /**
-     * NUmber of digits in base.
+     * Mask for reading a coefficient as unsigned value.
      */
-    private static final int PACK = (int) Math.floor(Math.log10(BASE));
+    static final long MASK = BASE - 1;
+
+    /**
+     * Base of orders used by {@link #shiftLeft(int)}, kept from the former decimal representation.
+     */
+    private static final int ORDER = 10_000;
 
     /**
      * Every number could be represented as:<br>
@@ -27,15 +34,21 @@ public class Large implements Comparable<Large>, Cloneable {
      *      a<sub>1</sub> * BASE + a<sub>0</sub></i>,
      * where <i>a<sub>i</sub> &isin; [0..BASE)</i>, <i>i = n&hellip;0</i><br>
      * Coefficients are stored in little-endian format i.e.
-     *      <i>[a<sub>0</sub>, &hellip; ,a<sub>n-1</sub>, a<sub>n</sub>]</i>
+     *      <i>[a<sub>0</sub>, &hellip; ,a<sub>n-1</sub>, a<sub>n</sub>]</i><br>
+     * Made package-private for the algorithms of the package.
      */
-    private Digits digits;
+    final Digits digits;
 
     /**
      * Stores a sign of number.
      */
     private boolean isNegative;
 
+    /**
+     * Decimal representation, computed on first call of {@link #toString()}.
+     */
+    private String decimal;
+
 
     /**
      * Helper constructor.
@@ -45,60 +58,103 @@ public class Large implements Comparable<Large>, Cloneable {
     }
 
     /**
-     * Helper constructor.
+     * Helper constructor. Takes ownership of the coefficients.
      *
-     * @param initial a list of internal coefficients whose represents a number in base {@value #BASE}
+     * @param initial internal coefficients whose represents a number in base 2<sup>32</sup>
+     * @param isNegative if <code>true</code> number considered as below zero.
      */
-    private Large(final List<Integer> initial) {
-        this();
-        digits.addAll(initial);
+    Large(final Digits initial, boolean isNegative) {
+        digits = initial;
+        digits.trim();
+        this.isNegative = isNegative && sign() != 0;
     }
 
     /**
-     * Helper constructor.
+     * Constructor of large number.
      *
-     * @param initial a list of internal coefficients whose represents a number in base {@value #BASE}
+     * @param x decimal representation of number.
+     *          Could starts with '-' if number is negative.
+     *          Leading zeros will be ignored.
+     */
+    public Large(CharSequence x) {
+        this(Radix.parse(x));
+    }
+
+    /**
+     * Helper constructor. Takes ownership of the buffer of accumulator,
+     * which must not be used afterwards.
+     *
+     * @param value absolute value of number.
      * @param isNegative if <code>true</code> number considered as below zero.
      */
-    private Large(final List<Integer> initial, boolean isNegative) {
-        this(initial);
-        this.isNegative = isNegative;
+    Large(final MutableLarge value, boolean isNegative) {
+        this(new Digits(value.value, value.length), isNegative);
     }
 
     /**
-     * Constructor of large number.
+     * Helper constructor. Shares coefficients with the other number.
      *
-     * @param x string representation of number.
-     *          Could starts with '-' if number is negative.
-     *          Leading zeros will be ignored.
+     * @param other number to take value from.
      */
-    public Large(String x) {
-        // check input number format
-        if (!x.matches("^-?\\d+$")) throw new IllegalArgumentException(String.format("Invalid number '%s'", x));
+    private Large(final Large other) {
+        digits = other.digits;
+        isNegative = other.isNegative;
+    }
 
-        // trim leading zeros
-        x = x.replaceFirst("^0+(?!$)", "");
+    /**
+     * Constructor of large number from its binary representation.
+     *
+     * @param sign -1 for negative numbers, any other value otherwise.
+     * @param magnitude unsigned big-endian bytes of number's absolute value.
+     */
+    public Large(int sign, byte[] magnitude) {
+        final int[] r = new int[(magnitude.length + 3) / 4];
 
-        // case x = 0
-        if ("0".equals(x)) {
-            digits = new Digits();
-            digits.add(0);
-            return;
+        for (int i = magnitude.length - 1, k = 0; i >= 0; i--, k++) {
+            r[k >>> 2] |= (magnitude[i] & 0xff) << ((k & 3) << 3);
         }
 
-        // case x < 0
-        if (x.charAt(0) == '-') {
-            isNegative = true;
-            x = x.substring(1);
-        }
+        digits = new Digits(r, r.length);
+        digits.trim();
+        isNegative = sign < 0 && sign() != 0;
+    }
 
-        // fill the coefficients in little-endian format
-        digits = new Digits();
-        for (int i = x.length(); i > 0; i -= PACK) {
-            digits.add(Integer.parseInt(
-                    (i < PACK) ? x.substring(0, i) : x.substring(i - PACK, i)
-            ));
-        }
+
+    /**
+     * Parses decimal ASCII text.
+     *
+     * @param x buffer with decimal representation of number.
+     *          Could starts with '-' if number is negative.
+     *          Leading zeros will be ignored.
+     * @return new instance of large number.
+     */
+    public static Large fromAscii(byte[] x) {
+        return fromAscii(x, 0, x.length);
+    }
+
+    /**
+     * Parses decimal ASCII text.
+     *
+     * @param x buffer with decimal representation of number.
+     *          Could starts with '-' if number is negative.
+     *          Leading zeros will be ignored.
+     * @param offset index of the first character of text.
+     * @param length number of characters of text.
+     * @return new instance of large number.
+     */
+    public static Large fromAscii(byte[] x, int offset, int length) {
+        return Radix.parse(x, offset, length);
+    }
+
+    /**
+     * Returns a {@link Large} number whose value is equal to the argument.
+     *
+     * @param x value of number.
+     * @return new instance of large number.
+     */
+    public static Large valueOf(long x) {
+        final long abs = Math.abs(x);       // Long.MIN_VALUE stays negative but is read unsigned below
+        return new Large(new Digits(new int[]{(int) abs, (int) (abs >>> 32)}, 2), x < 0);
     }
 
 
@@ -107,7 +163,7 @@ public class Large implements Comparable<Large>, Cloneable {
      */
     @Override
     protected Large clone() {
-        return new Large(this.digits, this.isNegative);
+        return new Large(digits.copy(), isNegative);
     }
 
 
@@ -149,6 +205,44 @@ public class Large implements Comparable<Large>, Cloneable {
     }
 
 
+    /**
+     * Returns unsigned big-endian bytes of number's absolute value, without leading zero bytes.
+     *
+     * @return binary representation of the absolute value.
+     */
+    public byte[] toByteArray() {
+        final int n = (bitLength() + 7) >>> 3;
+        final byte[] result = new byte[n];
+
+        for (int i = n - 1, k = 0; i >= 0; i--, k++) {
+            result[i] = (byte) (digits.limbs[k >>> 2] >>> ((k & 3) << 3));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the number of bits in the binary representation of number's absolute value.
+     *
+     * @return bit length, 0 for zero.
+     */
+    public int bitLength() {
+        if (sign() == 0) return 0;
+        return (digits.size() - 1) * 32 + 32 - Integer.numberOfLeadingZeros(digits.getMSB());
+    }
+
+    /**
+     * Checks a bit of the binary representation of number's absolute value.
+     *
+     * @param n index of a bit, 0 for the least significant one.
+     * @return <code>true</code> if the bit is set.
+     */
+    public boolean testBit(int n) {
+        if (n < 0) throw new ArithmeticException("Negative bit index");
+        return n >>> 5 < digits.size() && Exponentiation.testBit(digits.limbs, n);
+    }
+
+
     /**
      * Provides additional operation between two {@link Large} numbers.
      * Knuth's algorithm.
@@ -172,23 +266,7 @@ public class Large implements Comparable<Large>, Cloneable {
 
         // main algorithm: A + B
 
-        final Large result = clone();
-        int n = Math.max(digits.size(), other.digits.size());
-
-        int carry = 0;
-        int sum;        // < 2 * BASE
-
-        for (int i = 0; i < n || carry != 0; i++) {
-            sum = digits.get(i)
-                    + other.digits.get(i)
-                    + carry;
-            carry = sum / BASE;
-
-            result.digits.set(i, sum % BASE);
-        }
-
-        result.digits.trim();
-        return result;
+        return new Large(addMagnitude(digits, other.digits), false);
     }
 
     /**
@@ -203,23 +281,22 @@ public class Large implements Comparable<Large>, Cloneable {
 
         // dealing with negative numbers
         if (x < 0) throw new UnsupportedOperationException("Not implemented yet.");
+        if (isNegative) return add(valueOf(x));
 
         // main algorithm
 
-        final Large result = clone();
+        final int n = digits.size();
+        final int[] r = Arrays.copyOf(digits.limbs, n + 1);
 
-        int carry = x;
-        int sum;        // < 2 * BASE
+        long carry = x;
 
-        for (int i = 0; i < digits.size() && carry != 0; i++) {
-            sum = digits.get(i) + carry;
-            carry = sum / BASE;
-
-            result.digits.set(i, sum % BASE);
+        for (int i = 0; carry != 0; i++) {
+            carry += r[i] & MASK;
+            r[i] = (int) carry;
+            carry >>>= 32;
         }
 
-        result.digits.trim();
-        return result;
+        return new Large(new Digits(r, r.length), false);
     }
 
 
@@ -243,19 +320,7 @@ public class Large implements Comparable<Large>, Cloneable {
 
         // main algorithm: A - B, A > B
 
-        final Large result = clone();
-        int borrow = 0;
-        int diff;
-
-        for (int i = 0; i < digits.size() || borrow != 0; i++) {
-            diff = digits.get(i) - other.digits.get(i) + borrow;
-            borrow = (diff < 0) ? -1 : 0;
-
-            result.digits.set(i, (diff + BASE) % BASE);
-        }
-
-        result.digits.trim();
-        return result;
+        return new Large(subtractMagnitude(digits, other.digits), false);
     }
 
 
@@ -272,61 +337,30 @@ public class Large implements Comparable<Large>, Cloneable {
         // dealing with negative numbers
         if (x < 0) throw new UnsupportedOperationException("Not implemented yet.");
 
-        // main algorithm
-
-        final Large result = clone();
-        int borrow = -x;
-        int diff;
-
-        for (int i = 0; i < digits.size() && borrow != 0; i++) {
-            diff = digits.get(i) + borrow;
-            borrow = (diff < 0) ? -1 : 0;
-
-            result.digits.set(i, (diff + BASE) % BASE);
-        }
-
-        result.digits.trim();
-        return result;
+        return subtract(valueOf(x));
     }
 
 
     /**
-     * Provides multiplication operation. Knuth's algorithm.
-     * The complexity of computation is &Theta;(n<sup>2</sup>).
+     * Provides multiplication operation.
+     * Knuth's algorithm for short numbers, Karatsuba algorithm for long ones.
      *
      * @param other a large number to be multiplied.
      * @return large number multiplied by value of the argument.
      */
     public Large multiply(final Large other) {
         // speed up with trivial values
-        if (other.sign() == 0) return new Large();
+        if (other.sign() == 0 || sign() == 0) return new Large();
 
         // main algorithm: A * B
 
-        final Large result = new Large();
-        result.digits.set(digits.size() + other.digits.size() - 1, 0);
-
-        int carry;
-        int mul;        // < BASE^2
-
-        for (int i = 0; i < digits.size(); i++) {
-            if (digits.get(i) == 0) continue;
-
-            carry = 0;
+        final int n = digits.size();
+        final int m = other.digits.size();
+        final int[] r = new int[n + m];
 
-            for (int j = 0; j < other.digits.size() || carry != 0; j++) {
-                mul = digits.get(i) * other.digits.get(j)
-                        + result.digits.get(i+j)
-                        + carry;
-                carry = mul / BASE;
+        Multiplication.multiply(digits.limbs, n, other.digits.limbs, m, r);
 
-                result.digits.set(i+j, mul % BASE);
-            }
-        }
-
-        result.isNegative = isNegative != other.isNegative;
-        result.digits.trim();
-        return result;
+        return new Large(new Digits(r, r.length), isNegative != other.isNegative);
     }
 
 
@@ -343,26 +377,51 @@ public class Large implements Comparable<Large>, Cloneable {
 
         // main algorithm
 
-        final Large result = clone();
+        return new Large(multiplyMagnitude(digits, Math.abs((long) x)), isNegative != (x < 0));
+    }
 
-        int carry = 0;
-        int mul;        // < BASE^2
+    /**
+     * Provides multiplication operation in a fork-join pool.
+     * Products of long numbers are split into parallel tasks,
+     * short ones are computed in the calling thread.
+     *
+     * @param other a large number to be multiplied.
+     * @param pool  a pool which executes tasks of multiplication.
+     * @return large number multiplied by value of the argument.
+     */
+    public Large multiply(final Large other, final ForkJoinPool pool) {
+        if (other.sign() == 0 || sign() == 0) return new Large();
 
-        for (int i = 0; i < digits.size() || carry != 0; i++) {
-            mul = digits.get(i) * x + carry;
-            carry = mul / BASE;
+        final int n = digits.size();
+        final int m = other.digits.size();
+        final int[] r = new int[n + m];
 
-            result.digits.set(i, mul % BASE);
-        }
+        ParallelMultiplication.multiply(digits.limbs, n, other.digits.limbs, m, r, pool);
 
-        result.isNegative = isNegative != (x < 0);
-        result.digits.trim();
-        return result;
+        return new Large(new Digits(r, r.length), isNegative != other.isNegative);
+    }
+
+    /**
+     * Provides squaring operation, cheaper than multiplication of number by itself.
+     *
+     * @return large number multiplied by itself.
+     */
+    public Large square() {
+        if (sign() == 0) return new Large();
+
+        final int n = digits.size();
+        final int[] r = new int[2 * n];
+
+        Multiplication.square(digits.limbs, n, r);
+
+        return new Large(new Digits(r, r.length), false);
     }
 
     /**
      * Implementation of Karatsuba multiplication algorithm.
      * The complexity of computation is &Theta;(n<sup>log₂3</sup>).
+     * Operands shorter than {@value Multiplication#KARATSUBA_THRESHOLD} coefficients
+     * are multiplied by schoolbook algorithm, which is faster on them.
      *
      * @param x first number to be multiplied
      * @param y second number to be multiplied
@@ -370,51 +429,26 @@ public class Large implements Comparable<Large>, Cloneable {
      * @see <a href="http://en.wikipedia.org/wiki/Karatsuba_algorithm">Karatsuba algorithm</a>
      */
     public static Large karatsuba(final Large x, final Large y)  {
-        // is x or y a "small" number?
-        if (x.isSmall()) return y.multiply(x.digits.getLSB());
-        if (y.isSmall()) return x.multiply(y.digits.getLSB());
-
-        int mid = Math.max(x.digits.size(), y.digits.size()) / 2;
-        int min = Math.min(x.digits.size(), y.digits.size());
-        if (mid > min) mid = min - 1;
-
-        final Zip<Large,Large> zipX = x.split(mid);
-        final Zip<Large,Large> zipY = y.split(mid);
-
-        Large z0 = karatsuba(zipX.one, zipY.one);
-        Large z1 = karatsuba(zipX.one.add(zipX.two), zipY.one.add(zipY.two));
-        Large z2 = karatsuba(zipX.two, zipY.two);
-
-        return z2.shiftLeft(2 * mid)
-                .add(
-                        ( z1.subtract(z2).subtract(z0) )
-                        .shiftLeft(mid)
-                        .add(z0)
-                );
+        return x.multiply(y);
     }
 
 
     /**
      * Returns a Large whose value is shifted left.
-     * Equivalent as multiplying in a power of BASE<sup>n</sup>.
+     * Equivalent as multiplying in a power of 10 000<sup>n</sup>,
+     * an order of the former decimal representation.
      *
      * @param n shift distance, in orders.
      * @return new instance of large number shifted left by <i>n</i> orders
      */
     public Large shiftLeft(int n) {
-        final Large result = this.clone();
-
-        for (int i = 0; i < n; i++) {
-            result.digits.add(i, 0);
-        }
-
-        result.digits.trim();
-        return result;
+        return multiply(valueOf(ORDER).power(n));
     }
 
 
     /**
-     * Provides division operation with a reminder. Knuth's algorithm.
+     * Provides division operation with a reminder. Knuth's algorithm, recursive one for long divisors
+     * and Newton's reciprocal for very long ones.
      *
      * @param other a large number to be divided.
      * @return new instance of large number divided by value of the argument and a reminder.
@@ -423,41 +457,14 @@ public class Large implements Comparable<Large>, Cloneable {
         // speed up with trivial values
         if (other.sign() == 0) throw new ArithmeticException("Division by zero");
 
-        // main algorithm
-
-        Large r = new Large();
-        final Large q = new Large();
-
-        final int norm = BASE / (other.digits.getMSB() + 1);
-
-        final Large a = abs().multiply(norm);
-        final Large b = other.abs().multiply(norm);
+        // main algorithm: reminder replaces a copy of dividend in place
 
-        for (int i = a.digits.size() - 1; i >= 0; i--) {
-            r = r.shiftLeft(1);
-            r = r.add(a.digits.get(i));
+        final MutableLarge r = new MutableLarge(this);
+        final MutableLarge q = new MutableLarge(Math.max(digits.size() - other.digits.size() + 1, 1));
 
-            int s1 = r.digits.get(b.digits.size());
-            int s2 = r.digits.get(b.digits.size() - 1);
-            int guess = (s1*BASE + s2) / b.digits.getMSB();
+        r.divide(other.magnitude(), q);
 
-            r = r.subtract(b.multiply(guess));
-
-            while (r.sign() < 0) {
-                r = r.add(b);
-                guess--;
-            }
-
-            q.digits.set(i, guess);
-        }
-
-        r = r.divide(norm);
-        r.digits.trim();
-
-        q.digits.trim();
-        q.isNegative = isNegative != other.isNegative;
-
-        return new Zip<>(q, r);
+        return new Zip<>(new Large(q, isNegative != other.isNegative), new Large(r, false));
     }
 
 
@@ -485,21 +492,10 @@ public class Large implements Comparable<Large>, Cloneable {
 
         // main algorithm
 
-        final Large result = clone();
-
-        int r = 0;
-        int div;
-
-        for (int i = digits.size() - 1; i >= 0; i--) {
-            div = digits.get(i) + r * BASE;
-            r = div % x;
-
-            result.digits.set(i, div / x);
-        }
+        final int[] q = Arrays.copyOf(digits.limbs, digits.size());
+        MutableLarge.divide(q, q.length, Math.abs((long) x));
 
-        result.digits.trim();
-        result.isNegative = isNegative != (x < 0);
-        return result;
+        return new Large(new Digits(q, q.length), isNegative != (x < 0));
     }
 
 
@@ -520,15 +516,7 @@ public class Large implements Comparable<Large>, Cloneable {
      * @return large number modulo by the argument.
      */
     public int modulo(int x) {
-        if (x < 0) x = -x;
-
-        int mod = 0;
-
-        for (int i = digits.size() - 1; i >= 0; i--) {
-            mod = (digits.get(i) + mod * BASE) % x;
-        }
-
-        return mod;
+        return (int) MutableLarge.modulo(digits.limbs, digits.size(), Math.abs((long) x));
     }
 
     /**
@@ -541,19 +529,203 @@ public class Large implements Comparable<Large>, Cloneable {
         if (n == 0) return new Large("1");
         if (n == 1) return this;
 
-        // result large value
-        Large result = new Large("1");
-        Large current = this.clone();
+        // result and current square are accumulated in place, swapping buffers with a spare one
+        MutableLarge result = new MutableLarge().set(1);
+        MutableLarge current = new MutableLarge(this);
+        MutableLarge spare = new MutableLarge();
+        MutableLarge swap;
+
+        final boolean isNegative = this.isNegative && (n & 1) == 1;
 
         while (n > 0) {
             if ((n & 1) == 1) {
-                result = result.multiply(current);
+                spare.multiply(result, current);
+                swap = result; result = spare; spare = swap;
             }
-            current = current.multiply(current);
             n >>= 1;
+            if (n > 0) {
+                spare.square(current);
+                swap = current; current = spare; spare = swap;
+            }
         }
 
-        return result;
+        return new Large(result, isNegative);
+    }
+
+    /**
+     * Provides modular power operation, by sliding window over bits of exponent.
+     *
+     * @param exponent a non-negative power value.
+     * @param modulus  a positive modulus.
+     * @return <i>this<sup>exponent</sup> mod modulus</i>, in range <i>[0, modulus)</i>.
+     * @throws ArithmeticException if exponent is negative or modulus is not positive.
+     */
+    public Large modPow(final Large exponent, final Large modulus) {
+        if (modulus.sign() <= 0) throw new ArithmeticException("Non-positive modulus");
+        if (exponent.sign() < 0) throw new ArithmeticException("Negative exponent");
+
+        return Exponentiation.modPow(this, exponent, modulus);
+    }
+
+    /**
+     * Provides product of modular powers, such as <i>g<sup>a</sup>y<sup>b</sup> mod p</i> of signature verification.
+     * Windows of all the exponents are interleaved over a single chain of squarings, so the product
+     * costs about as many squarings as the longest power.
+     *
+     * @param bases     any numbers.
+     * @param exponents non-negative power values, one for every base.
+     * @param modulus   a positive modulus.
+     * @return <i>&prod; bases[i]<sup>exponents[i]</sup> mod modulus</i>, in range <i>[0, modulus)</i>.
+     * @throws ArithmeticException if an exponent is negative or modulus is not positive.
+     * @throws IllegalArgumentException if number of exponents differs from number of bases.
+     */
+    public static Large modPow(final Large[] bases, final Large[] exponents, final Large modulus) {
+        if (bases.length != exponents.length) throw new IllegalArgumentException("Number of exponents differs from number of bases");
+        if (modulus.sign() <= 0) throw new ArithmeticException("Non-positive modulus");
+        for (Large exponent : exponents) {
+            if (exponent.sign() < 0) throw new ArithmeticException("Negative exponent");
+        }
+
+        return Exponentiation.modPow(bases, exponents, modulus);
+    }
+
+    /**
+     * Provides greatest common divisor operation, by Lehmer's algorithm and half-GCD for long numbers.
+     *
+     * @param other a large number.
+     * @return non-negative greatest common divisor, zero if both numbers are zero.
+     */
+    public Large gcd(final Large other) {
+        return Gcd.gcd(this, other);
+    }
+
+    /**
+     * Provides extended greatest common divisor operation.
+     * Finds <i>g = gcd(this, other)</i> and cofactors <i>x</i>, <i>y</i> such that <i>this * x + other * y = g</i>,
+     * <i>x</i> is the least non-negative one if other is not zero.
+     *
+     * @param other a large number.
+     * @return the greatest common divisor and pair of cofactors <i>x</i>, <i>y</i>.
+     */
+    public Zip<Large, Zip<Large, Large>> extendedGcd(final Large other) {
+        return Gcd.extendedGcd(this, other);
+    }
+
+    /**
+     * Provides modular inverse operation.
+     *
+     * @param modulus a positive modulus.
+     * @return <i>this<sup>-1</sup> mod modulus</i>, in range <i>[0, modulus)</i>.
+     * @throws ArithmeticException if modulus is not positive or the number is not invertible.
+     */
+    public Large modInverse(final Large modulus) {
+        if (modulus.sign() <= 0) throw new ArithmeticException("Non-positive modulus");
+
+        return Gcd.modInverse(this, modulus);
+    }
+
+    /**
+     * Provides modular inverse operation of many numbers by Montgomery's simultaneous inversion:
+     * a single extended GCD and three multiplications per number.
+     * Numbers which are not invertible don't abort the batch, their inverses are <code>null</code>.
+     *
+     * @param values  any numbers.
+     * @param modulus a positive modulus.
+     * @return <i>values[i]<sup>-1</sup> mod modulus</i>, in range <i>[0, modulus)</i>,
+     * or <code>null</code> if the number is not invertible.
+     * @throws ArithmeticException if modulus is not positive.
+     */
+    public static Large[] batchInverse(final Large[] values, final Large modulus) {
+        return batchInverse(values, modulus, null);
+    }
+
+    /**
+     * Provides modular inverse operation of many numbers by Montgomery's simultaneous inversion,
+     * in parallel chunks with an extended GCD each.
+     * Numbers which are not invertible don't abort the batch, their inverses are <code>null</code>.
+     *
+     * @param values  any numbers.
+     * @param modulus a positive modulus.
+     * @param pool    a pool for chunks, could be <code>null</code> for sequential computation.
+     * @return <i>values[i]<sup>-1</sup> mod modulus</i>, in range <i>[0, modulus)</i>,
+     * or <code>null</code> if the number is not invertible.
+     * @throws ArithmeticException if modulus is not positive.
+     */
+    public static Large[] batchInverse(final Large[] values, final Large modulus, final ForkJoinPool pool) {
+        if (modulus.sign() <= 0) throw new ArithmeticException("Non-positive modulus");
+
+        return BatchInversion.modInverse(values, modulus, pool);
+    }
+
+    /**
+     * Provides in-place modular inverse operation of many residues by Montgomery's simultaneous inversion.
+     * Residues are given by coefficients of 32 bits, from the least significant one, in caller-owned buffers
+     * of as many coefficients as modulus has; every buffer is replaced by the inverse.
+     * Residues which are not invertible don't abort the batch, they are flagged and left unchanged.
+     *
+     * @param limbs   distinct buffers of residues less than modulus.
+     * @param modulus a positive modulus.
+     * @param failed  flags of residues which are not invertible, one for every buffer.
+     * @throws ArithmeticException if modulus is not positive.
+     * @throws IllegalArgumentException if a buffer differs in length from modulus, a residue is not less than modulus
+     * or number of flags differs from number of buffers.
+     */
+    public static void batchInverse(final int[][] limbs, final Large modulus, final boolean[] failed) {
+        batchInverse(limbs, modulus, failed, null);
+    }
+
+    /**
+     * Provides in-place modular inverse operation of many residues by Montgomery's simultaneous inversion,
+     * in parallel chunks with an extended GCD each, see {@link #batchInverse(int[][], Large, boolean[])}.
+     *
+     * @param limbs   distinct buffers of residues less than modulus.
+     * @param modulus a positive modulus.
+     * @param failed  flags of residues which are not invertible, one for every buffer.
+     * @param pool    a pool for chunks, could be <code>null</code> for sequential computation.
+     * @throws ArithmeticException if modulus is not positive.
+     * @throws IllegalArgumentException if a buffer differs in length from modulus, a residue is not less than modulus
+     * or number of flags differs from number of buffers.
+     */
+    public static void batchInverse(final int[][] limbs, final Large modulus, final boolean[] failed,
+                                    final ForkJoinPool pool) {
+        if (modulus.sign() <= 0) throw new ArithmeticException("Non-positive modulus");
+        if (failed.length != limbs.length) throw new IllegalArgumentException("Number of flags differs from number of buffers");
+
+        final int n = modulus.digits.size();
+        for (int[] x : limbs) {
+            if (x.length != n) throw new IllegalArgumentException("Buffer differs in length from modulus");
+            if (MutableLarge.compare(x, n, modulus.digits.limbs, n) >= 0) throw new IllegalArgumentException("Residue is not less than modulus");
+        }
+
+        Arrays.fill(failed, false);
+        if (modulus.bitLength() == 1) {
+            for (int[] x : limbs) Arrays.fill(x, 0);
+            return;
+        }
+
+        BatchInversion.invert(limbs, modulus, failed, pool);
+    }
+
+    /**
+     * Checks whether absolute value of the number is probably prime. Small factors are sieved out,
+     * then Miller-Rabin test is done with the number of rounds following bit length.
+     *
+     * @return <code>false</code> if the number is composite, <code>true</code> if it's probably prime.
+     */
+    public boolean isProbablePrime() {
+        return Primality.isProbablePrime(this, false);
+    }
+
+    /**
+     * Checks whether absolute value of the number is probably prime. Small factors are sieved out, then
+     * either Baillie-PSW test is done, a Miller-Rabin round to base 2 and a strong Lucas test,
+     * or Miller-Rabin test with the number of rounds following bit length.
+     *
+     * @param lucas whether Baillie-PSW test is done.
+     * @return <code>false</code> if the number is composite, <code>true</code> if it's probably prime.
+     */
+    public boolean isProbablePrime(boolean lucas) {
+        return Primality.isProbablePrime(this, lucas);
     }
 
     @Override
@@ -574,60 +746,117 @@ public class Large implements Comparable<Large>, Cloneable {
         }
 
         // compare numbers by items in case sizes and signs are equal
-        for (int i = digits.size() - 1; i >= 0; i--) {
-            if (digits.get(i) > other.digits.get(i)) return 1;
-            if (digits.get(i) < other.digits.get(i)) return -1;
-        }
-
-        return 0;
+        final int cmp = compareMagnitude(digits, other.digits);
+        return isNegative ? -cmp : cmp;
     }
 
 
     /**
      * Represents a large number in pretty-format.
+     * Decimal representation is computed once and cached.
      *
      * @return string representation of a large number.
      */
     @Override
     public String toString() {
-        if (sign() == 0) return "0";
+        if (decimal == null) decimal = Radix.toString(this);
+        return decimal;
+    }
 
-        StringBuilder s = new StringBuilder();
-        if (isNegative) s.append("-");
+    /**
+     * Helper method. Returns a read-only view of number's absolute value, sharing the coefficients.
+     *
+     * @return the absolute value as an accumulator, which must not be modified.
+     */
+    MutableLarge magnitude() {
+        return new MutableLarge(digits.limbs, digits.size());
+    }
 
-        int i = digits.size() - 1;
-        s.append(digits.get(i));
+    /**
+     * Helper method. Adds magnitudes of two numbers.
+     *
+     * @param x first addend
+     * @param y second addend
+     * @return coefficients of <i>|x| + |y|</i>
+     */
+    private static Digits addMagnitude(final Digits x, final Digits y) {
+        final int n = Math.max(x.size(), y.size());
+        final int[] r = new int[n + 1];
+
+        long sum = 0;   // < 2 * BASE
 
-        final String pattern = "%0"+PACK+"d";
+        for (int i = 0; i < n; i++) {
+            sum += (x.get(i) & MASK) + (y.get(i) & MASK);
 
-        for (i--; i >= 0; i--) {
-            s.append(String.format(pattern, digits.get(i)));
+            r[i] = (int) sum;
+            sum >>>= 32;
         }
+        r[n] = (int) sum;
 
-        return s.toString();
+        return new Digits(r, r.length);
     }
 
+    /**
+     * Helper method. Subtracts magnitudes of two numbers, where <i>|x| &ge; |y|</i>.
+     *
+     * @param x minuend
+     * @param y subtrahend
+     * @return coefficients of <i>|x| - |y|</i>
+     */
+    private static Digits subtractMagnitude(final Digits x, final Digits y) {
+        final int n = x.size();
+        final int[] r = new int[n];
+
+        long diff = 0;
+
+        for (int i = 0; i < n; i++) {
+            diff += (x.get(i) & MASK) - (y.get(i) & MASK);
+
+            r[i] = (int) diff;
+            diff >>= 32;    // 0 or -1, the borrow
+        }
+
+        return new Digits(r, r.length);
+    }
 
     /**
-     * Helper method. Splits number <i>x</i> into two separate numbers <i>(low, high)</i>, as follows:<br>
-     *      x = high * BASE<sup>index</sup> + low
+     * Helper method. Multiplies magnitude of a number by an unsigned coefficient.
      *
-     * @param index point on splitting.
-     * @return a pair (an {@link Zip}) of numbers
+     * @param x multiplicand
+     * @param y unsigned multiplier, less than BASE
+     * @return coefficients of <i>|x| * y</i>
      */
-    private Zip<Large,Large> split(int index) {
-        return new Zip<>(
-                new Large(digits.subList(0, index)),              // low part
-                new Large(digits.subList(index, digits.size()))   // high part
-        );
+    private static Digits multiplyMagnitude(final Digits x, long y) {
+        final int n = x.size();
+        final int[] a = x.limbs;
+        final int[] r = new int[n + 1];
+
+        long carry = 0;
+
+        for (int i = 0; i < n; i++) {
+            carry += (a[i] & MASK) * y;
+
+            r[i] = (int) carry;
+            carry >>>= 32;
+        }
+        r[n] = (int) carry;
+
+        return new Digits(r, r.length);
     }
 
     /**
-     * Helper method. Determines if Large number is "small" i.e. < BASE.
+     * Helper method. Compares magnitudes of two numbers.
      *
-     * @return <code>true</code> if number is small, <code>false</code> otherwise.
+     * @param x first number
+     * @param y second number
+     * @return -1, 0 or 1 as <i>|x|</i> is less than, equal to, or greater than <i>|y|</i>
      */
-    private boolean isSmall() {
-        return digits.size() == 1 || digits.isEmpty();
+    private static int compareMagnitude(final Digits x, final Digits y) {
+        for (int i = Math.max(x.size(), y.size()) - 1; i >= 0; i--) {
+            final int cmp = Integer.compareUnsigned(x.get(i), y.get(i));
+            if (cmp != 0) return cmp;
+        }
+
+        return 0;
     }
 }
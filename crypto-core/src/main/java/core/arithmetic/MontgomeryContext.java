@@ -0,0 +1,335 @@
+package core.arithmetic;
+
+import java.util.Arrays;
+
+/**
+ * Montgomery modular multiplication for a fixed odd modulus <i>N</i> of <i>n</i> coefficients.
+ * <p>
+ * A residue <i>x</i> is represented by <i>xR mod N</i>, where <i>R = BASE<sup>n</sup></i>.
+ * Product of representations is reduced by <i>R<sup>-1</sup></i> without any division:
+ * multiples of <i>N</i> clearing the lowest coefficients are added, then the number is shifted.
+ * Short operands are multiplied and reduced interleaved, coefficient by coefficient (CIOS),
+ * longer ones are multiplied or squared by {@link Multiplication} and reduced afterwards.
+ * <p>
+ * The context is immutable and could be shared between threads, the operations on
+ * coefficients take caller-owned buffers.
+ *
+ * @author vadym
+ * @since 17.10.26 14:35
+ * @see <a href="http://en.wikipedia.org/wiki/Montgomery_modular_multiplication">Montgomery modular multiplication</a>
+ */
+public final class MontgomeryContext {
+    /**
+     * Mask for reading a coefficient as unsigned value.
+     */
+    private static final long MASK = Large.MASK;
+
+    /**
+     * Number of coefficients of modulus from which operands are multiplied first and reduced afterwards.
+     */
+    static final int SEPARATED_THRESHOLD = 32;
+
+    private final Large modulus;
+    /**
+     * Coefficients of the modulus.
+     */
+    private final int[] m;
+    /**
+     * Number of coefficients of the modulus.
+     */
+    private final int n;
+    /**
+     * <i>-N<sup>-1</sup> mod BASE</i>.
+     */
+    private final int inverse;
+    /**
+     * <i>R<sup>2</sup> mod N</i>, the representation of <i>R</i>.
+     */
+    private final int[] r2;
+
+
+    /**
+     * Creates a context for the modulus.
+     *
+     * @param modulus an odd modulus greater than one.
+     * @throws IllegalArgumentException if modulus is even or not greater than one.
+     */
+    public MontgomeryContext(final Large modulus) {
+        if (modulus.sign() <= 0 || !modulus.testBit(0) || modulus.bitLength() < 2) {
+            throw new IllegalArgumentException("Modulus must be odd and greater than one");
+        }
+
+        this.modulus = modulus;
+        this.n = modulus.digits.size();
+        this.m = Arrays.copyOf(modulus.digits.limbs, n);
+
+        int inv = m[0];         // inverse of odd coefficient modulo 2^32 by Newton iteration
+        for (int i = 0; i < 5; i++) inv *= 2 - m[0] * inv;
+        this.inverse = -inv;
+
+        final MutableLarge r = new MutableLarge(2 * n + 1).set(1).shiftLeft(64 * n).reduce(modulus.magnitude());
+        this.r2 = coefficients(r);
+    }
+
+
+    /**
+     * Returns the modulus of this context.
+     *
+     * @return the modulus.
+     */
+    public Large modulus() {
+        return modulus;
+    }
+
+    /**
+     * Converts a number into Montgomery representation.
+     *
+     * @param x any number.
+     * @return <i>xR mod N</i>.
+     */
+    public Large toMontgomery(final Large x) {
+        final int[] r = new int[n];
+        toMontgomery(reduce(x), r, scratch());
+        return large(r);
+    }
+
+    /**
+     * Converts a number from Montgomery representation.
+     *
+     * @param x a representation, less than modulus.
+     * @return <i>xR<sup>-1</sup> mod N</i>.
+     */
+    public Large fromMontgomery(final Large x) {
+        final int[] r = new int[n];
+        fromMontgomery(element(x), r, scratch());
+        return large(r);
+    }
+
+    /**
+     * Multiplies numbers in Montgomery representation.
+     *
+     * @param x first representation, less than modulus.
+     * @param y second representation, less than modulus.
+     * @return <i>xyR<sup>-1</sup> mod N</i>, the representation of the product.
+     */
+    public Large multiply(final Large x, final Large y) {
+        final int[] r = new int[n];
+        multiply(element(x), element(y), r, scratch());
+        return large(r);
+    }
+
+    /**
+     * Squares a number in Montgomery representation.
+     *
+     * @param x a representation, less than modulus.
+     * @return <i>x<sup>2</sup>R<sup>-1</sup> mod N</i>, the representation of the square.
+     */
+    public Large square(final Large x) {
+        final int[] r = new int[n];
+        square(element(x), r, scratch());
+        return large(r);
+    }
+
+    /**
+     * Provides modular power operation with this modulus.
+     *
+     * @param base     any number.
+     * @param exponent a non-negative power value.
+     * @return <i>base<sup>exponent</sup> mod N</i>, not in Montgomery representation.
+     * @throws ArithmeticException if exponent is negative.
+     */
+    public Large modPow(final Large base, final Large exponent) {
+        if (exponent.sign() < 0) throw new ArithmeticException("Negative exponent");
+
+        return Exponentiation.modPow(base, exponent, this);
+    }
+
+
+    /**
+     * Returns number of coefficients of representations.
+     */
+    int size() {
+        return n;
+    }
+
+    /**
+     * Returns a new scratch buffer for operations on coefficients.
+     */
+    int[] scratch() {
+        return new int[2 * n + 2 + Multiplication.scratchSize(n)];
+    }
+
+    /**
+     * Converts a residue into Montgomery representation.
+     *
+     * @param x coefficients of a number less than modulus, <i>n</i> or less.
+     * @param r <i>n</i> coefficients of representation.
+     * @param s scratch buffer.
+     */
+    void toMontgomery(final int[] x, final int[] r, final int[] s) {
+        multiply(x, r2, r, s);
+    }
+
+    /**
+     * Converts a representation into a residue.
+     */
+    void fromMontgomery(final int[] x, final int[] r, final int[] s) {
+        Arrays.fill(s, n, 2 * n, 0);
+        System.arraycopy(x, 0, s, 0, n);
+        reduce(s, r);
+    }
+
+    /**
+     * Computes <i>xyR<sup>-1</sup> mod N</i> on <i>n</i> coefficients, <i>r</i> could be an operand.
+     */
+    void multiply(final int[] x, final int[] y, final int[] r, final int[] s) {
+        if (x == y) {
+            square(x, r, s);
+        } else if (n < SEPARATED_THRESHOLD) {
+            interleaved(x, y, r, s);
+        } else {
+            Multiplication.multiply(x, 0, n, y, 0, n, s, 0, s, 2 * n + 2);
+            reduce(s, r);
+        }
+    }
+
+    /**
+     * Computes <i>x<sup>2</sup>R<sup>-1</sup> mod N</i> on <i>n</i> coefficients, <i>r</i> could be the operand.
+     */
+    void square(final int[] x, final int[] r, final int[] s) {
+        Multiplication.square(x, 0, n, s, 0, s, 2 * n + 2);
+        reduce(s, r);
+    }
+
+
+    /**
+     * Helper method. Coarsely integrated operand scanning: every coefficient of <i>y</i> is
+     * multiplied in and then the lowest coefficient is cleared by a multiple of modulus.
+     */
+    private void interleaved(final int[] x, final int[] y, final int[] r, final int[] t) {
+        final int[] m = this.m;
+        final int n = this.n;
+
+        Arrays.fill(t, 0, n + 2, 0);
+        final long m0 = m[0] & MASK;
+
+        for (int i = 0; i < n; i++) {
+            final long yi = y[i] & MASK;
+            long carry = 0;
+
+            for (int j = 0; j < n; j++) {
+                carry += (x[j] & MASK) * yi + (t[j] & MASK);
+                t[j] = (int) carry;
+                carry >>>= 32;
+            }
+            carry += t[n] & MASK;
+            t[n] = (int) carry;
+            t[n + 1] = (int) (carry >>> 32);
+
+            // t + q * N is divisible by BASE, shift it while adding
+            final long q = (t[0] * inverse) & MASK;
+            carry = (q * m0 + (t[0] & MASK)) >>> 32;
+
+            for (int j = 1; j < n; j++) {
+                carry += q * (m[j] & MASK) + (t[j] & MASK);
+                t[j - 1] = (int) carry;
+                carry >>>= 32;
+            }
+            carry += t[n] & MASK;
+            t[n - 1] = (int) carry;
+            t[n] = t[n + 1] + (int) (carry >>> 32);
+        }
+
+        subtract(t, 0, r);
+    }
+
+    /**
+     * Helper method. Montgomery reduction of <i>2n</i> coefficients of <i>t &lt; RN</i>, destroys them.
+     */
+    private void reduce(final int[] t, final int[] r) {
+        final int[] m = this.m;
+        final int n = this.n;
+
+        // carry out of the row into coefficient i + n + 1, 0 or 1
+        long top = 0;
+
+        for (int i = 0; i < n; i++) {
+            final long q = (t[i] * inverse) & MASK;
+            long carry = 0;
+
+            for (int j = 0; j < n; j++) {
+                carry += q * (m[j] & MASK) + (t[i + j] & MASK);
+                t[i + j] = (int) carry;
+                carry >>>= 32;
+            }
+
+            carry += (t[i + n] & MASK) + top;
+            t[i + n] = (int) carry;
+            top = carry >>> 32;
+        }
+        t[2 * n] = (int) top;
+
+        subtract(t, n, r);
+    }
+
+    /**
+     * Helper method. Writes <i>n + 1</i> coefficients of <i>t</i> from <i>off</i>,
+     * less than <i>2N</i>, reduced to be less than <i>N</i>.
+     */
+    private void subtract(final int[] t, int off, final int[] r) {
+        boolean less = t[off + n] == 0;
+        if (less) {
+            int i = n - 1;
+            while (i >= 0 && t[off + i] == m[i]) i--;
+            less = i >= 0 && Integer.compareUnsigned(t[off + i], m[i]) < 0;
+        }
+
+        if (less) {
+            System.arraycopy(t, off, r, 0, n);
+            return;
+        }
+
+        long diff = 0;
+        for (int i = 0; i < n; i++) {
+            diff += (t[off + i] & MASK) - (m[i] & MASK);
+            r[i] = (int) diff;
+            diff >>= 32;
+        }
+    }
+
+    /**
+     * Helper method. Returns coefficients of a number reduced modulo <i>N</i>, negative numbers included.
+     */
+    int[] reduce(final Large x) {
+        final MutableLarge reduced = new MutableLarge(x).reduce(modulus.magnitude());
+        if (x.sign() < 0 && !reduced.isZero()) reduced.set(new MutableLarge(modulus.magnitude()).subtract(reduced));
+        return coefficients(reduced);
+    }
+
+    /**
+     * Helper method. Returns coefficients of a representation, checking its range.
+     */
+    private int[] element(final Large x) {
+        if (x.sign() < 0 || x.compareTo(modulus) >= 0) throw new IllegalArgumentException("Representation is out of range");
+
+        final int[] r = new int[n];
+        System.arraycopy(x.digits.limbs, 0, r, 0, Math.min(n, x.digits.size()));
+        return r;
+    }
+
+    /**
+     * Helper method. Returns <i>n</i> coefficients of a number less than modulus.
+     */
+    private int[] coefficients(final MutableLarge x) {
+        final int[] r = new int[n];
+        System.arraycopy(x.value, 0, r, 0, x.length);
+        return r;
+    }
+
+    /**
+     * Helper method. Wraps coefficients into a number.
+     */
+    private static Large large(final int[] r) {
+        return new Large(new Digits(r, r.length), false);
+    }
+}
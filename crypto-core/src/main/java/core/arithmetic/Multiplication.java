@@ -0,0 +1,411 @@
+package core.arithmetic;
+
+import java.util.Arrays;
+
+/**
+ * Multiplication kernels on coefficient arrays in base 2<sup>32</sup>.
+ * <p>
+ * Operands are views <i>(array, offset, length)</i> into arrays, products are written into
+ * a caller-owned region of exactly <i>alen + blen</i> coefficients. Recursive algorithms take
+ * their temporaries from a single scratch buffer allocated once per top-level call.
+ * Algorithm is chosen by the size of the shorter operand. Squares are recognized by
+ * equal views of operands and take dedicated squaring algorithms.
+ *
+ * @author vadym
+ * @since 17.10.26 14:11
+ */
+final class Multiplication {
+    /**
+     * Mask for reading a coefficient as unsigned value.
+     */
+    private static final long MASK = Large.MASK;
+
+    /**
+     * Number of coefficients of the shorter operand from which Karatsuba algorithm is used.
+     * Below it the schoolbook algorithm is faster.
+     */
+    static final int KARATSUBA_THRESHOLD = 40;
+    /**
+     * Number of coefficients from which Karatsuba squaring is used.
+     * Schoolbook squaring does half of products, so it pays off longer.
+     */
+    static final int KARATSUBA_SQUARE_THRESHOLD = 64;
+    /**
+     * Number of coefficients of the shorter operand from which Toom-3 algorithm is used.
+     */
+    static final int TOOM3_THRESHOLD = 320;
+    /**
+     * Number of coefficients of the shorter operand from which Toom-4 algorithm is used.
+     */
+    static final int TOOM4_THRESHOLD = 1200;
+    /**
+     * Number of coefficients of the shorter operand from which multiplication by transforms is used.
+     */
+    static final int NTT_THRESHOLD = 4000;
+
+
+    private Multiplication() {
+    }
+
+
+    /**
+     * Multiplies two numbers choosing the algorithm by their sizes.
+     *
+     * @param r buffer of at least <i>alen + blen</i> coefficients for the product, differs from operands.
+     */
+    static void multiply(final int[] a, int alen, final int[] b, int blen, final int[] r) {
+        multiply(a, 0, alen, b, 0, blen, r, 0);
+    }
+
+    /**
+     * Squares a number choosing the algorithm by its size.
+     *
+     * @param r buffer of at least <i>2 * alen</i> coefficients for the square, differs from operand.
+     */
+    static void square(final int[] a, int alen, final int[] r) {
+        square(a, 0, alen, r, 0);
+    }
+
+    /**
+     * Multiplies views of numbers, allocating the scratch buffer if the algorithm needs it.
+     * Writes exactly <i>alen + blen</i> coefficients of the product.
+     */
+    static void multiply(final int[] a, int aoff, int alen,
+                         final int[] b, int boff, int blen,
+                         final int[] r, int roff) {
+        if (a == b && aoff == boff && alen == blen) {
+            square(a, aoff, alen, r, roff);
+            return;
+        }
+
+        final int n = Math.max(alen, blen);
+        final int m = Math.min(alen, blen);
+
+        // Toom-Cook and transform algorithms allocate their temporaries themselves
+        final boolean karatsuba = m >= KARATSUBA_THRESHOLD && (m < TOOM3_THRESHOLD || m <= (n + 1) >>> 1);
+        final int[] scratch = karatsuba ? new int[scratchSize(n)] : null;
+
+        multiply(a, aoff, alen, b, boff, blen, r, roff, scratch, 0);
+    }
+
+    /**
+     * Squares a view of number, allocating the scratch buffer if the algorithm needs it.
+     * Writes exactly <i>2 * alen</i> coefficients of the square.
+     */
+    static void square(final int[] a, int aoff, int alen, final int[] r, int roff) {
+        final boolean karatsuba = alen >= KARATSUBA_SQUARE_THRESHOLD && alen < TOOM3_THRESHOLD;
+        final int[] scratch = karatsuba ? new int[scratchSize(alen)] : null;
+
+        square(a, aoff, alen, r, roff, scratch, 0);
+    }
+
+
+    /**
+     * Helper method. Multiplies views of numbers choosing the algorithm by their sizes.
+     * Writes exactly <i>alen + blen</i> coefficients of the product.
+     *
+     * @param s scratch buffer, at least {@link #scratchSize(int)} coefficients from <i>soff</i>
+     *          for the longer operand.
+     */
+    static void multiply(final int[] a, int aoff, int alen,
+                         final int[] b, int boff, int blen,
+                         final int[] r, int roff,
+                         final int[] s, int soff) {
+        if (a == b && aoff == boff && alen == blen) {
+            square(a, aoff, alen, r, roff, s, soff);
+            return;
+        }
+
+        // the first operand is the longer one
+        if (alen < blen) {
+            multiply(b, boff, blen, a, aoff, alen, r, roff, s, soff);
+            return;
+        }
+
+        if (blen < KARATSUBA_THRESHOLD) {
+            schoolbook(a, aoff, alen, b, boff, blen, r, roff);
+        } else if (blen <= (alen + 1) >>> 1) {
+            chunked(a, aoff, alen, b, boff, blen, r, roff, s, soff);
+        } else if (blen < TOOM3_THRESHOLD) {
+            karatsuba(a, aoff, alen, b, boff, blen, r, roff, s, soff);
+        } else if (blen < TOOM4_THRESHOLD) {
+            ToomCook.multiply3(a, aoff, alen, b, boff, blen, r, roff);
+        } else if (blen >= NTT_THRESHOLD && Ntt.fits(alen, blen)) {
+            Ntt.multiply(a, aoff, alen, b, boff, blen, r, roff, false);
+        } else {
+            ToomCook.multiply4(a, aoff, alen, b, boff, blen, r, roff);
+        }
+    }
+
+    /**
+     * Helper method. Squares a view of number choosing the algorithm by its size.
+     * Writes exactly <i>2 * alen</i> coefficients of the square.
+     *
+     * @param s scratch buffer, at least {@link #scratchSize(int)} coefficients from <i>soff</i>.
+     */
+    static void square(final int[] a, int aoff, int alen,
+                       final int[] r, int roff,
+                       final int[] s, int soff) {
+        if (alen < KARATSUBA_SQUARE_THRESHOLD) {
+            schoolbookSquare(a, aoff, alen, r, roff);
+        } else if (alen < TOOM3_THRESHOLD) {
+            karatsubaSquare(a, aoff, alen, r, roff, s, soff);
+        } else if (alen < TOOM4_THRESHOLD) {
+            ToomCook.multiply3(a, aoff, alen, a, aoff, alen, r, roff);
+        } else if (alen >= NTT_THRESHOLD && Ntt.fits(alen, alen)) {
+            Ntt.multiply(a, aoff, alen, a, aoff, alen, r, roff, false);
+        } else {
+            ToomCook.multiply4(a, aoff, alen, a, aoff, alen, r, roff);
+        }
+    }
+
+    /**
+     * Helper method. Returns size of scratch buffer enough to multiply operands not longer than <i>n</i>.
+     *
+     * @param n length of the longer operand.
+     * @return number of scratch coefficients.
+     */
+    static int scratchSize(int n) {
+        int size = 0;
+
+        while (n >= KARATSUBA_THRESHOLD) {
+            final int h = ((n + 1) >>> 1) + 1;
+            size += 4 * h;
+            n = h;
+        }
+
+        return size;
+    }
+
+
+    /**
+     * Helper method. Schoolbook multiplication, Knuth's algorithm M.
+     * The complexity of computation is &Theta;(n*m).
+     */
+    static void schoolbook(final int[] a, int aoff, int alen,
+                           final int[] b, int boff, int blen,
+                           final int[] r, int roff) {
+        Arrays.fill(r, roff, roff + alen + blen, 0);
+
+        for (int i = 0; i < blen; i++) {
+            final long bi = b[boff + i] & MASK;
+            if (bi == 0) continue;
+
+            long carry = 0;     // bi * a[j] + r[i+j] + carry < BASE^2
+            int k = roff + i;
+
+            for (int j = aoff; j < aoff + alen; j++, k++) {
+                carry += bi * (a[j] & MASK) + (r[k] & MASK);
+                r[k] = (int) carry;
+                carry >>>= 32;
+            }
+            r[k] = (int) carry;
+        }
+    }
+
+    /**
+     * Helper method. Schoolbook squaring, every product <i>a<sub>i</sub>a<sub>j</sub></i>
+     * with <i>i &lt; j</i> is computed once and doubled, then squares of coefficients are added.
+     * Takes about a half of products of the multiplication.
+     */
+    static void schoolbookSquare(final int[] a, int aoff, int alen, final int[] r, int roff) {
+        final int length = 2 * alen;
+        Arrays.fill(r, roff, roff + length, 0);
+
+        // products under the diagonal
+        for (int i = 0; i < alen - 1; i++) {
+            final long ai = a[aoff + i] & MASK;
+            if (ai == 0) continue;
+
+            long carry = 0;
+            int k = roff + 2 * i + 1;
+
+            for (int j = aoff + i + 1; j < aoff + alen; j++, k++) {
+                carry += ai * (a[j] & MASK) + (r[k] & MASK);
+                r[k] = (int) carry;
+                carry >>>= 32;
+            }
+            r[k] = (int) carry;
+        }
+
+        // doubled, it is less than a half of the square and does not overflow
+        int previous = 0;
+        for (int k = roff; k < roff + length; k++) {
+            final int current = r[k];
+            r[k] = (current << 1) | (previous >>> 31);
+            previous = current;
+        }
+
+        // plus the diagonal
+        long carry = 0;
+        for (int i = 0, k = roff; i < alen; i++, k += 2) {
+            final long ai = a[aoff + i] & MASK;
+            final long product = ai * ai;
+
+            carry += (r[k] & MASK) + (product & MASK);
+            r[k] = (int) carry;
+            carry >>>= 32;
+
+            carry += (r[k + 1] & MASK) + (product >>> 32);
+            r[k + 1] = (int) carry;
+            carry >>>= 32;
+        }
+    }
+
+    /**
+     * Helper method. Karatsuba squaring, all three products are squares:<br>
+     *      <i>z<sub>0</sub> = a<sub>0</sub><sup>2</sup></i>,
+     *      <i>z<sub>2</sub> = a<sub>1</sub><sup>2</sup></i>,
+     *      <i>z<sub>1</sub> = (a<sub>0</sub> + a<sub>1</sub>)<sup>2</sup> - z<sub>0</sub> - z<sub>2</sub></i>
+     */
+    private static void karatsubaSquare(final int[] a, int aoff, int alen,
+                                        final int[] r, int roff,
+                                        final int[] s, int soff) {
+        final int h = (alen + 1) >>> 1;
+        final int a1 = alen - h;
+
+        square(a, aoff, h, r, roff, s, soff);
+        square(a, aoff + h, a1, r, roff + 2 * h, s, soff);
+
+        // (a0 + a1), h + 1 coefficients, then its square z1
+        final int sa = soff;
+        final int z1 = sa + h + 1;
+
+        add(a, aoff, h, a, aoff + h, a1, s, sa);
+        square(s, sa, h + 1, s, z1, s, z1 + 2 * h + 2);
+
+        subtract(s, z1, 2 * h + 2, r, roff, 2 * h);
+        subtract(s, z1, 2 * h + 2, r, roff + 2 * h, 2 * a1);
+
+        add(r, roff + h, 2 * alen - h, s, z1, Math.min(2 * h + 2, 2 * alen - h));
+    }
+
+    /**
+     * Helper method. Implementation of Karatsuba multiplication algorithm,
+     * where <i>alen &ge; blen &gt; &lceil;alen / 2&rceil;</i>.
+     * The complexity of computation is &Theta;(n<sup>log₂3</sup>).
+     * <p>
+     * With <i>a = a<sub>1</sub> * BASE<sup>h</sup> + a<sub>0</sub></i> and
+     * <i>b = b<sub>1</sub> * BASE<sup>h</sup> + b<sub>0</sub></i>:<br>
+     *      <i>z<sub>0</sub> = a<sub>0</sub>b<sub>0</sub></i>,
+     *      <i>z<sub>2</sub> = a<sub>1</sub>b<sub>1</sub></i>,
+     *      <i>z<sub>1</sub> = (a<sub>0</sub> + a<sub>1</sub>)(b<sub>0</sub> + b<sub>1</sub>) - z<sub>0</sub> - z<sub>2</sub></i>,<br>
+     *      <i>a * b = z<sub>2</sub> * BASE<sup>2h</sup> + z<sub>1</sub> * BASE<sup>h</sup> + z<sub>0</sub></i>
+     *
+     * @see <a href="http://en.wikipedia.org/wiki/Karatsuba_algorithm">Karatsuba algorithm</a>
+     */
+    private static void karatsuba(final int[] a, int aoff, int alen,
+                                  final int[] b, int boff, int blen,
+                                  final int[] r, int roff,
+                                  final int[] s, int soff) {
+        final int h = (alen + 1) >>> 1;
+        final int a1 = alen - h;
+        final int b1 = blen - h;
+
+        // z0 and z2 are written directly into their places of the product
+        multiply(a, aoff, h, b, boff, h, r, roff, s, soff);
+        multiply(a, aoff + h, a1, b, boff + h, b1, r, roff + 2 * h, s, soff);
+
+        // (a0 + a1) and (b0 + b1), h + 1 coefficients each, then their product z1
+        final int sa = soff;
+        final int sb = sa + h + 1;
+        final int z1 = sb + h + 1;
+
+        add(a, aoff, h, a, aoff + h, a1, s, sa);
+        add(b, boff, h, b, boff + h, b1, s, sb);
+        multiply(s, sa, h + 1, s, sb, h + 1, s, z1, s, z1 + 2 * h + 2);
+
+        subtract(s, z1, 2 * h + 2, r, roff, 2 * h);
+        subtract(s, z1, 2 * h + 2, r, roff + 2 * h, a1 + b1);
+
+        // a * b = z2 * BASE^2h + z1 * BASE^h + z0
+        add(r, roff + h, alen + blen - h, s, z1, Math.min(2 * h + 2, alen + blen - h));
+    }
+
+    /**
+     * Helper method. Multiplies long operand by short one chunk by chunk,
+     * where <i>blen &le; &lceil;alen / 2&rceil;</i>.
+     */
+    private static void chunked(final int[] a, int aoff, int alen,
+                                final int[] b, int boff, int blen,
+                                final int[] r, int roff,
+                                final int[] s, int soff) {
+        Arrays.fill(r, roff, roff + alen + blen, 0);
+
+        for (int i = 0; i < alen; i += blen) {
+            final int len = Math.min(blen, alen - i);
+
+            multiply(a, aoff + i, len, b, boff, blen, s, soff, s, soff + 2 * blen);
+            add(r, roff + i, alen + blen - i, s, soff, len + blen);
+        }
+    }
+
+
+    /**
+     * Helper method. Writes <i>x + y</i> into <i>r[roff..roff+xlen]</i>, where <i>xlen &ge; ylen</i>.
+     */
+    static void add(final int[] x, int xoff, int xlen,
+                    final int[] y, int yoff, int ylen,
+                    final int[] r, int roff) {
+        long sum = 0;
+        int i = 0;
+
+        for (; i < ylen; i++) {
+            sum += (x[xoff + i] & MASK) + (y[yoff + i] & MASK);
+            r[roff + i] = (int) sum;
+            sum >>>= 32;
+        }
+        for (; i < xlen; i++) {
+            sum += x[xoff + i] & MASK;
+            r[roff + i] = (int) sum;
+            sum >>>= 32;
+        }
+        r[roff + xlen] = (int) sum;
+    }
+
+    /**
+     * Helper method. Adds <i>y</i> into <i>r[roff..roff+rlen)</i>, where <i>rlen &ge; ylen</i>.
+     *
+     * @return the carry out of <i>r</i>.
+     */
+    static int add(final int[] r, int roff, int rlen, final int[] y, int yoff, int ylen) {
+        long sum = 0;
+        int i = 0;
+
+        for (; i < ylen; i++) {
+            sum += (r[roff + i] & MASK) + (y[yoff + i] & MASK);
+            r[roff + i] = (int) sum;
+            sum >>>= 32;
+        }
+        for (; sum != 0 && i < rlen; i++) {
+            sum += r[roff + i] & MASK;
+            r[roff + i] = (int) sum;
+            sum >>>= 32;
+        }
+
+        return (int) sum;
+    }
+
+    /**
+     * Helper method. Subtracts <i>y</i> from <i>r[roff..roff+rlen)</i>, where <i>rlen &ge; ylen</i>.
+     *
+     * @return the borrow out of <i>r</i>, 0 or 1.
+     */
+    static int subtract(final int[] r, int roff, int rlen, final int[] y, int yoff, int ylen) {
+        long diff = 0;
+        int i = 0;
+
+        for (; i < ylen; i++) {
+            diff += (r[roff + i] & MASK) - (y[yoff + i] & MASK);
+            r[roff + i] = (int) diff;
+            diff >>= 32;    // 0 or -1, the borrow
+        }
+        for (; diff != 0 && i < rlen; i++) {
+            diff += r[roff + i] & MASK;
+            r[roff + i] = (int) diff;
+            diff >>= 32;
+        }
+
+        return (int) -diff;
+    }
+}
@@ -0,0 +1,679 @@
+package core.arithmetic;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Mutable non-negative arbitrary-precision integer, an in-place accumulator for {@link Large}.
+ * <p>
+ * Every operation overwrites this instance and reuses its coefficients buffer,
+ * which grows only when a result doesn't fit, so loops built on a few instances
+ * don't allocate once their buffers have grown to the working size.
+ * Operations return this instance to allow chaining.
+ * <p>
+ * Instances are not thread-safe.
+ *
+ * @author vadym
+ * @since 17.10.26 14:07
+ */
+public class MutableLarge implements Comparable<MutableLarge> {
+    /**
+     * Mask for reading a coefficient as unsigned value.
+     */
+    private static final long MASK = Large.MASK;
+
+    /**
+     * Coefficients in base 2<sup>32</sup> in little-endian format, only first {@link #length} are meaningful.
+     * Made package-private for the algorithms of the package.
+     */
+    int[] value;
+
+    /**
+     * Number of meaningful coefficients, the most significant one is never zero.
+     * Zero has no coefficients.
+     */
+    int length;
+
+
+    /**
+     * Creates a zero value.
+     */
+    public MutableLarge() {
+        this(4);
+    }
+
+    /**
+     * Creates a zero value with a buffer of specified capacity.
+     *
+     * @param capacity initial number of coefficients the buffer could hold.
+     */
+    public MutableLarge(int capacity) {
+        value = new int[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Helper constructor. Wraps coefficients without copying.
+     *
+     * @param value coefficients.
+     * @param length number of meaningful coefficients.
+     */
+    MutableLarge(final int[] value, int length) {
+        this.value = value;
+        this.length = length;
+        normalize();
+    }
+
+    /**
+     * Creates a value equal to absolute value of the argument.
+     *
+     * @param x initial value.
+     */
+    public MutableLarge(final Large x) {
+        this(x.digits.size() + 1);
+        set(x);
+    }
+
+    /**
+     * Creates a copy of the argument.
+     *
+     * @param x initial value.
+     */
+    public MutableLarge(final MutableLarge x) {
+        this(x.length + 1);
+        set(x);
+    }
+
+
+    /**
+     * Returns an immutable copy of this value.
+     *
+     * @return new instance of large number equal to this value.
+     */
+    public Large toLarge() {
+        return new Large(new Digits(Arrays.copyOf(value, length), length), false);
+    }
+
+    /**
+     * Replaces this value with absolute value of the argument.
+     *
+     * @param x new value.
+     * @return this instance.
+     */
+    public MutableLarge set(final Large x) {
+        final Digits digits = x.digits;
+        int n = digits.size();
+        while (n > 0 && digits.limbs[n - 1] == 0) n--;
+
+        ensureCapacity(n);
+        System.arraycopy(digits.limbs, 0, value, 0, n);
+        length = n;
+        return this;
+    }
+
+    /**
+     * Replaces this value with the argument.
+     *
+     * @param x new value.
+     * @return this instance.
+     */
+    public MutableLarge set(final MutableLarge x) {
+        if (x == this) return this;
+
+        ensureCapacity(x.length);
+        System.arraycopy(x.value, 0, value, 0, x.length);
+        length = x.length;
+        return this;
+    }
+
+    /**
+     * Replaces this value with the argument.
+     *
+     * @param x new value, treated as unsigned.
+     * @return this instance.
+     */
+    public MutableLarge set(long x) {
+        ensureCapacity(2);
+        value[0] = (int) x;
+        value[1] = (int) (x >>> 32);
+        length = 2;
+        normalize();
+        return this;
+    }
+
+
+    /**
+     * Returns <code>true</code> if this value is zero.
+     *
+     * @return <code>true</code> if this value is zero.
+     */
+    public boolean isZero() {
+        return length == 0;
+    }
+
+    /**
+     * Returns the number of bits in the binary representation of this value.
+     *
+     * @return bit length, 0 for zero.
+     */
+    public int bitLength() {
+        return length == 0 ? 0 : length * 32 - Integer.numberOfLeadingZeros(value[length - 1]);
+    }
+
+    @Override
+    public int compareTo(final MutableLarge other) {
+        return compare(value, length, other.value, other.length);
+    }
+
+
+    /**
+     * Provides in-place additional operation.
+     *
+     * @param other a number to be added.
+     * @return this instance increased by value of the argument.
+     */
+    public MutableLarge add(final MutableLarge other) {
+        final int n = Math.max(length, other.length);
+        ensureCapacity(n + 1);
+
+        final int[] a = value;
+        final int[] b = other.value;
+        long sum = 0;   // < 2 * BASE
+
+        for (int i = 0; i < n; i++) {
+            sum += (i < length ? a[i] & MASK : 0) + (i < other.length ? b[i] & MASK : 0);
+            a[i] = (int) sum;
+            sum >>>= 32;
+        }
+        a[n] = (int) sum;
+
+        length = n + 1;
+        normalize();
+        return this;
+    }
+
+    /**
+     * Provides in-place subtraction operation.
+     *
+     * @param other a number to be subtracted, not greater than this value.
+     * @return this instance decreased by value of the argument.
+     * @throws ArithmeticException if the argument is greater than this value.
+     */
+    public MutableLarge subtract(final MutableLarge other) {
+        if (compareTo(other) < 0) throw new ArithmeticException("Negative result");
+
+        subtract(value, length, other.value, other.length);
+        normalize();
+        return this;
+    }
+
+    /**
+     * Provides in-place multiplication operation.
+     *
+     * @param x a non-negative number to be multiplied.
+     * @return this instance multiplied by value of the argument.
+     */
+    public MutableLarge multiply(int x) {
+        if (x < 0) throw new IllegalArgumentException("Negative multiplier");
+
+        ensureCapacity(length + 1);
+        value[length] = multiply(value, length, x & MASK);
+        length++;
+        normalize();
+        return this;
+    }
+
+    /**
+     * Replaces this value with a product of two numbers.
+     * Neither of the arguments could be this instance.
+     *
+     * @param x first number to be multiplied.
+     * @param y second number to be multiplied.
+     * @return this instance set to <i>x * y</i>.
+     */
+    public MutableLarge multiply(final MutableLarge x, final MutableLarge y) {
+        if (x == this || y == this) throw new IllegalArgumentException("Result could not be an operand");
+
+        if (x.length == 0 || y.length == 0) {
+            length = 0;
+            return this;
+        }
+
+        ensureCapacity(x.length + y.length);
+        Multiplication.multiply(x.value, x.length, y.value, y.length, value);
+        length = x.length + y.length;
+        normalize();
+        return this;
+    }
+
+    /**
+     * Replaces this value with a product of two numbers computed in a fork-join pool.
+     * Neither of the arguments could be this instance.
+     *
+     * @param x    first number to be multiplied.
+     * @param y    second number to be multiplied.
+     * @param pool a pool which executes tasks of multiplication.
+     * @return this instance set to <i>x * y</i>.
+     */
+    public MutableLarge multiply(final MutableLarge x, final MutableLarge y, final ForkJoinPool pool) {
+        if (x == this || y == this) throw new IllegalArgumentException("Result could not be an operand");
+
+        if (x.length == 0 || y.length == 0) {
+            length = 0;
+            return this;
+        }
+
+        ensureCapacity(x.length + y.length);
+        ParallelMultiplication.multiply(x.value, x.length, y.value, y.length, value, pool);
+        length = x.length + y.length;
+        normalize();
+        return this;
+    }
+
+    /**
+     * Replaces this value with a square of number.
+     * Square takes about a half of coefficient products of multiplication.
+     *
+     * @param x a number to be squared, could not be this instance.
+     * @return this instance set to <i>x<sup>2</sup></i>.
+     */
+    public MutableLarge square(final MutableLarge x) {
+        if (x == this) throw new IllegalArgumentException("Result could not be an operand");
+
+        if (x.length == 0) {
+            length = 0;
+            return this;
+        }
+
+        ensureCapacity(2 * x.length);
+        Multiplication.square(x.value, x.length, value);
+        length = 2 * x.length;
+        normalize();
+        return this;
+    }
+
+    /**
+     * Provides in-place shift operation, equivalent to multiplying by 2<sup>n</sup>.
+     *
+     * @param n shift distance, in bits.
+     * @return this instance shifted left by <i>n</i> bits.
+     */
+    public MutableLarge shiftLeft(int n) {
+        if (n < 0) return shiftRight(-n);
+        if (length == 0 || n == 0) return this;
+
+        final int limbs = n >>> 5;
+        final int bits = n & 31;
+        ensureCapacity(length + limbs + 1);
+
+        final int[] a = value;
+        a[length + limbs] = 0;
+        if (bits == 0) {
+            System.arraycopy(a, 0, a, limbs, length);
+        } else {
+            a[length + limbs] = a[length - 1] >>> (32 - bits);
+            for (int i = length - 1; i > 0; i--) {
+                a[i + limbs] = (a[i] << bits) | (a[i - 1] >>> (32 - bits));
+            }
+            a[limbs] = a[0] << bits;
+        }
+        Arrays.fill(a, 0, limbs, 0);
+
+        length += limbs + 1;
+        normalize();
+        return this;
+    }
+
+    /**
+     * Provides in-place shift operation, equivalent to dividing by 2<sup>n</sup>.
+     *
+     * @param n shift distance, in bits.
+     * @return this instance shifted right by <i>n</i> bits.
+     */
+    public MutableLarge shiftRight(int n) {
+        if (n < 0) return shiftLeft(-n);
+
+        final int limbs = n >>> 5;
+        final int bits = n & 31;
+        if (limbs >= length) {
+            length = 0;
+            return this;
+        }
+
+        final int[] a = value;
+        final int size = length - limbs;
+        if (bits == 0) {
+            System.arraycopy(a, limbs, a, 0, size);
+        } else {
+            for (int i = 0; i < size - 1; i++) {
+                a[i] = (a[i + limbs] >>> bits) | (a[i + limbs + 1] << (32 - bits));
+            }
+            a[size - 1] = a[length - 1] >>> bits;
+        }
+
+        length = size;
+        normalize();
+        return this;
+    }
+
+
+    /**
+     * Provides in-place modulo operation.
+     *
+     * @param modulus a modulo value.
+     * @return this instance reduced modulo the argument.
+     */
+    public MutableLarge reduce(final MutableLarge modulus) {
+        return divide(modulus, null);
+    }
+
+    /**
+     * Provides in-place division operation with a reminder.
+     * The reminder replaces this value, the quotient is stored into a caller-owned buffer.
+     * Knuth's algorithm D is used, long numbers are divided recursively by {@link BurnikelZiegler},
+     * very long ones by {@link Reciprocal}.
+     *
+     * @param divisor a number to be divided by, could not be this instance.
+     * @param quotient a buffer for the quotient, could be <code>null</code> if quotient isn't needed.
+     * @return this instance replaced with the reminder.
+     * @throws ArithmeticException if the divisor is zero.
+     */
+    public MutableLarge divide(final MutableLarge divisor, final MutableLarge quotient) {
+        if (divisor.length == 0) throw new ArithmeticException("Division by zero");
+        if (divisor == this || quotient == this || quotient == divisor) {
+            throw new IllegalArgumentException("Reminder could not be an operand");
+        }
+
+        if (divisor.length >= Reciprocal.THRESHOLD && length - divisor.length >= Reciprocal.THRESHOLD) {
+            return Reciprocal.of(divisor).divide(this, quotient);
+        }
+
+        if (divisor.length >= BurnikelZiegler.THRESHOLD && length - divisor.length >= BurnikelZiegler.OFFSET) {
+            return BurnikelZiegler.divide(this, divisor, quotient);
+        }
+
+        return knuth(divisor, quotient);
+    }
+
+    /**
+     * Helper method. Knuth's algorithm D with quotient coefficients estimated by three
+     * coefficients of reminder and two of divisor, in place, without allocations
+     * unless the buffers have to grow.
+     *
+     * @param divisor a non-zero divisor, differs from this instance and the quotient.
+     * @param quotient a buffer for the quotient, could be <code>null</code>.
+     * @return this instance replaced with the reminder.
+     */
+    MutableLarge knuth(final MutableLarge divisor, final MutableLarge quotient) {
+        // speed up with trivial values
+        if (compareTo(divisor) < 0) {
+            if (quotient != null) quotient.length = 0;
+            return this;
+        }
+
+        if (divisor.length == 1) {
+            if (quotient != null) quotient.set(this);
+            final long rem = divide(quotient != null ? quotient.value : value, length, divisor.value[0] & MASK);
+            if (quotient != null) quotient.normalize();
+            return set(rem);
+        }
+
+        // main algorithm
+
+        final int n = divisor.length;
+        final int m = length - n;
+        final int[] v = divisor.value;
+
+        // reminder has a zero coefficient above, the window of each step is u[j..j+n]
+        ensureCapacity(length + 1);
+        value[length] = 0;
+        final int[] u = value;
+
+        if (quotient != null) {
+            quotient.ensureCapacity(m + 1);
+            quotient.length = m + 1;
+        }
+
+        // quotient coefficients are estimated by the top of numbers as if both were normalized,
+        // so the most significant coefficient of divisor is at least BASE / 2; neither is shifted
+        final int norm = Integer.numberOfLeadingZeros(v[n - 1]);
+        final long v1 = normalized(v, n - 1, norm);
+        final long v2 = normalized(v, n - 2, norm);
+
+        for (int j = m; j >= 0; j--) {
+            final long u2 = normalized(u, j + n, norm);
+            final long u1 = normalized(u, j + n - 1, norm);
+            final long u0 = normalized(u, j + n - 2, norm);
+
+            // three by two coefficients estimate, greater than the true one by at most one
+            final long top = (u2 << 32) | u1;
+            long guess = Long.divideUnsigned(top, v1);
+            long rest = top - guess * v1;
+
+            while (guess > MASK || Long.compareUnsigned(guess * v2, (rest << 32) | u0) > 0) {
+                guess--;
+                rest += v1;
+                if (rest > MASK) break;
+            }
+
+            // u[j..j+n] -= guess * v, then add v back in the rare case result is negative
+            long borrow = multiplySubtract(u, j, v, n, guess);
+            while (borrow != 0) {
+                guess--;
+                borrow += addTo(u, j, v, n);
+            }
+
+            if (quotient != null) quotient.value[j] = (int) guess;
+        }
+
+        length = n;
+        normalize();
+
+        if (quotient != null) quotient.normalize();
+        return this;
+    }
+
+    /**
+     * Provides in-place division operation.
+     *
+     * @param x a positive divisor.
+     * @return the reminder.
+     */
+    public int divide(int x) {
+        if (x <= 0) throw new ArithmeticException(x == 0 ? "Division by zero" : "Negative divisor");
+
+        final long rem = divide(value, length, x);
+        normalize();
+        return (int) rem;
+    }
+
+    /**
+     * Returns reminder of division by the argument.
+     *
+     * @param x a positive modulo value.
+     * @return the reminder.
+     */
+    public int modulo(int x) {
+        if (x <= 0) throw new ArithmeticException(x == 0 ? "Division by zero" : "Negative modulus");
+
+        return (int) modulo(value, length, x);
+    }
+
+
+    /**
+     * Represents a value in decimal format.
+     *
+     * @return string representation of a value.
+     */
+    @Override
+    public String toString() {
+        return toLarge().toString();
+    }
+
+
+    /**
+     * Grows the buffer so it can hold at least <i>capacity</i> coefficients, preserving the value.
+     *
+     * @param capacity required capacity.
+     */
+    void ensureCapacity(int capacity) {
+        if (capacity > value.length) {
+            value = Arrays.copyOf(value, Math.max(capacity, value.length + (value.length >> 1)));
+        }
+    }
+
+    /**
+     * Drops leading zero coefficients.
+     */
+    void normalize() {
+        while (length > 0 && value[length - 1] == 0) length--;
+    }
+
+
+    /**
+     * Helper method. Compares two numbers.
+     *
+     * @return -1, 0 or 1 as <i>a</i> is less than, equal to, or greater than <i>b</i>
+     */
+    static int compare(final int[] a, int alen, final int[] b, int blen) {
+        while (alen > 0 && a[alen - 1] == 0) alen--;
+        while (blen > 0 && b[blen - 1] == 0) blen--;
+        if (alen != blen) return alen > blen ? 1 : -1;
+
+        for (int i = alen - 1; i >= 0; i--) {
+            if (a[i] != b[i]) return (a[i] & MASK) > (b[i] & MASK) ? 1 : -1;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Helper method. Replaces <i>a</i> with <i>a - b</i>, where <i>a &ge; b</i>.
+     *
+     * @return the borrow, 0 if <i>a &ge; b</i>.
+     */
+    static long subtract(final int[] a, int alen, final int[] b, int blen) {
+        long diff = 0;
+        int i = 0;
+
+        for (; i < blen; i++) {
+            diff += (a[i] & MASK) - (b[i] & MASK);
+            a[i] = (int) diff;
+            diff >>= 32;    // 0 or -1, the borrow
+        }
+        for (; diff != 0 && i < alen; i++) {
+            diff += a[i] & MASK;
+            a[i] = (int) diff;
+            diff >>= 32;
+        }
+
+        return diff;
+    }
+
+    /**
+     * Helper method. Replaces <i>a</i> with <i>a * y</i>.
+     *
+     * @param y unsigned multiplier, less than BASE.
+     * @return the carry, the most significant coefficient of the product.
+     */
+    static int multiply(final int[] a, int alen, long y) {
+        long carry = 0;
+
+        for (int i = 0; i < alen; i++) {
+            carry += (a[i] & MASK) * y;
+            a[i] = (int) carry;
+            carry >>>= 32;
+        }
+
+        return (int) carry;
+    }
+
+    /**
+     * Helper method. Replaces <i>a</i> with <i>a / y</i>.
+     *
+     * @param y divisor, less than BASE.
+     * @return the reminder.
+     */
+    static long divide(final int[] a, int alen, long y) {
+        long rem = 0;
+
+        for (int i = alen - 1; i >= 0; i--) {
+            final long div = (rem << 32) | (a[i] & MASK);
+            final long q = Long.divideUnsigned(div, y);
+
+            rem = div - q * y;
+            a[i] = (int) q;
+        }
+
+        return rem;
+    }
+
+    /**
+     * Helper method. Returns reminder of <i>a / y</i>.
+     *
+     * @param y divisor, less than BASE.
+     * @return the reminder.
+     */
+    static long modulo(final int[] a, int alen, long y) {
+        long rem = 0;
+
+        for (int i = alen - 1; i >= 0; i--) {
+            rem = Long.remainderUnsigned((rem << 32) | (a[i] & MASK), y);
+        }
+
+        return rem;
+    }
+
+    /**
+     * Helper method. Returns coefficient <i>i</i> of <i>a * 2<sup>bits</sup></i>, zero below the number.
+     *
+     * @param bits shift distance, less than 32.
+     */
+    private static long normalized(final int[] a, int i, int bits) {
+        if (i < 0) return 0;
+
+        final long high = (a[i] & MASK) << bits;
+        final long low = bits == 0 || i == 0 ? 0 : (a[i - 1] & MASK) >>> (32 - bits);
+        return (high | low) & MASK;
+    }
+
+    /**
+     * Helper method. Replaces <i>u[offset..offset+n]</i> with <i>u[offset..offset+n] - y * v</i>.
+     *
+     * @return 0 if the result is non-negative, -1 otherwise.
+     */
+    private static long multiplySubtract(final int[] u, int offset, final int[] v, int n, long y) {
+        long carry = 0;
+        long diff = 0;
+
+        for (int i = 0; i < n; i++) {
+            carry += (v[i] & MASK) * y;
+            diff += (u[offset + i] & MASK) - (carry & MASK);
+            u[offset + i] = (int) diff;
+            diff >>= 32;
+            carry >>>= 32;
+        }
+        diff += (u[offset + n] & MASK) - carry;
+        u[offset + n] = (int) diff;
+
+        return diff >> 32;
+    }
+
+    /**
+     * Helper method. Replaces <i>u[offset..offset+n]</i> with <i>u[offset..offset+n] + v</i>, dropping the carry.
+     *
+     * @return 1 if the carry is dropped, 0 otherwise.
+     */
+    private static long addTo(final int[] u, int offset, final int[] v, int n) {
+        long sum = 0;
+
+        for (int i = 0; i < n; i++) {
+            sum += (u[offset + i] & MASK) + (v[i] & MASK);
+            u[offset + i] = (int) sum;
+            sum >>>= 32;
+        }
+        sum += u[offset + n] & MASK;
+        u[offset + n] = (int) sum;
+
+        return sum >>> 32;
+    }
+}
@@ -0,0 +1,501 @@
+package core.arithmetic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Multiplication by number-theoretic transform, for operands of many thousands of coefficients.
+ * <p>
+ * Coefficients of operands are convolved modulo three primes <i>p = c * 2<sup>k</sup> + 1</i>
+ * below 2<sup>31</sup> by fast transforms of length <i>N = 2<sup>log</sup> &ge; alen + blen - 1</i>,
+ * then every coefficient of convolution is recovered by Garner's form of Chinese remainder
+ * theorem and carries are propagated. A coefficient is less than <i>min(alen, blen) * BASE<sup>2</sup></i>,
+ * which fits the product of primes for transforms up to 2<sup>26</sup>, the longest all three primes have.
+ * The complexity of computation is &Theta;(n log n).
+ * <p>
+ * Transforms are Gentleman-Sande forward and Cooley-Tukey inverse, so the bit reversal
+ * permutation is never done. Modular multiplications are Montgomery's with <i>R = 2<sup>32</sup></i>,
+ * the roots of unity are kept in Montgomery form, so transformed values themselves stay
+ * in the ordinary one.
+ * <p>
+ * In a fork-join pool the three convolutions, halves of transforms, long passes of butterflies
+ * and recombination run as parallel tasks, the shorter work is done sequentially.
+ *
+ * @author vadym
+ * @since 17.10.26 14:22
+ * @see <a href="http://en.wikipedia.org/wiki/Sch%C3%B6nhage%E2%80%93Strassen_algorithm">Multiplication by FFT</a>
+ */
+final class Ntt {
+    /**
+     * Mask for reading a coefficient as unsigned value.
+     */
+    private static final long MASK = Large.MASK;
+
+    /**
+     * Logarithm of the longest supported transform.
+     */
+    static final int MAX_LOG = 26;
+    /**
+     * Number of elements processed sequentially by a parallel task.
+     */
+    private static final int GRAIN = 1 << 14;
+
+    private static final Prime P1 = new Prime(2013265921, 31);     // 15 * 2^27 + 1
+    private static final Prime P2 = new Prime(1811939329, 13);     // 27 * 2^26 + 1
+    private static final Prime P3 = new Prime(469762049, 3);       //  7 * 2^26 + 1
+
+    /**
+     * <i>p<sub>1</sub><sup>-1</sup> mod p<sub>2</sub></i>.
+     */
+    private static final long INVERSE_1 = P2.power(P1.p % P2.p, P2.p - 2);
+    /**
+     * <i>(p<sub>1</sub>p<sub>2</sub>)<sup>-1</sup> mod p<sub>3</sub></i>.
+     */
+    private static final long INVERSE_12 = P3.power((P1.p % P3.p) * (P2.p % P3.p) % P3.p, P3.p - 2);
+    /**
+     * <i>p<sub>1</sub>p<sub>2</sub></i> split into coefficients.
+     */
+    private static final long P12_LOW = (P1.p * P2.p) & MASK, P12_HIGH = (P1.p * P2.p) >>> 32;
+
+
+    private Ntt() {
+    }
+
+
+    /**
+     * Checks whether a product of operands is not too long for transforms.
+     */
+    static boolean fits(int alen, int blen) {
+        return alen + blen - 1 <= 1 << MAX_LOG;
+    }
+
+    /**
+     * Multiplies numbers by transforms, squares are recognized by equal views.
+     * Writes exactly <i>alen + blen</i> coefficients of the product.
+     *
+     * @param parallel if <code>true</code> the work is split into tasks of the current fork-join pool.
+     */
+    static void multiply(final int[] a, final int aoff, final int alen,
+                         final int[] b, final int boff, final int blen,
+                         final int[] r, int roff, final boolean parallel) {
+        final boolean square = a == b && aoff == boff && alen == blen;
+        final int log = 32 - Integer.numberOfLeadingZeros(alen + blen - 2);
+
+        final int[][] x = new int[3][];
+
+        if (parallel) {
+            final Prime[] primes = {P1, P2, P3};
+            final List<RecursiveAction> tasks = new ArrayList<>(3);
+
+            for (int i = 0; i < 3; i++) {
+                final int k = i;
+                tasks.add(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        x[k] = primes[k].convolve(a, aoff, alen, b, boff, blen, square, log, true);
+                    }
+                });
+            }
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            x[0] = P1.convolve(a, aoff, alen, b, boff, blen, square, log, false);
+            x[1] = P2.convolve(a, aoff, alen, b, boff, blen, square, log, false);
+            x[2] = P3.convolve(a, aoff, alen, b, boff, blen, square, log, false);
+        }
+
+        recombine(x[0], x[1], x[2], r, roff, alen + blen, parallel);
+    }
+
+
+    /**
+     * Helper method. Recovers coefficients of convolution from their residues
+     * and writes them with carries into <i>r[roff..roff+length)</i>.
+     * In parallel every chunk is recovered with its own carry, carries are added afterwards.
+     */
+    private static void recombine(final int[] x1, final int[] x2, final int[] x3,
+                                  final int[] r, final int roff, final int length, boolean parallel) {
+        final long[] carries = new long[2 * ((length + GRAIN - 1) / GRAIN)];
+
+        if (!parallel || length <= GRAIN) {
+            recombine(x1, x2, x3, r, roff, 0, length, carries, 0);
+            return;
+        }
+
+        parallel(0, length, new Body() {
+            @Override
+            void run(int from, int to) {
+                recombine(x1, x2, x3, r, roff, from, to, carries, 2 * (from / GRAIN));
+            }
+        });
+
+        for (int from = GRAIN, k = 0; from < length; from += GRAIN, k += 2) {
+            final long c0 = carries[k];
+            final long c1 = carries[k + 1] + (c0 >>> 32);
+            final int[] carry = {(int) c0, (int) c1, (int) (c1 >>> 32)};
+
+            Multiplication.add(r, roff + from, length - from, carry, 0, Math.min(3, length - from));
+        }
+    }
+
+    /**
+     * Helper method. Recovers coefficients <i>[from, to)</i> of convolution from their residues.
+     * <p>
+     * By Garner: <i>x = r<sub>1</sub> + p<sub>1</sub>y<sub>2</sub> + p<sub>1</sub>p<sub>2</sub>y<sub>3</sub></i>,
+     * where <i>y<sub>2</sub> &lt; p<sub>2</sub></i> and <i>y<sub>3</sub> &lt; p<sub>3</sub></i>.
+     *
+     * @param carries receives the carry out of <i>to</i> as two coefficients, not normalized, from <i>at</i>.
+     */
+    private static void recombine(final int[] x1, final int[] x2, final int[] x3,
+                                  final int[] r, int roff, int from, int to,
+                                  final long[] carries, int at) {
+        final long p1 = P1.p, p2 = P2.p, p3 = P3.p;
+        final int n = x1.length;
+
+        // carry is c0 + c1 * BASE + c2 * BASE^2, parts are not normalized
+        long c0 = 0, c1 = 0, c2 = 0;
+
+        for (int i = from; i < to; i++) {
+            if (i < n) {
+                final long r1 = x1[i];
+                final long y2 = (x2[i] - r1 % p2 + p2) % p2 * INVERSE_1 % p2;
+                final long t = r1 + p1 * y2;
+                final long y3 = (x3[i] - t % p3 + p3) % p3 * INVERSE_12 % p3;
+
+                final long low = P12_LOW * y3;
+                final long high = P12_HIGH * y3;
+
+                c0 += (t & MASK) + (low & MASK);
+                c1 += (t >>> 32) + (low >>> 32) + (high & MASK);
+                c2 += high >>> 32;
+            }
+
+            r[roff + i] = (int) c0;
+            c1 += c0 >>> 32;
+            c0 = c1;
+            c1 = c2;
+            c2 = 0;
+        }
+
+        carries[at] = c0;
+        carries[at + 1] = c1;
+    }
+
+    /**
+     * Helper method. Runs the body over chunks of <i>[from, to)</i> in parallel.
+     */
+    private static void parallel(int from, int to, final Body body) {
+        final List<RecursiveAction> tasks = new ArrayList<>((to - from) / GRAIN + 1);
+
+        for (int i = from; i < to; i += GRAIN) {
+            final int start = i;
+            final int end = Math.min(to, i + GRAIN);
+
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    body.run(start, end);
+                }
+            });
+        }
+
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+
+    /**
+     * Work over a range of indices.
+     */
+    private abstract static class Body {
+        abstract void run(int from, int to);
+    }
+
+    /**
+     * Parallel transform of a block.
+     */
+    private static final class Transform extends RecursiveAction {
+        private final Prime prime;
+        private final int[] x, roots;
+        private final int off, n;
+        private final boolean inverse;
+
+        Transform(final Prime prime, final int[] x, int off, int n, final int[] roots, boolean inverse) {
+            this.prime = prime;
+            this.x = x;
+            this.off = off;
+            this.n = n;
+            this.roots = roots;
+            this.inverse = inverse;
+        }
+
+        @Override
+        protected void compute() {
+            if (inverse) {
+                prime.inverse(x, off, n, roots, true);
+            } else {
+                prime.forward(x, off, n, roots, true);
+            }
+        }
+    }
+
+    /**
+     * Transforms modulo a prime <i>p &lt; 2<sup>31</sup></i>.
+     */
+    private static final class Prime {
+        /**
+         * The modulus.
+         */
+        final long p;
+        /**
+         * Generator of multiplicative group.
+         */
+        final long generator;
+        /**
+         * <i>-p<sup>-1</sup> mod 2<sup>32</sup></i>, for Montgomery reduction.
+         */
+        final int inverse;
+
+        Prime(int p, int generator) {
+            this.p = p;
+            this.generator = generator;
+
+            int inv = p;        // inverse of odd p modulo 2^32 by Newton iteration
+            for (int i = 0; i < 5; i++) inv *= 2 - p * inv;
+            this.inverse = -inv;
+        }
+
+        /**
+         * Computes cyclic convolution of operands modulo <i>p</i> by transforms of length 2<sup>log</sup>.
+         */
+        int[] convolve(final int[] a, int aoff, int alen,
+                       final int[] b, int boff, int blen,
+                       boolean square, int log, boolean parallel) {
+            final int n = 1 << log;
+            final int[] roots = roots(n, parallel);
+
+            final int[] x = load(a, aoff, alen, n, parallel);
+            forward(x, 0, n, roots, parallel);
+
+            final int[] y;
+            if (square) {
+                y = x;
+            } else {
+                y = load(b, boff, blen, n, parallel);
+                forward(y, 0, n, roots, parallel);
+            }
+
+            // montgomery product leaves R^-1, scale puts it back along with 1/n of inverse transform
+            final int scale = (int) (power(n, p - 2) * power(1L << 32, 2) % p);
+            if (parallel && n > GRAIN) {
+                parallel(0, n, new Body() {
+                    @Override
+                    void run(int from, int to) {
+                        pointwise(x, y, scale, from, to);
+                    }
+                });
+            } else {
+                pointwise(x, y, scale, 0, n);
+            }
+
+            inverse(x, 0, n, roots, parallel);
+            return x;
+        }
+
+        /**
+         * Forward transform of the block <i>x[off..off+n)</i>, Gentleman-Sande butterflies,
+         * output is in bit-reversed order. In parallel, the first pass of butterflies is split
+         * into tasks, then the halves are transformed independently.
+         */
+        void forward(final int[] x, final int off, int n, final int[] roots, boolean parallel) {
+            if (parallel && n > GRAIN) {
+                final int len = n >>> 1;
+                final int step = roots.length / len;
+
+                parallel(0, len, new Body() {
+                    @Override
+                    void run(int from, int to) {
+                        forward(x, off, len, from, to, roots, step);
+                    }
+                });
+                ForkJoinTask.invokeAll(
+                        new Transform(this, x, off, len, roots, false),
+                        new Transform(this, x, off + len, len, roots, false));
+                return;
+            }
+
+            for (int len = n >>> 1; len >= 1; len >>>= 1) {
+                final int step = roots.length / len;
+
+                for (int i = off; i < off + n; i += 2 * len) {
+                    forward(x, i, len, 0, len, roots, step);
+                }
+            }
+        }
+
+        /**
+         * Inverse transform of the block <i>x[off..off+n)</i> without scaling, Cooley-Tukey butterflies,
+         * input is in bit-reversed order. In parallel, the halves are transformed independently,
+         * then the last pass of butterflies is split into tasks.
+         */
+        void inverse(final int[] x, final int off, int n, final int[] roots, boolean parallel) {
+            if (parallel && n > GRAIN) {
+                final int len = n >>> 1;
+                final int step = roots.length / len;
+
+                ForkJoinTask.invokeAll(
+                        new Transform(this, x, off, len, roots, true),
+                        new Transform(this, x, off + len, len, roots, true));
+                parallel(0, len, new Body() {
+                    @Override
+                    void run(int from, int to) {
+                        inverse(x, off, len, from, to, roots, step);
+                    }
+                });
+                return;
+            }
+
+            for (int len = 1; len < n; len <<= 1) {
+                final int step = roots.length / len;
+
+                for (int i = off; i < off + n; i += 2 * len) {
+                    inverse(x, i, len, 0, len, roots, step);
+                }
+            }
+        }
+
+        /**
+         * Helper method. Gentleman-Sande butterflies <i>j</i> in <i>[from, to)</i> of the block
+         * of <i>2 * len</i> elements at <i>i</i>, with roots of unity taken every <i>step</i>.
+         */
+        private void forward(final int[] x, int i, int len, int from, int to, final int[] roots, int step) {
+            final int p = (int) this.p;
+
+            for (int j = from, w = from * step; j < to; j++, w += step) {
+                final int u = x[i + j];
+                final int v = x[i + j + len];
+
+                final int sum = u + v - p;
+                final int diff = u - v;
+                x[i + j] = sum < 0 ? sum + p : sum;
+                x[i + j + len] = multiply(diff < 0 ? diff + p : diff, roots[w]);
+            }
+        }
+
+        /**
+         * Helper method. Cooley-Tukey butterflies <i>j</i> in <i>[from, to)</i> of the block
+         * of <i>2 * len</i> elements at <i>i</i>. Roots of inverse transform are taken from
+         * the forward ones as <i>w<sup>-j</sup> = -w<sup>n/2-j</sup></i>.
+         */
+        private void inverse(final int[] x, int i, int len, int from, int to, final int[] roots, int step) {
+            final int p = (int) this.p;
+            final int half = roots.length;
+
+            for (int j = from, w = from * step; j < to; j++, w += step) {
+                final int u = x[i + j];
+                final int v = multiply(x[i + j + len], w == 0 ? roots[0] : p - roots[half - w]);
+
+                final int sum = u + v - p;
+                final int diff = u - v;
+                x[i + j] = sum < 0 ? sum + p : sum;
+                x[i + j + len] = diff < 0 ? diff + p : diff;
+            }
+        }
+
+        /**
+         * Helper method. Multiplies transforms element by element and scales the result.
+         */
+        private void pointwise(final int[] x, final int[] y, int scale, int from, int to) {
+            for (int i = from; i < to; i++) {
+                x[i] = multiply(multiply(x[i], y[i]), scale);
+            }
+        }
+
+        /**
+         * Helper method. Returns powers <i>w<sup>0</sup>..w<sup>n/2-1</sup></i> of the primitive
+         * <i>n</i>-th root of unity in Montgomery form.
+         */
+        private int[] roots(int n, boolean parallel) {
+            final int[] roots = new int[Math.max(1, n >>> 1)];
+            final long w = power(generator, (p - 1) / n);
+
+            if (parallel && roots.length > GRAIN) {
+                parallel(0, roots.length, new Body() {
+                    @Override
+                    void run(int from, int to) {
+                        roots(roots, w, from, to);
+                    }
+                });
+            } else {
+                roots(roots, w, 0, roots.length);
+            }
+
+            return roots;
+        }
+
+        /**
+         * Helper method. Fills powers <i>w<sup>from</sup>..w<sup>to-1</sup></i> in Montgomery form.
+         */
+        private void roots(final int[] roots, long w, int from, int to) {
+            final int montgomery = (int) ((w << 32) % p);
+
+            roots[from] = (int) ((power(w, from) << 32) % p);
+            for (int j = from + 1; j < to; j++) {
+                roots[j] = multiply(roots[j - 1], montgomery);
+            }
+        }
+
+        /**
+         * Helper method. Reduces coefficients of a number modulo <i>p</i>, padding them with zeros to <i>n</i>.
+         */
+        private int[] load(final int[] a, final int aoff, int alen, int n, boolean parallel) {
+            final int[] x = new int[n];
+
+            if (parallel && alen > GRAIN) {
+                parallel(0, alen, new Body() {
+                    @Override
+                    void run(int from, int to) {
+                        load(a, aoff, x, from, to);
+                    }
+                });
+            } else {
+                load(a, aoff, x, 0, alen);
+            }
+
+            return x;
+        }
+
+        /**
+         * Helper method. Reduces coefficients <i>[from, to)</i> of a number modulo <i>p</i>.
+         */
+        private void load(final int[] a, int aoff, final int[] x, int from, int to) {
+            for (int i = from; i < to; i++) {
+                x[i] = (int) ((a[aoff + i] & MASK) % p);
+            }
+        }
+
+        /**
+         * Helper method. Montgomery product <i>a * b * 2<sup>-32</sup> mod p</i>, where <i>a, b &lt; p</i>.
+         */
+        private int multiply(int a, int b) {
+            final long t = (long) a * b;
+            final long u = (t + (((int) t * inverse) & MASK) * p) >>> 32;
+            return (int) (u >= p ? u - p : u);
+        }
+
+        /**
+         * Helper method. Returns <i>x<sup>e</sup> mod p</i>.
+         */
+        long power(long x, long e) {
+            long result = 1;
+            x %= p;
+
+            for (; e > 0; e >>>= 1) {
+                if ((e & 1) != 0) result = result * x % p;
+                x = x * x % p;
+            }
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package core.arithmetic;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Multiplication task for a fork-join pool.
+ * <p>
+ * Operands long enough for transforms are multiplied by {@link Ntt} with its work split
+ * into tasks. Other long operands are split as by Karatsuba algorithm and its three products
+ * are computed in parallel; operands of much different lengths are split into blocks
+ * of the longer one, multiplied in parallel and added up. Products with the shorter operand below
+ * {@link #PARALLEL_THRESHOLD} coefficients are computed sequentially by {@link Multiplication},
+ * so small products do not pay for tasks.
+ *
+ * @author vadym
+ * @since 17.10.26 14:30
+ */
+final class ParallelMultiplication extends RecursiveAction {
+    /**
+     * Number of coefficients of the shorter operand from which the product is split into tasks.
+     */
+    static final int PARALLEL_THRESHOLD = 1000;
+
+    private final int[] a, b, r;
+    private final int aoff, alen, boff, blen, roff;
+
+
+    /**
+     * Creates a task writing exactly <i>alen + blen</i> coefficients of the product into <i>r</i> from <i>roff</i>.
+     */
+    ParallelMultiplication(final int[] a, int aoff, int alen,
+                           final int[] b, int boff, int blen,
+                           final int[] r, int roff) {
+        // the first operand is the longer one
+        final boolean swap = alen < blen;
+
+        this.a = swap ? b : a;
+        this.aoff = swap ? boff : aoff;
+        this.alen = swap ? blen : alen;
+        this.b = swap ? a : b;
+        this.boff = swap ? aoff : boff;
+        this.blen = swap ? alen : blen;
+        this.r = r;
+        this.roff = roff;
+    }
+
+
+    /**
+     * Multiplies two numbers in the pool.
+     *
+     * @param r buffer of at least <i>alen + blen</i> coefficients for the product, differs from operands.
+     */
+    static void multiply(final int[] a, int alen, final int[] b, int blen, final int[] r, final ForkJoinPool pool) {
+        final ParallelMultiplication task = new ParallelMultiplication(a, 0, alen, b, 0, blen, r, 0);
+
+        if (blen < PARALLEL_THRESHOLD || alen < PARALLEL_THRESHOLD) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+
+    @Override
+    protected void compute() {
+        if (blen < PARALLEL_THRESHOLD) {
+            Multiplication.multiply(a, aoff, alen, b, boff, blen, r, roff);
+        } else if (blen <= (alen + 1) >>> 1) {
+            blocks();
+        } else if (blen >= Multiplication.NTT_THRESHOLD && Ntt.fits(alen, blen)) {
+            Ntt.multiply(a, aoff, alen, b, boff, blen, r, roff, true);
+        } else {
+            karatsuba();
+        }
+    }
+
+    /**
+     * Helper method. Multiplies halves of the longer operand in parallel,
+     * the higher product is added at its place.
+     */
+    private void blocks() {
+        final int h = (alen + 1) >>> 1;
+        final int high = alen - h;
+        final int[] t = new int[high + blen];
+
+        invokeAll(
+                new ParallelMultiplication(a, aoff, h, b, boff, blen, r, roff),
+                new ParallelMultiplication(a, aoff + h, high, b, boff, blen, t, 0)
+        );
+
+        Arrays.fill(r, roff + h + blen, roff + alen + blen, 0);
+        Multiplication.add(r, roff + h, alen + blen - h, t, 0, t.length);
+    }
+
+    /**
+     * Helper method. Karatsuba step with products <i>z<sub>0</sub></i>, <i>z<sub>2</sub></i>
+     * and <i>(a<sub>0</sub> + a<sub>1</sub>)(b<sub>0</sub> + b<sub>1</sub>)</i> computed in parallel,
+     * see {@link Multiplication} for the sequential one.
+     */
+    private void karatsuba() {
+        final boolean square = a == b && aoff == boff && alen == blen;
+
+        final int h = (alen + 1) >>> 1;
+        final int a1 = alen - h;
+        final int b1 = blen - h;
+
+        final int[] sa = new int[h + 1];
+        Multiplication.add(a, aoff, h, a, aoff + h, a1, sa, 0);
+
+        final int[] sb;
+        if (square) {
+            sb = sa;
+        } else {
+            sb = new int[h + 1];
+            Multiplication.add(b, boff, h, b, boff + h, b1, sb, 0);
+        }
+
+        final int[] z1 = new int[2 * h + 2];
+
+        invokeAll(
+                new ParallelMultiplication(a, aoff, h, b, boff, h, r, roff),
+                new ParallelMultiplication(a, aoff + h, a1, b, boff + h, b1, r, roff + 2 * h),
+                new ParallelMultiplication(sa, 0, h + 1, sb, 0, h + 1, z1, 0)
+        );
+
+        Multiplication.subtract(z1, 0, 2 * h + 2, r, roff, 2 * h);
+        Multiplication.subtract(z1, 0, 2 * h + 2, r, roff + 2 * h, a1 + b1);
+
+        // a * b = z2 * BASE^2h + z1 * BASE^h + z0
+        Multiplication.add(r, roff + h, alen + blen - h, z1, 0, Math.min(2 * h + 2, alen + blen - h));
+    }
+}
@@ -0,0 +1,467 @@
+package core.arithmetic;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Probabilistic primality test.
+ * <p>
+ * Candidate is checked by cheap tests first, so most composites are rejected early:
+ * <ul>
+ *     <li>small factors are sieved out by trial division by odd primes below {@link #SIEVE_LIMIT}:
+ *     primes are grouped into products fitting into 31 bits, and residues modulo all the products
+ *     are accumulated in a single pass over the coefficients;</li>
+ *     <li>Miller-Rabin test is done to base 2 and then to random bases, exponentiation is done
+ *     in Montgomery representation, and the number of rounds follows the bit length of candidate;</li>
+ *     <li>for Baillie-PSW test the random rounds are replaced by a strong Lucas test
+ *     with parameters of Selfridge, no composite is known to pass both.</li>
+ * </ul>
+ *
+ * @author vadym
+ * @since 17.10.26 15:42
+ * @see <a href="http://cacr.uwaterloo.ca/hac/about/chap4.pdf">Handbook of Applied Cryptography, 4.2</a>
+ * @see <a href="http://www.trnicely.net/misc/bpsw.html">The Baillie-PSW primality test</a>
+ */
+final class Primality {
+    /**
+     * Mask for reading a coefficient as unsigned value.
+     */
+    private static final long MASK = Large.MASK;
+
+    /**
+     * Bound of primes sieved out by trial division.
+     */
+    static final int SIEVE_LIMIT = 2048;
+
+    /**
+     * Odd primes below the sieve limit.
+     */
+    private static final int[] PRIMES;
+    /**
+     * Products of consecutive primes less than <i>2<sup>31</sup></i>.
+     */
+    private static final long[] PRODUCTS;
+    /**
+     * Index of the first prime of every product, and the number of primes at the end.
+     */
+    private static final int[] GROUPS;
+
+    /**
+     * Bit lengths from which the number of Miller-Rabin rounds in {@link #ROUNDS} is enough
+     * for error probability of <i>2<sup>-80</sup></i> on random candidates, see Handbook of Applied Cryptography, table 4.4.
+     */
+    private static final int[] BITS = {1300, 850, 650, 550, 450, 400, 350, 300, 250, 200, 150, 100};
+    private static final int[] ROUNDS = {2, 3, 4, 5, 6, 7, 8, 9, 12, 15, 18, 27};
+    /**
+     * Number of rounds for shorter candidates, <i>4<sup>-40</sup></i> bounds error probability for any of them.
+     */
+    private static final int MAX_ROUNDS = 40;
+
+    /**
+     * Number of Selfridge's parameters tried before the candidate is checked for being a square.
+     */
+    private static final int SQUARE_CHECK = 16;
+
+    static {
+        PRIMES = primes(SIEVE_LIMIT);
+        GROUPS = groups(PRIMES);
+        PRODUCTS = products(PRIMES, GROUPS);
+    }
+
+
+    private Primality() {
+    }
+
+
+    /**
+     * Checks whether absolute value of the number is probably prime.
+     *
+     * @param x     a number.
+     * @param lucas whether Baillie-PSW test is done, otherwise Miller-Rabin rounds by bit length.
+     * @return <code>false</code> if the number is composite, <code>true</code> if it's probably prime.
+     */
+    static boolean isProbablePrime(final Large x, boolean lucas) {
+        final int[] limbs = x.digits.limbs;
+        final int size = x.digits.size();
+        final int bits = x.bitLength();
+
+        if (bits <= 1) return false;
+        if ((limbs[0] & 1) == 0) return bits == 2;
+        if (bits < 32 && (limbs[0] < SIEVE_LIMIT)) return Arrays.binarySearch(PRIMES, limbs[0]) >= 0;
+
+        if (hasSmallFactor(limbs, size)) return false;
+
+        // every composite below the square of the limit has a small factor
+        if (bits < 32 && limbs[0] < SIEVE_LIMIT * SIEVE_LIMIT) return true;
+
+        return test(x.abs(), lucas, null);
+    }
+
+    /**
+     * Checks whether odd number without small factors is probably prime, see {@link #isProbablePrime(Large, boolean)}.
+     * The test could be stopped between rounds, it's failed then.
+     *
+     * @param n     an odd number greater than square of the sieve limit.
+     * @param lucas whether Baillie-PSW test is done, otherwise Miller-Rabin rounds by bit length.
+     * @param stop  a flag to stop the test, could be <code>null</code>.
+     * @return <code>false</code> if the number is composite or the test is stopped.
+     */
+    static boolean test(final Large n, boolean lucas, final AtomicBoolean stop) {
+        final MillerRabin test = new MillerRabin(n);
+        if (!test.passesTwo()) return false;
+
+        if (stop != null && stop.get()) return false;
+        if (lucas) return passesLucas(n, test.context);
+
+        final Random random = ThreadLocalRandom.current();
+        for (int i = rounds(n.bitLength()) - 1; i > 0; i--) {
+            if (stop != null && stop.get() || !test.passes(base(n, random))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns number of Miller-Rabin rounds for a candidate of given bit length.
+     */
+    static int rounds(int bits) {
+        for (int i = 0; i < BITS.length; i++) {
+            if (bits >= BITS[i]) return ROUNDS[i];
+        }
+        return MAX_ROUNDS;
+    }
+
+    /**
+     * Checks whether the number is divisible by an odd prime below the sieve limit.
+     *
+     * @param x    coefficients of a number.
+     * @param size number of coefficients.
+     * @return <code>true</code> if a prime divides the number.
+     */
+    static boolean hasSmallFactor(final int[] x, int size) {
+        final long[] r = residues(x, size, PRODUCTS);
+
+        for (int k = 0; k < r.length; k++) {
+            for (int j = GROUPS[k]; j < GROUPS[k + 1]; j++) {
+                if (r[k] % PRIMES[j] == 0) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns odd primes below the limit, by sieve of Eratosthenes.
+     */
+    static int[] primes(int limit) {
+        final boolean[] composite = new boolean[limit];
+        int count = 0;
+        for (int i = 3; i < limit; i += 2) {
+            if (composite[i]) continue;
+            count++;
+            for (long j = (long) i * i; j < limit; j += 2 * i) composite[(int) j] = true;
+        }
+
+        final int[] primes = new int[count];
+        for (int i = 3, k = 0; i < limit; i += 2) {
+            if (!composite[i]) primes[k++] = i;
+        }
+        return primes;
+    }
+
+    /**
+     * Groups consecutive primes into products less than <i>2<sup>31</sup></i>.
+     *
+     * @return index of the first prime of every product, and the number of primes at the end.
+     */
+    static int[] groups(final int[] primes) {
+        final int[] groups = new int[primes.length + 1];
+        int k = 0;
+        for (int i = 0; i < primes.length; k++) {
+            groups[k] = i;
+            long product = 1;
+            while (i < primes.length && product * primes[i] <= Integer.MAX_VALUE) product *= primes[i++];
+        }
+        groups[k] = primes.length;
+        return Arrays.copyOf(groups, k + 1);
+    }
+
+    /**
+     * Returns products of primes by groups.
+     */
+    static long[] products(final int[] primes, final int[] groups) {
+        final long[] products = new long[groups.length - 1];
+        for (int k = 0; k < products.length; k++) {
+            products[k] = 1;
+            for (int j = groups[k]; j < groups[k + 1]; j++) products[k] *= primes[j];
+        }
+        return products;
+    }
+
+    /**
+     * Computes residues of a number modulo all the products in a single pass over its coefficients.
+     *
+     * @param x        coefficients of a number.
+     * @param size     number of coefficients.
+     * @param products moduli less than <i>2<sup>31</sup></i>.
+     * @return residues by the products.
+     */
+    static long[] residues(final int[] x, int size, final long[] products) {
+        final long[] r = new long[products.length];
+
+        for (int i = size - 1; i >= 0; i--) {
+            final long c = x[i] & MASK;
+            for (int k = 0; k < r.length; k++) r[k] = ((r[k] << 32) | c) % products[k];
+        }
+        return r;
+    }
+
+
+    /**
+     * Helper method. Returns a random base in range <i>[2, n - 1)</i>.
+     */
+    private static Large base(final Large n, final Random random) {
+        final int bits = n.bitLength() - 1;
+        final int[] r = new int[(bits + 31) >>> 5];
+
+        Large base;
+        do {
+            for (int i = 0; i < r.length; i++) r[i] = random.nextInt();
+            if ((bits & 31) != 0) r[r.length - 1] &= (1 << bits) - 1;
+            base = new Large(new Digits(r.clone(), r.length), false);
+        } while (base.bitLength() < 2);
+
+        return base;
+    }
+
+    /**
+     * Helper method. Strong Lucas test with <i>P = 1</i>, <i>Q = (1 - D) / 4</i>, where <i>D</i> is the first of
+     * <i>5, -7, 9, -11, ...</i> with Jacobi symbol <i>(D/n) = -1</i>. Writing <i>n + 1 = d 2<sup>s</sup></i>,
+     * a prime has <i>U<sub>d</sub> = 0</i> or <i>V<sub>d 2<sup>r</sup></sub> = 0 (mod n)</i> for some <i>r &lt; s</i>.
+     * Sequences are computed in Montgomery representation, where halving, addition and multiplication
+     * by small <i>D</i> and <i>Q</i> are the same.
+     */
+    private static boolean passesLucas(final Large n, final MontgomeryContext context) {
+        int d = 5;
+        for (int i = 0; ; i++) {
+            final int jacobi = jacobi(d, n);
+            if (jacobi == -1) break;
+            if (jacobi == 0) return false;          // n is greater than |D| past the sieve
+            if (i == SQUARE_CHECK && isSquare(n)) return false;
+            d = d > 0 ? -d - 2 : -d + 2;
+        }
+
+        final int q = (1 - d) / 4;
+
+        // n + 1 = k * 2^s
+        final Large m = n.add(1);
+        int s = 0;
+        while (!m.testBit(s)) s++;
+
+        // U_1 = 1, V_1 = P = 1, Q^1
+        Large u = context.toMontgomery(Large.valueOf(1));
+        Large v = u;
+        Large qk = context.toMontgomery(Large.valueOf(q));
+
+        for (int i = m.bitLength() - 2; i >= s; i--) {
+            // U_2k = U_k V_k, V_2k = V_k^2 - 2Q^k
+            u = context.multiply(u, v);
+            v = subtract(context.square(v), add(qk, qk, n), n);
+            qk = context.square(qk);
+
+            if (m.testBit(i)) {
+                // U_2k+1 = (U_2k + V_2k) / 2, V_2k+1 = (D U_2k + V_2k) / 2
+                final Large w = half(add(u, v, n), n);
+                v = half(add(multiply(u, d, n), v, n), n);
+                u = w;
+                qk = multiply(qk, q, n);
+            }
+        }
+
+        if (u.sign() == 0 || v.sign() == 0) return true;
+
+        for (int r = 1; r < s; r++) {
+            v = subtract(context.square(v), add(qk, qk, n), n);
+            if (v.sign() == 0) return true;
+            qk = context.square(qk);
+        }
+        return false;
+    }
+
+    /**
+     * Helper method. Computes Jacobi symbol <i>(a/n)</i> of odd <i>a</i> and odd positive <i>n</i>,
+     * by reciprocity it's <i>(n mod |a| / |a|)</i> up to sign.
+     */
+    static int jacobi(int a, final Large n) {
+        int sign = 1;
+        final int n4 = n.modulo(4);
+
+        if (a < 0) {
+            a = -a;
+            if (n4 == 3) sign = -sign;
+        }
+        if ((a & 3) == 3 && n4 == 3) sign = -sign;
+
+        return sign * jacobi(n.modulo(a), a);
+    }
+
+    /**
+     * Helper method. Computes Jacobi symbol <i>(a/n)</i> of non-negative <i>a</i> and odd positive <i>n</i>.
+     */
+    static int jacobi(long a, long n) {
+        int sign = 1;
+        a %= n;
+
+        while (a != 0) {
+            while ((a & 1) == 0) {
+                a >>= 1;
+                final long r = n & 7;
+                if (r == 3 || r == 5) sign = -sign;
+            }
+
+            final long t = a; a = n; n = t;
+            if ((a & 3) == 3 && (n & 3) == 3) sign = -sign;
+            a %= n;
+        }
+        return n == 1 ? sign : 0;
+    }
+
+    /**
+     * Helper method. Checks whether positive number is a square, by Newton's integer square root.
+     */
+    private static boolean isSquare(final Large n) {
+        final MutableLarge one = new MutableLarge().set(1);
+        Large x = new Large(one.shiftLeft((n.bitLength() + 1) / 2), false);
+
+        while (true) {
+            final Large y = x.add(n.divide(x)).divide(2);
+            if (y.compareTo(x) >= 0) break;
+            x = y;
+        }
+        return x.square().compareTo(n) == 0;
+    }
+
+    /**
+     * Helper method. Adds residues modulo <i>n</i>.
+     */
+    private static Large add(final Large x, final Large y, final Large n) {
+        final Large r = x.add(y);
+        return r.compareTo(n) >= 0 ? r.subtract(n) : r;
+    }
+
+    /**
+     * Helper method. Subtracts residues modulo <i>n</i>.
+     */
+    private static Large subtract(final Large x, final Large y, final Large n) {
+        final Large r = x.subtract(y);
+        return r.sign() < 0 ? r.add(n) : r;
+    }
+
+    /**
+     * Helper method. Multiplies a residue by a small number modulo <i>n</i>.
+     */
+    private static Large multiply(final Large x, int c, final Large n) {
+        final Large r = x.multiply(Math.abs(c)).modulo(n);
+        return c < 0 && r.sign() != 0 ? n.subtract(r) : r;
+    }
+
+    /**
+     * Helper method. Halves a residue modulo odd <i>n</i>.
+     */
+    private static Large half(final Large x, final Large n) {
+        return (x.testBit(0) ? x.add(n) : x).divide(2);
+    }
+
+
+    /**
+     * Miller-Rabin test of odd <i>n = d 2<sup>s</sup> + 1</i>: a prime has <i>a<sup>d</sup> = 1</i>
+     * or <i>a<sup>d 2<sup>r</sup></sup> = -1 (mod n)</i> for some <i>r &lt; s</i>.
+     * Squarings after the power are done on coefficients in Montgomery representation.
+     */
+    private static final class MillerRabin {
+        private final Large minusOne, d;
+        private final int s;
+        private final MontgomeryContext context;
+        /**
+         * Representations of 1 and <i>n - 1</i>.
+         */
+        private final int[] one, negative;
+        private final int[] modulus, square, scratch;
+
+        MillerRabin(final Large n) {
+            this.context = new MontgomeryContext(n);
+            this.modulus = Arrays.copyOf(n.digits.limbs, context.size());
+            this.minusOne = n.subtract(1);
+
+            int s = 1;
+            while (!minusOne.testBit(s)) s++;
+            this.s = s;
+            this.d = new Large(new MutableLarge(minusOne).shiftRight(s), false);
+
+            this.scratch = context.scratch();
+            this.square = new int[context.size()];
+            this.one = new int[context.size()];
+            this.negative = new int[context.size()];
+            context.toMontgomery(context.reduce(Large.valueOf(1)), one, scratch);
+            context.toMontgomery(context.reduce(minusOne), negative, scratch);
+        }
+
+        /**
+         * Checks whether <i>n</i> is a strong probable prime to the base.
+         */
+        boolean passes(final Large base) {
+            context.toMontgomery(context.reduce(Exponentiation.modPow(base, d, context)), square, scratch);
+            return passes();
+        }
+
+        /**
+         * Checks whether <i>n</i> is a strong probable prime to base 2. The power is computed
+         * by squarings and doublings, a doubling costs an addition.
+         */
+        boolean passesTwo() {
+            final int[] x = square;
+            System.arraycopy(one, 0, x, 0, x.length);
+
+            for (int i = d.bitLength() - 1; i >= 0; i--) {
+                context.square(x, x, scratch);
+                if (d.testBit(i)) twice(x);
+            }
+            return passes();
+        }
+
+        /**
+         * Helper method. Checks the power <i>a<sup>d</sup></i> and its squares, in place of the power.
+         */
+        private boolean passes() {
+            if (Arrays.equals(square, one) || Arrays.equals(square, negative)) return true;
+
+            for (int r = 1; r < s; r++) {
+                context.square(square, square, scratch);
+                if (Arrays.equals(square, negative)) return true;
+                if (Arrays.equals(square, one)) return false;     // no further square is -1
+            }
+            return false;
+        }
+
+        /**
+         * Helper method. Doubles a residue modulo <i>n</i> in place.
+         */
+        private void twice(final int[] x) {
+            long carry = 0;
+            for (int i = 0; i < x.length; i++) {
+                carry |= (x[i] & MASK) << 1;
+                x[i] = (int) carry;
+                carry >>>= 32;
+            }
+
+            if (carry == 0 && MutableLarge.compare(x, x.length, modulus, modulus.length) < 0) return;
+
+            long borrow = 0;
+            for (int i = 0; i < x.length; i++) {
+                borrow += (x[i] & MASK) - (modulus[i] & MASK);
+                x[i] = (int) borrow;
+                borrow >>= 32;
+            }
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package core.arithmetic;
+
+import java.util.Arrays;
+
+/**
+ * Prime field <i>GF(p)</i> of residues of a fixed odd prime modulus, the factory of its {@link FieldElement elements}.
+ * <p>
+ * Elements are kept in <i>n</i> coefficients, the width of modulus, and reduced by a routine chosen
+ * by the form of modulus:
+ * <ul>
+ * <li>pseudo-Mersenne primes <i>2<sup>k</sup> - c</i> with <i>c</i> of a single coefficient and at least
+ * 32 bits shorter than modulus, such as
+ * <i>2<sup>255</sup> - 19</i> or <i>2<sup>521</sup> - 1</i>: the part above <i>k</i> bits is multiplied
+ * by <i>c</i> and added to the lower one;</li>
+ * <li>Solinas primes <i>2<sup>32n</sup> - c</i> with <i>c</i> of small signed coefficients, such as
+ * NIST P-256 or secp256k1: every higher coefficient of a product is folded into the lower ones
+ * by precomputed small multipliers of <i>2<sup>32j</sup> mod p</i>;</li>
+ * <li>any other prime: Montgomery reduction, the elements are kept in Montgomery representation.</li>
+ * </ul>
+ * The field is immutable and could be shared between threads, elements are not.
+ *
+ * @author vadym
+ * @since 17.10.26 16:11
+ * @see <a href="http://cacr.uwaterloo.ca/techreports/1999/corr99-39.pdf">J. Solinas, Generalized Mersenne Numbers</a>
+ */
+public final class PrimeField {
+    /**
+     * Mask for reading a coefficient as unsigned value.
+     */
+    private static final long MASK = Large.MASK;
+    /**
+     * Maximal absolute value of multipliers of Solinas reduction, keeps sums of products in a long.
+     */
+    static final int SOLINAS_LIMIT = 1 << 16;
+
+    private final Large modulus;
+    /**
+     * Coefficients of the modulus.
+     */
+    final int[] p;
+    /**
+     * Number of coefficients of elements.
+     */
+    final int n;
+    /**
+     * Exponent <i>p - 2</i> of inversion.
+     */
+    final int[] inversion;
+    /**
+     * Reduction routine, chosen by the form of modulus.
+     */
+    final Reduction reduction;
+    /**
+     * Representations of 0 and 1.
+     */
+    final int[] zero, one;
+
+
+    /**
+     * Creates a field of residues of a prime.
+     *
+     * @param modulus an odd prime.
+     * @throws IllegalArgumentException if modulus is not an odd prime.
+     */
+    public PrimeField(final Large modulus) {
+        if (modulus.sign() <= 0 || !modulus.testBit(0) || !modulus.isProbablePrime()) {
+            throw new IllegalArgumentException("Modulus must be an odd prime");
+        }
+
+        this.modulus = modulus;
+        this.n = modulus.digits.size();
+        this.p = Arrays.copyOf(modulus.digits.limbs, n);
+        this.inversion = Arrays.copyOf(modulus.subtract(2).digits.limbs, n);
+
+        Reduction reduction = PseudoMersenne.of(this);
+        if (reduction == null) reduction = Solinas.of(this);
+        if (reduction == null) reduction = new Reduction.Montgomery(new MontgomeryContext(modulus));
+        this.reduction = reduction;
+
+        this.zero = new int[n];
+        this.one = new int[n];
+        this.one[0] = 1;
+        reduction.encode(one, one, reduction.scratch());
+    }
+
+
+    /**
+     * Returns the modulus of this field.
+     *
+     * @return the modulus.
+     */
+    public Large modulus() {
+        return modulus;
+    }
+
+    /**
+     * Returns a new element equal to zero.
+     *
+     * @return zero of this field.
+     */
+    public FieldElement element() {
+        return new FieldElement(this);
+    }
+
+    /**
+     * Returns a new element equal to a residue of the number.
+     *
+     * @param x any number, negative ones included.
+     * @return <i>x mod p</i> as element of this field.
+     */
+    public FieldElement element(final Large x) {
+        return new FieldElement(this).set(x);
+    }
+
+    /**
+     * Returns a new element equal to one.
+     *
+     * @return unit of this field.
+     */
+    public FieldElement one() {
+        final FieldElement r = new FieldElement(this);
+        System.arraycopy(one, 0, r.value, 0, n);
+        return r;
+    }
+
+    /**
+     * Inverts elements in place by Montgomery's simultaneous inversion:
+     * a single inversion and three multiplications per element. Zeros are left unchanged.
+     *
+     * @param elements distinct elements of this field.
+     * @return <code>true</code> if all the elements were inverted, <code>false</code> if some of them are zeros.
+     * @throws IllegalArgumentException if an element belongs to another field.
+     */
+    public boolean invert(final FieldElement... elements) {
+        final int[][] x = new int[elements.length][];
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i].field() != this) throw new IllegalArgumentException("Elements of different fields");
+            x[i] = elements[i].value;
+        }
+
+        final boolean[] zeros = new boolean[elements.length];
+        BatchInversion.invert(reduction, modulus, x, 0, x.length, zeros);
+
+        for (boolean zero : zeros) if (zero) return false;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "GF(" + modulus + ")";
+    }
+
+
+    /**
+     * Helper method. Writes <i>n + 1</i> coefficients of <i>t</i> from <i>off</i>,
+     * less than <i>2p</i>, reduced to be less than <i>p</i>.
+     */
+    void subtract(final int[] t, int off, final int[] r) {
+        final int[] p = this.p;
+        boolean less = t[off + n] == 0;
+        if (less) {
+            int i = n - 1;
+            while (i >= 0 && t[off + i] == p[i]) i--;
+            less = i >= 0 && Integer.compareUnsigned(t[off + i], p[i]) < 0;
+        }
+
+        if (less) {
+            if (t != r || off != 0) System.arraycopy(t, off, r, 0, n);
+            return;
+        }
+
+        long diff = 0;
+        for (int i = 0; i < n; i++) {
+            diff += (t[off + i] & MASK) - (p[i] & MASK);
+            r[i] = (int) diff;
+            diff >>= 32;
+        }
+    }
+
+
+    /**
+     * Reduction of special forms: the product is computed in the scratch buffer, then reduced there.
+     */
+    abstract static class Special extends Reduction {
+        final PrimeField field;
+
+        Special(final PrimeField field) {
+            super(field.n);
+            this.field = field;
+        }
+
+        @Override
+        int[] scratch() {
+            // product with a spare coefficient, then the scratch of multiplication
+            return new int[2 * n + 2 + Multiplication.scratchSize(n)];
+        }
+
+        @Override
+        void multiply(final int[] x, final int[] y, final int[] r, final int[] s) {
+            Multiplication.multiply(x, 0, n, y, 0, n, s, 0, s, 2 * n + 2);
+            s[2 * n] = 0;
+            s[2 * n + 1] = 0;
+            reduce(s, r);
+        }
+
+        @Override
+        void square(final int[] x, final int[] r, final int[] s) {
+            Multiplication.square(x, 0, n, s, 0, s, 2 * n + 2);
+            s[2 * n] = 0;
+            s[2 * n + 1] = 0;
+            reduce(s, r);
+        }
+
+        /**
+         * Reduces <i>2n + 2</i> coefficients of a product of residues, destroys them.
+         */
+        abstract void reduce(final int[] t, final int[] r);
+    }
+
+    /**
+     * Reduction modulo <i>p = 2<sup>k</sup> - c</i>, <i>0 &lt; c &lt; 2<sup>31</sup></i>, <i>c &le; 2<sup>k - 32</sup></i>:
+     * as <i>2<sup>k</sup> &equiv; c</i>, the number <i>h2<sup>k</sup> + l</i> is replaced by <i>hc + l</i>
+     * until it is shorter than <i>k</i> bits, then reduced by a single subtraction.
+     */
+    static final class PseudoMersenne extends Special {
+        private final int k;
+        private final long c;
+
+        private PseudoMersenne(final PrimeField field, int k, long c) {
+            super(field);
+            this.k = k;
+            this.c = c;
+        }
+
+        /**
+         * Returns reduction for the modulus of field or null, if it has other form.
+         */
+        static PseudoMersenne of(final PrimeField field) {
+            final int k = field.modulus.bitLength();
+            final MutableLarge c = new MutableLarge().set(1).shiftLeft(k).subtract(new MutableLarge(field.modulus));
+
+            // a fold removes k - c.bitLength() bits, so c much shorter than p is needed to beat Montgomery
+            return c.bitLength() < 32 && c.bitLength() <= k - 32 ? new PseudoMersenne(field, k, c.value[0] & MASK) : null;
+        }
+
+        @Override
+        int[] scratch() {
+            // the part above k bits after the product
+            return new int[2 * n + 2 + Multiplication.scratchSize(n) + n + 3];
+        }
+
+        @Override
+        void reduce(final int[] t, final int[] r) {
+            final int word = k >>> 5, bit = k & 31;
+            final int off = 2 * n + 2 + Multiplication.scratchSize(n);
+            int length = 2 * n + 2;
+
+            for (; ; ) {
+                while (length > 0 && t[length - 1] == 0) length--;
+                if (length <= word || length == word + 1 && t[word] >>> bit == 0 && bit != 0) break;
+
+                // the part above k bits, then only the lower part is left
+                final int h = length - word;
+                for (int i = 0; i < h; i++) {
+                    final int next = i + 1 < h ? t[word + i + 1] : 0;
+                    t[off + i] = bit == 0 ? t[word + i] : t[word + i] >>> bit | next << 32 - bit;
+                }
+                if (bit == 0) {
+                    Arrays.fill(t, word, length, 0);
+                } else {
+                    t[word] &= (1 << bit) - 1;
+                    Arrays.fill(t, word + 1, length, 0);
+                }
+
+                long carry = 0;
+                int i = 0;
+                for (; i < h; i++) {
+                    carry += (t[off + i] & MASK) * c + (t[i] & MASK);
+                    t[i] = (int) carry;
+                    carry >>>= 32;
+                }
+                for (; carry != 0; i++) {
+                    carry += t[i] & MASK;
+                    t[i] = (int) carry;
+                    carry >>>= 32;
+                }
+                length = Math.max(length, i);
+            }
+
+            // less than 2^k < p + c < 2p
+            t[n] = 0;
+            field.subtract(t, 0, r);
+        }
+    }
+
+    /**
+     * Reduction modulo <i>p = 2<sup>32n</sup> - c</i>, <i>c &lt; 2<sup>32n - 1</sup></i> of small signed coefficients:
+     * <i>2<sup>32j</sup> mod p</i> for <i>n &le; j &lt; 2n</i> are combinations of lower powers with
+     * small multipliers, so the higher coefficients of a product are folded into the lower ones at once,
+     * as by the formulas of FIPS 186 for NIST primes. The small signed carry out is folded the same way.
+     */
+    static final class Solinas extends Special {
+        /**
+         * Small signed coefficients of <i>c</i>.
+         */
+        private final int[] c;
+        /**
+         * For every lower coefficient <i>i</i> the higher ones <i>j</i> folded into it and their multipliers.
+         */
+        private final int[][] sources, multipliers;
+
+        private Solinas(final PrimeField field, final int[] c, final int[][] sources, final int[][] multipliers) {
+            super(field);
+            this.c = c;
+            this.sources = sources;
+            this.multipliers = multipliers;
+        }
+
+        /**
+         * Returns reduction for the modulus of field or null, if it has other form.
+         */
+        static Solinas of(final PrimeField field) {
+            final int n = field.n;
+            if (field.modulus.bitLength() != 32 * n) return null;
+
+            final MutableLarge x = new MutableLarge().set(1).shiftLeft(32 * n).subtract(new MutableLarge(field.modulus));
+
+            // balanced coefficients of c, from -2^31 to 2^31
+            final long[] c = new long[n];
+            long carry = 0;
+            for (int i = 0; i < n; i++) {
+                carry += i < x.length ? x.value[i] & MASK : 0;
+                c[i] = carry > Integer.MAX_VALUE ? carry - (1L << 32) : carry;
+                carry = (carry - c[i]) >> 32;
+            }
+            if (carry != 0) return null;
+
+            // multipliers of 2^32j mod p: shifted previous ones, the coefficient shifted out is folded by c
+            final long[][] powers = new long[n][];
+            powers[0] = c;
+            for (int j = 0; j < n; j++) {
+                if (j > 0) {
+                    final long[] previous = powers[j - 1];
+                    final long[] v = new long[n];
+                    for (int i = 0; i < n; i++) v[i] = (i > 0 ? previous[i - 1] : 0) + previous[n - 1] * c[i];
+                    powers[j] = v;
+                }
+                for (long v : powers[j]) if (Math.abs(v) > SOLINAS_LIMIT) return null;
+            }
+
+            final int[][] sources = new int[n][];
+            final int[][] multipliers = new int[n][];
+            for (int i = 0; i < n; i++) {
+                int size = 0;
+                for (int j = 0; j < n; j++) if (powers[j][i] != 0) size++;
+
+                sources[i] = new int[size];
+                multipliers[i] = new int[size];
+                for (int j = 0, s = 0; j < n; j++) {
+                    if (powers[j][i] == 0) continue;
+                    sources[i][s] = n + j;
+                    multipliers[i][s++] = (int) powers[j][i];
+                }
+            }
+
+            final int[] small = new int[n];
+            for (int i = 0; i < n; i++) small[i] = (int) c[i];
+            return new Solinas(field, small, sources, multipliers);
+        }
+
+        @Override
+        void reduce(final int[] t, final int[] r) {
+            final int n = this.n;
+            long carry = 0;
+
+            // higher coefficients are only read, lower ones are replaced
+            for (int i = 0; i < n; i++) {
+                final int[] sources = this.sources[i];
+                final int[] multipliers = this.multipliers[i];
+
+                long sum = (t[i] & MASK) + carry;
+                for (int s = 0; s < sources.length; s++) sum += multipliers[s] * (t[sources[s]] & MASK);
+                t[i] = (int) sum;
+                carry = sum >> 32;
+            }
+
+            // signed carry out, top * 2^32n = top * c
+            while (carry != 0) {
+                final long top = carry;
+                carry = 0;
+                for (int i = 0; i < n; i++) {
+                    carry += (t[i] & MASK) + top * c[i];
+                    t[i] = (int) carry;
+                    carry >>= 32;
+                }
+            }
+
+            // less than 2^32n = p + c < 2p
+            t[n] = 0;
+            field.subtract(t, 0, r);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package core.arithmetic;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Generator of random probable primes by incremental search.
+ * <p>
+ * Search starts with a random odd number and goes through an interval of odd candidates
+ * following it. The interval is sieved by odd primes below {@link #SIEVE_LIMIT}: residues of the start
+ * are computed once, in a single pass over its coefficients, then every prime strikes out its multiples
+ * by stepping through the interval, and residues are moved to the next interval by addition.
+ * Surviving candidates are tested by {@link Primality}, in a fork-join pool if any: the first
+ * probable prime found stops the other tests.
+ * <p>
+ * Generator could be shared between threads if its random source could.
+ *
+ * @author vadym
+ * @since 17.10.26 15:49
+ * @see <a href="http://cacr.uwaterloo.ca/hac/about/chap4.pdf">Handbook of Applied Cryptography, 4.51</a>
+ */
+public final class PrimeGenerator {
+    /**
+     * Bound of primes sieved out of the interval.
+     */
+    static final int SIEVE_LIMIT = 1 << 16;
+    /**
+     * Number of bits up to which candidates could be sieving primes themselves,
+     * they are drawn at random and tested one by one.
+     */
+    static final int SMALL_BITS = 32;
+
+    /**
+     * Odd primes below the sieve limit, their products and groups, see {@link Primality#groups(int[])}.
+     */
+    private static final int[] PRIMES = Primality.primes(SIEVE_LIMIT);
+    private static final int[] GROUPS = Primality.groups(PRIMES);
+    private static final long[] PRODUCTS = Primality.products(PRIMES, GROUPS);
+
+    private final Random random;
+    private final ForkJoinPool pool;
+
+
+    /**
+     * Creates a generator with a secure random source, testing candidates in the common pool.
+     */
+    public PrimeGenerator() {
+        this(new SecureRandom(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a generator testing candidates sequentially.
+     *
+     * @param random a random source.
+     */
+    public PrimeGenerator(final Random random) {
+        this(random, null);
+    }
+
+    /**
+     * Creates a generator testing candidates in the pool.
+     *
+     * @param random a random source.
+     * @param pool   a pool for testing candidates, could be <code>null</code> for sequential testing.
+     */
+    public PrimeGenerator(final Random random, final ForkJoinPool pool) {
+        if (random == null) throw new IllegalArgumentException("Random source is required");
+
+        this.random = random;
+        this.pool = pool;
+    }
+
+
+    /**
+     * Generates a random probable prime with two highest bits set,
+     * so a product of two such primes has exactly twice as many bits.
+     *
+     * @param bits a bit length of prime, at least two.
+     * @return a probable prime of the bit length.
+     * @throws IllegalArgumentException if bit length is less than two.
+     */
+    public Large generate(int bits) {
+        if (bits < 2) throw new IllegalArgumentException("Bit length must be at least two");
+
+        while (true) {
+            final Large start = start(bits);
+            final Large prime = bits <= SMALL_BITS ? (start.isProbablePrime() ? start : null) : search(start, bits);
+
+            if (prime != null) return prime;
+        }
+    }
+
+
+    /**
+     * Helper method. Searches for a probable prime among odd numbers from the start
+     * up to the bit length, interval by interval.
+     *
+     * @return a probable prime or <code>null</code> if there is none.
+     */
+    private Large search(final Large start, int bits) {
+        // expected distance between primes is about 0.35 bits odd numbers
+        final int length = 4 * bits;
+        final boolean[] composite = new boolean[length];
+        final Large[] candidates = new Large[length];
+        final int[] residues = residues(start);
+
+        for (long offset = 0; ; offset += length) {
+            Arrays.fill(composite, false);
+            for (int j = 0; j < PRIMES.length; j++) {
+                final int p = PRIMES[j];
+                final int r = residues[j];
+
+                // start + 2(offset + i) = 0 mod p, 2 is inverted by (p + 1) / 2
+                for (int i = (int) ((long) (r == 0 ? 0 : p - r) * ((p + 1) >>> 1) % p); i < length; i += p) {
+                    composite[i] = true;
+                }
+                residues[j] = (int) ((r + 2L * length) % p);
+            }
+
+            int count = 0;
+            boolean last = false;
+            for (int i = 0; i < length && !last; i++) {
+                if (composite[i]) continue;
+
+                final Large candidate = start.add(Large.valueOf(2 * (offset + i)));
+                last = candidate.bitLength() > bits;
+                if (!last) candidates[count++] = candidate;
+            }
+
+            final Large prime = test(candidates, count);
+            if (prime != null || last) return prime;
+        }
+    }
+
+    /**
+     * Helper method. Tests candidates, returns a probable prime among them or <code>null</code>.
+     */
+    private Large test(final Large[] candidates, int count) {
+        if (pool == null) {
+            for (int i = 0; i < count; i++) {
+                if (Primality.test(candidates[i], false, null)) return candidates[i];
+            }
+            return null;
+        }
+
+        final Search search = new Search(candidates, 0, count, new AtomicBoolean(), new AtomicReference<Large>());
+        pool.invoke(search);
+        return search.found.get();
+    }
+
+    /**
+     * Helper method. Returns a random odd number of the bit length with two highest bits set.
+     */
+    private Large start(int bits) {
+        final int[] r = new int[(bits + 31) >>> 5];
+        for (int i = 0; i < r.length; i++) r[i] = random.nextInt();
+
+        final int top = (bits - 1) & 31;
+        r[r.length - 1] &= (int) ((2L << top) - 1);
+        r[r.length - 1] |= 1 << top;
+        r[(bits - 2) >>> 5] |= 1 << ((bits - 2) & 31);
+        r[0] |= 1;
+
+        return new Large(new Digits(r, r.length), false);
+    }
+
+    /**
+     * Helper method. Returns residues of a number modulo every sieving prime.
+     */
+    private static int[] residues(final Large x) {
+        final long[] r = Primality.residues(x.digits.limbs, x.digits.size(), PRODUCTS);
+        final int[] residues = new int[PRIMES.length];
+
+        for (int k = 0; k < r.length; k++) {
+            for (int j = GROUPS[k]; j < GROUPS[k + 1]; j++) residues[j] = (int) (r[k] % PRIMES[j]);
+        }
+        return residues;
+    }
+
+
+    /**
+     * Task testing a range of candidates, split in halves down to single ones.
+     * The first probable prime found sets the flag, so the other tasks stop.
+     */
+    private static final class Search extends RecursiveAction {
+        private final Large[] candidates;
+        private final int from, to;
+        private final AtomicBoolean stop;
+        private final AtomicReference<Large> found;
+
+        Search(final Large[] candidates, int from, int to, final AtomicBoolean stop, final AtomicReference<Large> found) {
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.stop = stop;
+            this.found = found;
+        }
+
+        @Override
+        protected void compute() {
+            if (stop.get() || from >= to) return;
+
+            if (to - from == 1) {
+                if (Primality.test(candidates[from], false, stop) && found.compareAndSet(null, candidates[from])) {
+                    stop.set(true);
+                }
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+            invokeAll(
+                    new Search(candidates, from, middle, stop, found),
+                    new Search(candidates, middle, to, stop, found)
+            );
+        }
+    }
+}
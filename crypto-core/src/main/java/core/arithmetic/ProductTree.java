@@ -0,0 +1,430 @@
+package core.arithmetic;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Product tree of positive numbers and remainder trees descending it.
+ * <p>
+ * Leaves are the numbers, every node is the product of its two children, an odd node
+ * of a level is carried up as it is; the tree is built bottom-up by fast multiplication.
+ * A remainder tree reduces a number modulo the root, then every node reduces the remainder
+ * of its parent modulo its own value, or modulo its square: the square of a node is computed
+ * while descending and the parent remainder is reduced by it in place, so squares are never stored.
+ * <p>
+ * Nodes of a level are computed in parallel in a fork-join pool if any; levels of a few nodes
+ * split their products by parallel multiplication instead. Levels between the leaves and the root could
+ * spill to memory-mapped files of a directory, so the heap doesn't keep the whole tree: the leaves stay
+ * in the heap, a new level is built in the heap before it's spilled, and a descent holds a level
+ * of remainders, twice as wide as the nodes for remainders modulo squares.
+ * <p>
+ * The tree should be closed to delete the files. Mappings are released only when the garbage collector
+ * collects them, so the disk space is freed only then; systems which don't delete mapped files,
+ * such as Windows, could fail to delete them on close.
+ *
+ * @author vadym
+ * @since 17.10.26 17:16
+ * @see <a href="https://cr.yp.to/papers.html#scaledmod">D. J. Bernstein, Scaled remainder trees</a>
+ */
+public final class ProductTree implements AutoCloseable {
+    /**
+     * Number of tasks per thread of pool, so threads are balanced.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+    private final List<Level> levels = new ArrayList<>();
+    private final Large root;
+
+
+    /**
+     * Builds the tree in the heap.
+     *
+     * @param values positive numbers.
+     * @throws IllegalArgumentException if there are no numbers.
+     * @throws ArithmeticException if a number is not positive.
+     */
+    public ProductTree(final Large[] values) {
+        this(values, null, null);
+    }
+
+    /**
+     * Builds the tree in the heap, every level in parallel.
+     *
+     * @param values positive numbers.
+     * @param pool   a pool for nodes, could be <code>null</code> for sequential computation.
+     * @throws IllegalArgumentException if there are no numbers.
+     * @throws ArithmeticException if a number is not positive.
+     */
+    public ProductTree(final Large[] values, final ForkJoinPool pool) {
+        this(values, pool, null);
+    }
+
+    /**
+     * Builds the tree, every level in parallel, levels above the leaves but the root are spilled to files.
+     *
+     * @param values    positive numbers.
+     * @param pool      a pool for nodes, could be <code>null</code> for sequential computation.
+     * @param directory a directory for memory-mapped levels, could be <code>null</code> to keep them in the heap.
+     * @throws IllegalArgumentException if there are no numbers.
+     * @throws ArithmeticException if a number is not positive.
+     * @throws UncheckedIOException if a level could not be spilled.
+     */
+    public ProductTree(final Large[] values, final ForkJoinPool pool, final Path directory) {
+        if (values.length == 0) throw new IllegalArgumentException("No values");
+        for (Large value : values) {
+            if (value.sign() <= 0) throw new ArithmeticException("Non-positive value");
+        }
+
+        this.pool = pool;
+
+        Level level = new Heap(values);
+        levels.add(level);
+        try {
+            while (level.size() > 1) {
+                final Large[] products = multiply(level);
+                level = directory != null && products.length > 1 ? new Mapped(directory, products) : new Heap(products);
+                levels.add(level);
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+        this.root = level.get(0);
+    }
+
+
+    /**
+     * Returns the number of leaves.
+     *
+     * @return the number of numbers of the tree.
+     */
+    public int size() {
+        return levels.get(0).size();
+    }
+
+    /**
+     * Returns the root of the tree.
+     *
+     * @return product of all the numbers.
+     */
+    public Large product() {
+        return root;
+    }
+
+    /**
+     * Reduces a number modulo every leaf.
+     *
+     * @param x any number.
+     * @return <i>x mod values[i]</i>, in range <i>[0, values[i])</i>.
+     */
+    public Large[] remainders(final Large x) {
+        return descend(x, false);
+    }
+
+    /**
+     * Reduces a number modulo square of every leaf.
+     *
+     * @param x any number.
+     * @return <i>x mod values[i]<sup>2</sup></i>, in range <i>[0, values[i]<sup>2</sup>)</i>.
+     */
+    public Large[] remaindersOfSquares(final Large x) {
+        return descend(x, true);
+    }
+
+    /**
+     * Deletes files of spilled levels, their disk space is freed when their mappings are garbage-collected.
+     * The tree could not be descended after it's closed.
+     *
+     * @throws UncheckedIOException if a file could not be deleted.
+     */
+    @Override
+    public void close() {
+        UncheckedIOException failure = null;
+        for (Level level : levels) {
+            try {
+                level.close();
+            } catch (UncheckedIOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) throw failure;
+    }
+
+
+    /**
+     * Helper method. Computes products of pairs of nodes of a level.
+     */
+    private Large[] multiply(final Level level) {
+        final Large[] products = new Large[(level.size() + 1) >>> 1];
+
+        run(products.length, new Step() {
+            @Override
+            void node(int i, final ForkJoinPool pool) {
+                final Large left = level.get(2 * i);
+                if (2 * i + 1 == level.size()) {
+                    products[i] = left;
+                    return;
+                }
+
+                final Large right = level.get(2 * i + 1);
+                products[i] = pool == null ? left.multiply(right) : left.multiply(right, pool);
+            }
+        });
+        return products;
+    }
+
+    /**
+     * Helper method. Descends the tree with remainders modulo nodes or their squares.
+     */
+    private Large[] descend(final Large x, final boolean squared) {
+        Large[] remainders = {x};
+        if (x.sign() < 0 || !below(x, root, squared)) {
+            final Large top = squared ? root.square() : root;
+            final Large reduced = x.modulo(top);
+            remainders[0] = x.sign() < 0 && reduced.sign() != 0 ? top.subtract(reduced) : reduced;
+        }
+
+        for (int k = levels.size() - 2; k >= 0; k--) {
+            final Level level = levels.get(k);
+            final Large[] parents = remainders;
+            final Large[] children = new Large[level.size()];
+
+            run(children.length, new Step() {
+                @Override
+                void node(int i, final ForkJoinPool pool) {
+                    final Large parent = parents[i >>> 1];
+                    final Large value = level.get(i);
+                    if (below(parent, value, squared)) {
+                        // a carried node, or a remainder already reduced
+                        children[i] = parent;
+                        return;
+                    }
+
+                    final Large modulus = squared ? value.square() : value;
+                    children[i] = new Large(new MutableLarge(parent).reduce(modulus.magnitude()), false);
+                }
+            });
+            remainders = children;
+        }
+        return remainders;
+    }
+
+    /**
+     * Helper method. Checks by bit lengths that a non-negative number is less than a node, or its square.
+     */
+    private static boolean below(final Large x, final Large node, final boolean squared) {
+        return x.bitLength() < (squared ? 2 * node.bitLength() - 1 : node.bitLength());
+    }
+
+    /**
+     * Helper method. Runs a step for nodes of a level, in parallel chunks if the level is wide enough,
+     * with parallel arithmetic of every node otherwise.
+     */
+    void run(int n, final Step step) {
+        if (pool == null || n < pool.getParallelism()) {
+            for (int i = 0; i < n; i++) step.node(i, pool);
+        } else {
+            final int chunk = Math.max(1, n / (TASKS_PER_THREAD * pool.getParallelism()));
+            pool.invoke(new Chunk(step, 0, n, chunk));
+        }
+    }
+
+
+    /**
+     * Computation of a node of a level.
+     */
+    abstract static class Step {
+        /**
+         * Computes a node, its arithmetic could use the pool if it's not <code>null</code>.
+         */
+        abstract void node(int i, final ForkJoinPool pool);
+    }
+
+    /**
+     * Task computing a range of nodes, split in halves down to a chunk.
+     */
+    private static final class Chunk extends RecursiveAction {
+        private final Step step;
+        private final int from, to, chunk;
+
+        Chunk(final Step step, int from, int to, int chunk) {
+            this.step = step;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                for (int i = from; i < to; i++) step.node(i, null);
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+            invokeAll(new Chunk(step, from, middle, chunk), new Chunk(step, middle, to, chunk));
+        }
+    }
+
+    /**
+     * Level of the tree, nodes could be read by many threads.
+     */
+    abstract static class Level {
+        /**
+         * Returns number of nodes.
+         */
+        abstract int size();
+
+        /**
+         * Returns a node.
+         */
+        abstract Large get(int i);
+
+        /**
+         * Releases storage of the level.
+         */
+        void close() {
+        }
+    }
+
+    /**
+     * Level kept in the heap.
+     */
+    static final class Heap extends Level {
+        private final Large[] nodes;
+
+        Heap(final Large[] nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        int size() {
+            return nodes.length;
+        }
+
+        @Override
+        Large get(int i) {
+            return nodes[i];
+        }
+    }
+
+    /**
+     * Level written to a temporary file and mapped back in segments of whole nodes.
+     * Every node is its number of coefficients followed by the coefficients, in little-endian order.
+     */
+    static final class Mapped extends Level {
+        /**
+         * Largest number of bytes of a segment.
+         */
+        private static final long SEGMENT = Integer.MAX_VALUE;
+        /**
+         * Number of bytes of the write buffer.
+         */
+        private static final int BUFFER = 1 << 20;
+
+        private final Path file;
+        private final long[] offsets, starts;
+        private final int[] segmentOf;
+        /**
+         * Mapped segments, <code>null</code> when closed, so they could be collected.
+         */
+        private MappedByteBuffer[] segments;
+
+        Mapped(final Path directory, final Large[] nodes) {
+            this.offsets = new long[nodes.length];
+            this.segmentOf = new int[nodes.length];
+
+            try {
+                this.file = Files.createTempFile(directory, "level", ".bin");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // nodes are written sequentially, a segment starts at a node which doesn't fit the current one
+                final List<Long> starts = new ArrayList<>();
+                final ByteBuffer buffer = ByteBuffer.allocate(BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+                long position = 0;
+                for (int i = 0; i < nodes.length; i++) {
+                    final Digits digits = nodes[i].digits;
+                    final long bytes = 4L * (digits.size() + 1);
+                    if (starts.isEmpty() || position + bytes - starts.get(starts.size() - 1) > SEGMENT) starts.add(position);
+
+                    offsets[i] = position;
+                    segmentOf[i] = starts.size() - 1;
+                    position += bytes;
+
+                    put(channel, buffer, digits.size());
+                    for (int j = 0; j < digits.size(); j++) put(channel, buffer, digits.limbs[j]);
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) channel.write(buffer);
+
+                this.starts = new long[starts.size()];
+                this.segments = new MappedByteBuffer[starts.size()];
+                for (int s = 0; s < segments.length; s++) {
+                    final long end = s + 1 < segments.length ? starts.get(s + 1) : position;
+                    this.starts[s] = starts.get(s);
+                    segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, this.starts[s], end - this.starts[s]);
+                }
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        int size() {
+            return offsets.length;
+        }
+
+        @Override
+        Large get(int i) {
+            final int s = segmentOf[i];
+            final int position = (int) (offsets[i] - starts[s]);
+
+            final ByteBuffer view = segments[s].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            final int[] limbs = new int[view.getInt(position)];
+            view.position(position + 4);
+            view.asIntBuffer().get(limbs);
+            return new Large(new Digits(limbs, limbs.length), false);
+        }
+
+        /**
+         * Drops the mapped segments and deletes the file, the mapping itself is released by the garbage collector.
+         */
+        @Override
+        void close() {
+            segments = null;
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Helper method. Puts a coefficient into the write buffer, writing it out when it's full.
+         */
+        private static void put(final FileChannel channel, final ByteBuffer buffer, int x) throws IOException {
+            if (!buffer.hasRemaining()) {
+                buffer.flip();
+                while (buffer.hasRemaining()) channel.write(buffer);
+                buffer.clear();
+            }
+            buffer.putInt(x);
+        }
+    }
+}
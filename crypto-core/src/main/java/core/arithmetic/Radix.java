@@ -0,0 +1,281 @@
+package core.arithmetic;
+
+import core.Zip;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Conversion of {@link Large} numbers from and to decimal text.
+ * <p>
+ * Short numbers are converted chunk by chunk, {@value #PACK} decimal digits at a time.
+ * Long ones are split by a power <i>10<sup>9&middot;2<sup>k</sup></sup></i> and both halves are
+ * converted recursively, so the cost is dominated by a few multiplications (parsing)
+ * or divisions (printing) of balanced size. The powers are computed once and cached.
+ *
+ * @author vadym
+ * @since 17.10.26 14:05
+ */
+final class Radix {
+    /**
+     * Base of decimal chunks.
+     */
+    private static final int CHUNK = 1_000_000_000;
+    /**
+     * Number of decimal digits in {@link #CHUNK}.
+     */
+    private static final int PACK = 9;
+    /**
+     * Number of decimal digits below which text is parsed chunk by chunk.
+     */
+    private static final int PARSE_THRESHOLD = 40 * PACK;
+    /**
+     * Number of coefficients below which number is printed chunk by chunk.
+     */
+    private static final int PRINT_THRESHOLD = 40;
+    /**
+     * Upper estimate of decimal digits per bit, log<sub>10</sub>2.
+     */
+    private static final double DIGITS_PER_BIT = 0.30103;
+
+    /**
+     * Cached powers, <i>powers[k] = 10<sup>9&middot;2<sup>k</sup></sup></i>.
+     */
+    private static volatile Large[] powers = {Large.valueOf(CHUNK)};
+
+
+    private Radix() {
+    }
+
+
+    /**
+     * Parses decimal text.
+     *
+     * @param x text of number. Could starts with '-' if number is negative.
+     *          Leading zeros will be ignored.
+     * @return parsed number.
+     * @throws IllegalArgumentException if text is not a number
+     */
+    static Large parse(final CharSequence x) {
+        return parse(new Text() {
+            @Override
+            int length() {
+                return x.length();
+            }
+
+            @Override
+            int charAt(int index) {
+                return x.charAt(index);
+            }
+
+            @Override
+            public String toString() {
+                return x.toString();
+            }
+        });
+    }
+
+    /**
+     * Parses decimal ASCII text.
+     *
+     * @param x buffer with text of number. Could starts with '-' if number is negative.
+     *          Leading zeros will be ignored.
+     * @param offset index of the first character of text.
+     * @param length number of characters of text.
+     * @return parsed number.
+     * @throws IllegalArgumentException if text is not a number
+     */
+    static Large parse(final byte[] x, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset > x.length - length) throw new IndexOutOfBoundsException();
+
+        return parse(new Text() {
+            @Override
+            int length() {
+                return length;
+            }
+
+            @Override
+            int charAt(int index) {
+                return x[offset + index];
+            }
+
+            @Override
+            public String toString() {
+                return new String(x, offset, length, StandardCharsets.US_ASCII);
+            }
+        });
+    }
+
+    /**
+     * Converts number into decimal text.
+     *
+     * @param x a number to be converted.
+     * @return text of number.
+     */
+    static String toString(final Large x) {
+        if (x.sign() == 0) return "0";
+
+        final int length = (int) (x.bitLength() * DIGITS_PER_BIT) + 2;
+        final char[] out = new char[length];
+        Arrays.fill(out, '0');
+
+        write(x.digits.limbs, x.digits.size(), out, length);
+
+        int from = 0;
+        while (out[from] == '0') from++;
+        if (x.sign() < 0) out[--from] = '-';
+
+        return new String(out, from, length - from);
+    }
+
+
+    /**
+     * Helper method. Validates the text and parses its digits.
+     *
+     * @param x text of number.
+     * @return parsed number.
+     */
+    private static Large parse(final Text x) {
+        final int length = x.length();
+        final boolean isNegative = length > 0 && x.charAt(0) == '-';
+
+        int from = isNegative ? 1 : 0;
+        if (from == length) throw new IllegalArgumentException(String.format("Invalid number '%s'", x));
+
+        for (int i = from; i < length; i++) {
+            final int c = x.charAt(i);
+            if (c < '0' || c > '9') throw new IllegalArgumentException(String.format("Invalid number '%s'", x));
+        }
+
+        // trim leading zeros
+        while (from < length - 1 && x.charAt(from) == '0') from++;
+
+        final Large magnitude = parse(x, from, length);
+        return isNegative ? magnitude.negation() : magnitude;
+    }
+
+    /**
+     * Helper method. Parses digits of text in range <i>[from, to)</i>.
+     *
+     * @param x text of number, validated.
+     * @param from index of the first digit.
+     * @param to index after the last digit.
+     * @return parsed non-negative number.
+     */
+    private static Large parse(final Text x, int from, int to) {
+        if (to - from <= PARSE_THRESHOLD) {
+            // accumulate decimal chunks from the most significant one: r = r * 10^9 + chunk
+            final int[] r = new int[(to - from) / PACK + 1];
+            int n = 0;
+
+            for (int i = from + ((to - from) % PACK == 0 ? PACK : (to - from) % PACK); from < to; from = i, i += PACK) {
+                int chunk = 0;
+                for (int k = from; k < i; k++) chunk = chunk * 10 + x.charAt(k) - '0';
+
+                n = multiplyAddInPlace(r, n, CHUNK, chunk);
+            }
+
+            return new Large(new Digits(r, n), false);
+        }
+
+        // x = high * 10^(9 * 2^k) + low, where low has exactly 9 * 2^k digits
+        int k = 0;
+        while (PACK << (k + 1) < to - from) k++;
+
+        final int mid = to - (PACK << k);
+        return parse(x, from, mid).multiply(power(k)).add(parse(x, mid, to));
+    }
+
+    /**
+     * Helper method. Writes decimal digits of a non-negative number right-aligned
+     * into a buffer prefilled with '0'.
+     *
+     * @param a coefficients of number.
+     * @param n number of meaningful coefficients.
+     * @param out the buffer.
+     * @param end index after the last digit to be written.
+     */
+    private static void write(final int[] a, int n, final char[] out, int end) {
+        while (n > 0 && a[n - 1] == 0) n--;
+
+        if (n <= PRINT_THRESHOLD) {
+            final int[] r = Arrays.copyOf(a, n);
+
+            while (n > 0) {
+                int chunk = (int) MutableLarge.divide(r, n, CHUNK);
+                while (n > 0 && r[n - 1] == 0) n--;
+
+                for (int k = 0; k < PACK && (chunk != 0 || n > 0); k++) {
+                    out[--end] = (char) ('0' + chunk % 10);
+                    chunk /= 10;
+                }
+            }
+            return;
+        }
+
+        // x = high * 10^(9 * 2^k) + low, where the power has about a half of coefficients of x
+        int k = 0;
+        while (power(k + 1).digits.size() * 2 <= n + 1) k++;
+
+        final Zip<Large, Large> parts = new Large(new Digits(a, n), false).divideAndModulo(power(k));
+
+        write(parts.two.digits.limbs, parts.two.digits.size(), out, end);
+        write(parts.one.digits.limbs, parts.one.digits.size(), out, end - (PACK << k));
+    }
+
+    /**
+     * Helper method. Returns cached power <i>10<sup>9&middot;2<sup>k</sup></sup></i>.
+     *
+     * @param k index of power.
+     * @return the power.
+     */
+    private static Large power(int k) {
+        Large[] cache = powers;
+        if (k < cache.length) return cache[k];
+
+        synchronized (Radix.class) {
+            cache = powers;
+            if (k >= cache.length) {
+                final int from = cache.length;
+                cache = Arrays.copyOf(cache, k + 1);
+                for (int i = from; i <= k; i++) cache[i] = cache[i - 1].multiply(cache[i - 1]);
+                powers = cache;
+            }
+        }
+
+        return cache[k];
+    }
+
+
+    /**
+     * Helper method. Replaces <i>n</i> low coefficients of <i>r</i> with <i>r * y + z</i>.
+     *
+     * @param r coefficients to be updated, must have a room for one more coefficient
+     * @param n number of meaningful coefficients
+     * @param y multiplier, less than BASE
+     * @param z addend, less than BASE
+     * @return new number of meaningful coefficients
+     */
+    private static int multiplyAddInPlace(final int[] r, int n, long y, long z) {
+        long carry = z;
+
+        for (int i = 0; i < n; i++) {
+            carry += (r[i] & Large.MASK) * y;
+
+            r[i] = (int) carry;
+            carry >>>= 32;
+        }
+
+        if (carry != 0) r[n++] = (int) carry;
+        return n;
+    }
+
+    /**
+     * Source of characters of text to be parsed.
+     */
+    private static abstract class Text {
+        abstract int length();
+
+        abstract int charAt(int index);
+    }
+}
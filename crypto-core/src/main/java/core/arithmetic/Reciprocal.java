@@ -0,0 +1,233 @@
+package core.arithmetic;
+
+import core.Zip;
+
+import java.util.Arrays;
+
+/**
+ * Division by a fixed divisor with a reciprocal computed by Newton iteration.
+ * <p>
+ * Divisor <i>d</i> of <i>n</i> coefficients is normalized so its highest bit is set, then
+ * <i>&lfloor;BASE<sup>2n</sup> / d&rfloor;</i> is computed by Newton-Raphson iteration
+ * <i>x' = x + x(BASE<sup>2n</sup> - dx) / BASE<sup>2n</sup></i> with doubling precision:
+ * the reciprocal of the higher half of divisor is the starting value, so the whole computation
+ * costs a few multiplications of size <i>n</i>. Dividend is divided by blocks of <i>n</i> coefficients,
+ * every block quotient is estimated by the reciprocal as in Barrett reduction and corrected
+ * by at most two subtractions, so a division costs about two multiplications per block.
+ * <p>
+ * The reciprocal is immutable and could be shared between threads. {@link MutableLarge#divide(MutableLarge, MutableLarge)}
+ * takes one for very long divisors and drops it afterwards, so repeated divisions by the same number
+ * should hold a reciprocal of their own to reuse it.
+ *
+ * @author vadym
+ * @since 17.10.26 14:49
+ * @see <a href="http://www.loria.fr/~zimmerma/mca/mca-cup-0.5.9.pdf">R. Brent, P. Zimmermann, Modern Computer Arithmetic, 3.4</a>
+ */
+public final class Reciprocal {
+    /**
+     * Number of coefficients of divisor, and of quotient, from which the division takes a reciprocal.
+     */
+    static final int THRESHOLD = 50000;
+    /**
+     * Number of coefficients of divisor below which the reciprocal is computed by division.
+     */
+    static final int NEWTON_THRESHOLD = 400;
+
+    private final Large divisor;
+    /**
+     * Normalized divisor.
+     */
+    private final MutableLarge d;
+    /**
+     * Number of coefficients of the normalized divisor.
+     */
+    private final int n;
+    /**
+     * Number of bits the divisor is shifted by.
+     */
+    private final int shift;
+    /**
+     * <i>&lfloor;BASE<sup>2n</sup> / d&rfloor;</i>.
+     */
+    private final MutableLarge inverse;
+
+
+    /**
+     * Creates a reciprocal of the divisor.
+     *
+     * @param divisor a non-zero divisor, its sign is ignored.
+     * @throws ArithmeticException if divisor is zero.
+     */
+    public Reciprocal(final Large divisor) {
+        if (divisor.sign() == 0) throw new ArithmeticException("Division by zero");
+
+        final MutableLarge magnitude = divisor.magnitude();
+
+        this.divisor = divisor;
+        this.n = magnitude.length;
+        this.shift = Integer.numberOfLeadingZeros(magnitude.value[n - 1]);
+        this.d = new MutableLarge(magnitude).shiftLeft(shift);
+        this.inverse = inverse(d, n);
+    }
+
+
+    /**
+     * Returns the divisor of this reciprocal.
+     *
+     * @return the divisor.
+     */
+    public Large divisor() {
+        return divisor;
+    }
+
+    /**
+     * Provides division operation with a reminder, see {@link Large#divideAndModulo(Large)}.
+     *
+     * @param x a number to be divided.
+     * @return the quotient and the non-negative reminder of magnitudes.
+     */
+    public Zip<Large, Large> divideAndModulo(final Large x) {
+        final MutableLarge r = new MutableLarge(x);
+        final MutableLarge q = new MutableLarge(Math.max(r.length - n + 1, 1));
+
+        divide(r, q);
+
+        return new Zip<>(new Large(q, x.sign() * divisor.sign() < 0), new Large(r, false));
+    }
+
+    /**
+     * Provides division operation.
+     *
+     * @param x a number to be divided.
+     * @return the quotient.
+     */
+    public Large divide(final Large x) {
+        return divideAndModulo(x).one;
+    }
+
+    /**
+     * Provides modulo operation.
+     *
+     * @param x a number to be divided.
+     * @return the non-negative reminder of magnitudes.
+     */
+    public Large modulo(final Large x) {
+        final MutableLarge r = new MutableLarge(x);
+        divide(r, null);
+        return new Large(r, false);
+    }
+
+
+    /**
+     * Returns reciprocal of the magnitude of divisor, which is copied.
+     */
+    static Reciprocal of(final MutableLarge divisor) {
+        return new Reciprocal(new Large(new MutableLarge(divisor), false));
+    }
+
+    /**
+     * Divides in place, see {@link MutableLarge#divide(MutableLarge, MutableLarge)}.
+     *
+     * @param a a dividend, replaced with the reminder.
+     * @param quotient a buffer for the quotient, could be <code>null</code>.
+     * @return the dividend replaced with the reminder.
+     */
+    MutableLarge divide(final MutableLarge a, final MutableLarge quotient) {
+        a.shiftLeft(shift);
+
+        // number of blocks, the highest one is less than divisor
+        final int t = Math.max(2, (a.bitLength() + 32 * n) / (32 * n));
+
+        final MutableLarge qi = new MutableLarge(n + 1);
+        final MutableLarge z = BurnikelZiegler.block(a, (t - 2) * n, 2 * n);
+
+        if (quotient != null) {
+            quotient.ensureCapacity((t - 1) * n);
+            Arrays.fill(quotient.value, 0, (t - 1) * n, 0);
+        }
+
+        for (int i = t - 2; i >= 0; i--) {
+            step(z, qi);
+            if (quotient != null) System.arraycopy(qi.value, 0, quotient.value, i * n, qi.length);
+
+            if (i > 0) z.shiftLeft(32 * n).add(BurnikelZiegler.block(a, (i - 1) * n, n));
+        }
+
+        if (quotient != null) {
+            quotient.length = (t - 1) * n;
+            quotient.normalize();
+        }
+        return a.set(z.shiftRight(shift));
+    }
+
+
+    /**
+     * Helper method. Divides <i>z &lt; d * BASE<sup>n</sup></i> by the divisor: the quotient is estimated as
+     * <i>&lfloor;&lfloor;z / BASE<sup>n-1</sup>&rfloor; inverse / BASE<sup>n+1</sup>&rfloor;</i>,
+     * which is less than the true one by at most 2.
+     *
+     * @param z a number replaced with the reminder.
+     * @param q receives the quotient, less than <i>BASE<sup>n</sup></i>.
+     */
+    private void step(final MutableLarge z, final MutableLarge q) {
+        final MutableLarge top = new MutableLarge(z).shiftRight(32 * (n - 1));
+        final MutableLarge estimate = new MutableLarge(top.length + inverse.length).multiply(top, inverse);
+        q.set(estimate.shiftRight(32 * (n + 1)));
+
+        z.subtract(estimate.multiply(q, d));
+
+        final MutableLarge one = new MutableLarge().set(1);
+        while (z.compareTo(d) >= 0) {
+            z.subtract(d);
+            q.add(one);
+        }
+    }
+
+    /**
+     * Helper method. Computes <i>&lfloor;BASE<sup>2n</sup> / d&rfloor;</i> for normalized divisor
+     * of <i>n</i> coefficients by one Newton step from the reciprocal of its higher half.
+     */
+    private static MutableLarge inverse(final MutableLarge d, int n) {
+        final MutableLarge power = new MutableLarge(2 * n + 1).set(1).shiftLeft(64 * n);
+
+        if (n < NEWTON_THRESHOLD) {
+            final MutableLarge x = new MutableLarge(n + 2);
+            power.divide(d, x);
+            return x;
+        }
+
+        // x = inverse(dh) * BASE^k approximates the reciprocal with relative error about BASE^-h
+        final int h = (n + 1) >>> 1;
+        final int k = n - h;
+        final MutableLarge rh = inverse(new MutableLarge(d).shiftRight(32 * k), h);
+        final MutableLarge x = new MutableLarge(rh).shiftLeft(32 * k);
+
+        // e = BASE^2n - dx, only its coefficients from n - 1 contribute to x * e / BASE^2n
+        final MutableLarge product = new MutableLarge(n + rh.length + k).multiply(d, rh).shiftLeft(32 * k);
+        final boolean below = product.compareTo(power) <= 0;
+        final MutableLarge e = below ? new MutableLarge(power).subtract(product) : product.subtract(power);
+        e.shiftRight(32 * (n - 1));
+
+        final MutableLarge delta = new MutableLarge(rh.length + e.length).multiply(rh, e).shiftRight(32 * (h + 1));
+        final MutableLarge one = new MutableLarge().set(1);
+        if (below) {
+            x.add(delta);
+        } else {
+            x.subtract(delta.add(one));
+        }
+
+        // the error is a few units, correct it by the exact reminder
+        final MutableLarge dx = new MutableLarge(n + x.length).multiply(d, x);
+        while (dx.compareTo(power) > 0) {
+            dx.subtract(d);
+            x.subtract(one);
+        }
+
+        power.subtract(dx);
+        while (power.compareTo(d) >= 0) {
+            power.subtract(d);
+            x.add(one);
+        }
+        return x;
+    }
+}
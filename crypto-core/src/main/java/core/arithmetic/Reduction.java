@@ -0,0 +1,139 @@
+package core.arithmetic;
+
+import java.util.Arrays;
+
+/**
+ * Modular multiplication of residues of a fixed modulus on <i>n</i> coefficients, in the representation
+ * of a reduction routine: Montgomery one for odd moduli, plain residues for Barrett reduction and special forms
+ * of {@link PrimeField}. Operations take caller-owned buffers and never allocate.
+ *
+ * @author vadym
+ * @since 17.10.26 17:10
+ */
+abstract class Reduction {
+    /**
+     * Number of coefficients of representations.
+     */
+    final int n;
+
+
+    Reduction(int n) {
+        this.n = n;
+    }
+
+
+    /**
+     * Returns reduction of a modulus greater than one: Montgomery one for odd modulus, Barrett one otherwise.
+     */
+    static Reduction of(final Large modulus) {
+        return modulus.testBit(0)
+                ? new Montgomery(new MontgomeryContext(modulus))
+                : new Barrett(new BarrettReducer(modulus));
+    }
+
+    /**
+     * Writes coefficients of <i>x mod m</i>, negative numbers included, in <i>n</i> coefficients of <i>r</i>.
+     */
+    static void residue(final Large x, final Large modulus, final int[] r) {
+        final MutableLarge m = new MutableLarge(modulus);
+        final MutableLarge reduced = new MutableLarge(x.abs()).reduce(m);
+        if (x.sign() < 0 && !reduced.isZero()) reduced.set(m.subtract(reduced));
+
+        Arrays.fill(r, 0);
+        System.arraycopy(reduced.value, 0, r, 0, reduced.length);
+    }
+
+    /**
+     * Returns a new scratch buffer of operations.
+     */
+    abstract int[] scratch();
+
+    /**
+     * Computes representation of a product of representations, <i>r</i> could be an operand.
+     */
+    abstract void multiply(final int[] x, final int[] y, final int[] r, final int[] s);
+
+    /**
+     * Computes representation of a square of representation, <i>r</i> could be the operand.
+     */
+    abstract void square(final int[] x, final int[] r, final int[] s);
+
+    /**
+     * Converts a residue into representation, <i>r</i> could be the residue.
+     */
+    void encode(final int[] x, final int[] r, final int[] s) {
+        if (x != r) System.arraycopy(x, 0, r, 0, n);
+    }
+
+    /**
+     * Converts a representation into a residue, <i>r</i> could be the representation.
+     */
+    void decode(final int[] x, final int[] r, final int[] s) {
+        if (x != r) System.arraycopy(x, 0, r, 0, n);
+    }
+
+
+    /**
+     * Montgomery reduction for any odd modulus, residues are kept in Montgomery representation.
+     */
+    static final class Montgomery extends Reduction {
+        private final MontgomeryContext context;
+
+        Montgomery(final MontgomeryContext context) {
+            super(context.size());
+            this.context = context;
+        }
+
+        @Override
+        int[] scratch() {
+            return context.scratch();
+        }
+
+        @Override
+        void multiply(final int[] x, final int[] y, final int[] r, final int[] s) {
+            context.multiply(x, y, r, s);
+        }
+
+        @Override
+        void square(final int[] x, final int[] r, final int[] s) {
+            context.square(x, r, s);
+        }
+
+        @Override
+        void encode(final int[] x, final int[] r, final int[] s) {
+            context.toMontgomery(x, r, s);
+        }
+
+        @Override
+        void decode(final int[] x, final int[] r, final int[] s) {
+            context.fromMontgomery(x, r, s);
+        }
+    }
+
+    /**
+     * Barrett reduction for any modulus greater than one, residues are kept as they are.
+     */
+    static final class Barrett extends Reduction {
+        private final BarrettReducer reducer;
+
+        Barrett(final BarrettReducer reducer) {
+            super(reducer.size());
+            this.reducer = reducer;
+        }
+
+        @Override
+        int[] scratch() {
+            return reducer.scratch();
+        }
+
+        @Override
+        void multiply(final int[] x, final int[] y, final int[] r, final int[] s) {
+            reducer.multiply(x, y, r, s);
+        }
+
+        @Override
+        void square(final int[] x, final int[] r, final int[] s) {
+            reducer.square(x, r, s);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package core.arithmetic;
+
+import java.util.Arrays;
+
+/**
+ * Toom-Cook 3-way and 4-way multiplication and squaring.
+ * <p>
+ * Operands are split into 3 (or 4) parts of <i>k</i> coefficients and considered as polynomials in
+ * <i>x = BASE<sup>k</sup></i>. Their product is evaluated in 5 (or 7) points by recursive
+ * multiplications of parts' combinations, then interpolated back with additions, shifts and
+ * exact divisions by small constants. The complexity of computation is
+ * &Theta;(n<sup>log₃5</sup>) and &Theta;(n<sup>log₄7</sup>) respectively.
+ * <p>
+ * Evaluated values could be negative, so they are kept as signed {@link Large} numbers;
+ * the allocation is linear per level while the work is not.
+ *
+ * @author vadym
+ * @since 17.10.26 14:15
+ * @see <a href="http://en.wikipedia.org/wiki/Toom%E2%80%93Cook_multiplication">Toom-Cook multiplication</a>
+ */
+final class ToomCook {
+    /**
+     * Mask for reading a coefficient as unsigned value.
+     */
+    private static final long MASK = Large.MASK;
+
+
+    private ToomCook() {
+    }
+
+
+    /**
+     * Toom-3 multiplication, evaluation in points 0, 1, -1, 2 and &infin;.
+     * Interpolation sequence is by M. Bodrato.
+     * Writes exactly <i>alen + blen</i> coefficients of the product, where <i>alen &ge; blen</i>.
+     */
+    static void multiply3(final int[] a, int aoff, int alen,
+                          final int[] b, int boff, int blen,
+                          final int[] r, int roff) {
+        final int k = (alen + 2) / 3;
+        final boolean square = a == b && aoff == boff && alen == blen;
+
+        final Large a0 = part(a, aoff, alen, 0, k);
+        final Large a1 = part(a, aoff, alen, k, k);
+        final Large a2 = part(a, aoff, alen, 2 * k, k);
+        final Large b0 = square ? a0 : part(b, boff, blen, 0, k);
+        final Large b1 = square ? a1 : part(b, boff, blen, k, k);
+        final Large b2 = square ? a2 : part(b, boff, blen, 2 * k, k);
+
+        Large da = a2.add(a0);
+        Large db = square ? da : b2.add(b0);
+
+        final Large v0 = product(a0, b0, square);
+        final Large vm1 = product(da.subtract(a1), db.subtract(b1), square);
+
+        da = da.add(a1);
+        db = square ? da : db.add(b1);
+
+        final Large v1 = product(da, db, square);
+        final Large v2 = product(
+                shift(da.add(a2), 1).subtract(a0),
+                square ? null : shift(db.add(b2), 1).subtract(b0),
+                square);
+        final Large vinf = product(a2, b2, square);
+
+        // interpolation
+        Large t2 = exactDivide(v2.subtract(vm1), 3);
+        Large tm1 = exactDivide(v1.subtract(vm1), 2);
+        Large t1 = v1.subtract(v0);
+        t2 = exactDivide(t2.subtract(t1), 2);
+        t1 = t1.subtract(tm1).subtract(vinf);
+        t2 = t2.subtract(shift(vinf, 1));
+        tm1 = tm1.subtract(t2);
+
+        // a * b = vinf * x^4 + t2 * x^3 + t1 * x^2 + tm1 * x + v0
+        final int length = alen + blen;
+        Arrays.fill(r, roff, roff + length, 0);
+
+        place(r, roff, length, v0, 0);
+        place(r, roff, length, tm1, k);
+        place(r, roff, length, t1, 2 * k);
+        place(r, roff, length, t2, 3 * k);
+        place(r, roff, length, vinf, 4 * k);
+    }
+
+    /**
+     * Toom-4 multiplication, evaluation in points 0, 1, -1, 2, -2, 1/2 and &infin;.
+     * Writes exactly <i>alen + blen</i> coefficients of the product, where <i>alen &ge; blen</i>.
+     */
+    static void multiply4(final int[] a, int aoff, int alen,
+                          final int[] b, int boff, int blen,
+                          final int[] r, int roff) {
+        final int k = (alen + 3) / 4;
+        final boolean square = a == b && aoff == boff && alen == blen;
+
+        final Large[] pa = evaluate4(a, aoff, alen, k);
+        final Large[] pb = square ? pa : evaluate4(b, boff, blen, k);
+
+        final Large v0 = product(pa[0], pb[0], square);
+        final Large v1 = product(pa[1], pb[1], square);
+        final Large vm1 = product(pa[2], pb[2], square);
+        final Large v2 = product(pa[3], pb[3], square);
+        final Large vm2 = product(pa[4], pb[4], square);
+        final Large vh = product(pa[5], pb[5], square);
+        final Large vinf = product(pa[6], pb[6], square);
+
+        // interpolation of c0 + c1 x + ... + c6 x^6, with c0 = v0 and c6 = vinf
+        final Large e1 = exactDivide(v1.add(vm1), 2);                 // c0 + c2 + c4 + c6
+        final Large o1 = exactDivide(v1.subtract(vm1), 2);            // c1 + c3 + c5
+        final Large e2 = exactDivide(v2.add(vm2), 2);                 // c0 + 4c2 + 16c4 + 64c6
+        final Large o2 = exactDivide(v2.subtract(vm2), 4);            // c1 + 4c3 + 16c5
+
+        final Large s = e1.subtract(v0).subtract(vinf);                             // c2 + c4
+        final Large t = e2.subtract(v0).subtract(shift(vinf, 6));                    // 4c2 + 16c4
+        final Large c4 = exactDivide(t.subtract(shift(s, 2)), 12);
+        final Large c2 = s.subtract(c4);
+
+        final Large u = exactDivide(vh                                              // 16c1 + 4c3 + c5
+                .subtract(shift(v0, 6))
+                .subtract(shift(c2, 4))
+                .subtract(shift(c4, 2))
+                .subtract(vinf), 2);
+        final Large p = exactDivide(o2.subtract(o1), 3);                            // c3 + 5c5
+        final Large q = shift(o1, 4).subtract(u);                                   // 12c3 + 15c5
+
+        final Large c5 = exactDivide(p.multiply(12).subtract(q), 45);
+        final Large c3 = p.subtract(c5.multiply(5));
+        final Large c1 = o1.subtract(c3).subtract(c5);
+
+        final int length = alen + blen;
+        Arrays.fill(r, roff, roff + length, 0);
+
+        place(r, roff, length, v0, 0);
+        place(r, roff, length, c1, k);
+        place(r, roff, length, c2, 2 * k);
+        place(r, roff, length, c3, 3 * k);
+        place(r, roff, length, c4, 4 * k);
+        place(r, roff, length, c5, 5 * k);
+        place(r, roff, length, vinf, 6 * k);
+    }
+
+
+    /**
+     * Helper method. Evaluates a number split into 4 parts as a polynomial
+     * in points 0, 1, -1, 2, -2, 1/2 (scaled by 8) and &infin;.
+     *
+     * @return values in the order of points.
+     */
+    private static Large[] evaluate4(final int[] a, int aoff, int alen, int k) {
+        final Large a0 = part(a, aoff, alen, 0, k);
+        final Large a1 = part(a, aoff, alen, k, k);
+        final Large a2 = part(a, aoff, alen, 2 * k, k);
+        final Large a3 = part(a, aoff, alen, 3 * k, k);
+
+        final Large even1 = a0.add(a2);
+        final Large odd1 = a1.add(a3);
+        final Large even2 = a0.add(shift(a2, 2));
+        final Large odd2 = shift(a1, 1).add(shift(a3, 3));
+        final Large half = shift(shift(shift(a0, 1).add(a1), 1).add(a2), 1).add(a3);
+
+        return new Large[]{
+                a0,
+                even1.add(odd1),
+                even1.subtract(odd1),
+                even2.add(odd2),
+                even2.subtract(odd2),
+                half,
+                a3
+        };
+    }
+
+    /**
+     * Helper method. Multiplies evaluated values.
+     *
+     * @param y second factor, ignored on squaring.
+     * @param square if <code>true</code> <i>x<sup>2</sup></i> is computed.
+     */
+    private static Large product(final Large x, final Large y, boolean square) {
+        return square ? x.square() : x.multiply(y);
+    }
+
+    /**
+     * Helper method. Returns <i>k</i> coefficients of a number starting with <i>from</i>,
+     * or less if the number is shorter.
+     */
+    private static Large part(final int[] a, int aoff, int alen, int from, int k) {
+        final int to = Math.min(alen, from + k);
+        if (to <= from) return new Large();
+
+        return new Large(new Digits(Arrays.copyOfRange(a, aoff + from, aoff + to), to - from), false);
+    }
+
+    /**
+     * Helper method. Returns <i>x * 2<sup>bits</sup></i>.
+     */
+    private static Large shift(final Large x, int bits) {
+        return new Large(new MutableLarge(x).shiftLeft(bits), x.sign() < 0);
+    }
+
+    /**
+     * Helper method. Divides a number by a small constant which is known to divide it.
+     * The odd part of divisor is divided by multiplication by its inverse modulo BASE,
+     * from the least significant coefficient, without any hardware division.
+     *
+     * @param x a number to be divided.
+     * @param d a positive divisor, less than 2<sup>31</sup>.
+     * @return <i>x / d</i>.
+     */
+    static Large exactDivide(final Large x, int d) {
+        final MutableLarge m = new MutableLarge(x).shiftRight(Integer.numberOfTrailingZeros(d));
+        final long odd = d >>> Integer.numberOfTrailingZeros(d);
+
+        if (odd != 1) {
+            // inverse of odd modulo 2^32 by Newton iteration, every step doubles correct bits
+            int inv = (int) odd;
+            for (int i = 0; i < 5; i++) inv *= 2 - (int) odd * inv;
+
+            final int[] q = m.value;
+            long carry = 0;
+
+            for (int i = 0; i < m.length; i++) {
+                final long qi = ((q[i] - (int) carry) * inv) & MASK;
+                carry = (qi * odd + carry) >>> 32;
+                q[i] = (int) qi;
+            }
+            m.normalize();
+        }
+
+        return new Large(m, x.sign() < 0);
+    }
+
+    /**
+     * Helper method. Adds a non-negative coefficient of the product at its place.
+     */
+    private static void place(final int[] r, int roff, int length, final Large c, int at) {
+        final Digits digits = c.digits;
+        int n = digits.size();
+        while (n > 0 && digits.limbs[n - 1] == 0) n--;
+
+        if (n > 0) Multiplication.add(r, roff + at, length - at, digits.limbs, 0, n);
+    }
+}
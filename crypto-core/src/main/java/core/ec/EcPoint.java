@@ -0,0 +1,160 @@
+package core.ec;
+
+import core.arithmetic.FieldElement;
+import core.arithmetic.Large;
+
+/**
+ * Point of an {@link EllipticCurve} in affine coordinates, or the point at infinity.
+ * <p>
+ * Points are immutable and could be shared between threads. Operations are done in Jacobian coordinates,
+ * so a single inversion of the field is spent per operation to return an affine result.
+ *
+ * @author vadym
+ * @since 17.10.26 16:16
+ */
+public final class EcPoint {
+    private final EllipticCurve curve;
+    /**
+     * Affine coordinates, never changed, <code>null</code> for the point at infinity.
+     */
+    final FieldElement x, y;
+
+
+    /**
+     * Helper constructor. Creates the point at infinity.
+     */
+    EcPoint(final EllipticCurve curve) {
+        this(curve, null, null);
+    }
+
+    /**
+     * Helper constructor. Takes ownership of coordinates, which must not be changed afterwards.
+     */
+    EcPoint(final EllipticCurve curve, final FieldElement x, final FieldElement y) {
+        this.curve = curve;
+        this.x = x;
+        this.y = y;
+    }
+
+
+    /**
+     * Returns the curve of this point.
+     *
+     * @return the curve.
+     */
+    public EllipticCurve curve() {
+        return curve;
+    }
+
+    /**
+     * Checks if this point is the point at infinity.
+     *
+     * @return <code>true</code> for the point at infinity.
+     */
+    public boolean isInfinity() {
+        return x == null;
+    }
+
+    /**
+     * Returns affine coordinate <i>x</i> of this point.
+     *
+     * @return the coordinate in range <i>[0, p)</i>.
+     * @throws ArithmeticException if this is the point at infinity.
+     */
+    public Large x() {
+        if (isInfinity()) throw new ArithmeticException("Point at infinity");
+        return x.toLarge();
+    }
+
+    /**
+     * Returns affine coordinate <i>y</i> of this point.
+     *
+     * @return the coordinate in range <i>[0, p)</i>.
+     * @throws ArithmeticException if this is the point at infinity.
+     */
+    public Large y() {
+        if (isInfinity()) throw new ArithmeticException("Point at infinity");
+        return y.toLarge();
+    }
+
+    /**
+     * Returns the inverse of this point in the group of points.
+     *
+     * @return <i>-P</i>.
+     */
+    public EcPoint negate() {
+        if (isInfinity()) return this;
+        return new EcPoint(curve, x, curve.field().element().negate(y));
+    }
+
+    /**
+     * Provides addition of points.
+     *
+     * @param other a point of the same curve.
+     * @return <i>P + Q</i>.
+     * @throws IllegalArgumentException if the point belongs to another curve.
+     */
+    public EcPoint add(final EcPoint other) {
+        check(other);
+        if (isInfinity()) return other;
+        if (other.isInfinity()) return this;
+
+        final PointArithmetic arithmetic = new PointArithmetic(curve);
+        final Jacobian r = arithmetic.jacobian(this);
+        arithmetic.add(r, other, false);
+        return arithmetic.affine(r);
+    }
+
+    /**
+     * Provides doubling of point.
+     *
+     * @return <i>2P</i>.
+     */
+    public EcPoint twice() {
+        if (isInfinity()) return this;
+
+        final PointArithmetic arithmetic = new PointArithmetic(curve);
+        final Jacobian r = arithmetic.jacobian(this);
+        arithmetic.twice(r);
+        return arithmetic.affine(r);
+    }
+
+    /**
+     * Provides scalar multiplication of point by width-<i>w</i> non-adjacent form of the scalar
+     * with precomputed odd multiples of the point.
+     *
+     * @param k any number, negative ones included.
+     * @return <i>kP</i>.
+     */
+    public EcPoint multiply(final Large k) {
+        return new PointArithmetic(curve).multiply(this, k);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EcPoint)) return false;
+
+        final EcPoint other = (EcPoint) o;
+        if (curve != other.curve || isInfinity() != other.isInfinity()) return false;
+        return isInfinity() || x.equals(other.x) && y.equals(other.y);
+    }
+
+    @Override
+    public int hashCode() {
+        return isInfinity() ? 0 : 31 * x.hashCode() + y.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return isInfinity() ? "(infinity)" : "(" + x + ", " + y + ")";
+    }
+
+
+    /**
+     * Helper method. Checks that the point belongs to the same curve.
+     */
+    private void check(final EcPoint other) {
+        if (other.curve != curve) throw new IllegalArgumentException("Points of different curves");
+    }
+}
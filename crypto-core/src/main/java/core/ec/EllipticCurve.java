@@ -0,0 +1,150 @@
+package core.ec;
+
+import core.arithmetic.FieldElement;
+import core.arithmetic.Large;
+import core.arithmetic.PrimeField;
+
+/**
+ * Elliptic curve in short Weierstrass form <i>y<sup>2</sup> = x<sup>3</sup> + ax + b</i> over a prime field,
+ * the factory of its {@link EcPoint points}.
+ * <p>
+ * Curves with <i>a = 0</i> or <i>a = -3</i>, as secp256k1 and NIST curves, are doubled by cheaper formulas.
+ * The curve is immutable and could be shared between threads.
+ *
+ * @author vadym
+ * @since 17.10.26 16:16
+ */
+public final class EllipticCurve {
+    private final PrimeField field;
+    private final Large a, b;
+    /**
+     * Coefficients as field elements, never changed.
+     */
+    final FieldElement elementA, elementB;
+    /**
+     * Special forms of coefficient <i>a</i>.
+     */
+    final boolean zeroA, minusThreeA;
+    private final EcPoint infinity;
+
+
+    /**
+     * Creates a curve over the field of a prime.
+     *
+     * @param p a prime modulus greater than 3.
+     * @param a coefficient <i>a</i>, reduced modulo <i>p</i>.
+     * @param b coefficient <i>b</i>, reduced modulo <i>p</i>.
+     * @throws IllegalArgumentException if modulus is not a prime greater than 3 or the curve is singular.
+     */
+    public EllipticCurve(final Large p, final Large a, final Large b) {
+        this(new PrimeField(p), a, b);
+    }
+
+    /**
+     * Creates a curve over the field.
+     *
+     * @param field a prime field of characteristic greater than 3.
+     * @param a     coefficient <i>a</i>, reduced modulo <i>p</i>.
+     * @param b     coefficient <i>b</i>, reduced modulo <i>p</i>.
+     * @throws IllegalArgumentException if characteristic is not greater than 3 or the curve is singular.
+     */
+    public EllipticCurve(final PrimeField field, final Large a, final Large b) {
+        if (field.modulus().bitLength() < 3) throw new IllegalArgumentException("Characteristic must be greater than 3");
+
+        this.field = field;
+        this.elementA = field.element(a);
+        this.elementB = field.element(b);
+        this.a = elementA.toLarge();
+        this.b = elementB.toLarge();
+
+        // discriminant 4a^3 + 27b^2 must not vanish
+        final FieldElement t = field.element().square(elementA);
+        t.multiply(t, elementA);
+        final FieldElement u = field.element().square(elementB);
+        t.multiply(t, field.element(Large.valueOf(4))).add(t, u.multiply(u, field.element(Large.valueOf(27))));
+        if (t.isZero()) throw new IllegalArgumentException("Singular curve");
+
+        this.zeroA = elementA.isZero();
+        this.minusThreeA = elementA.equals(field.element(Large.valueOf(-3)));
+        this.infinity = new EcPoint(this);
+    }
+
+
+    /**
+     * Returns the field of this curve.
+     *
+     * @return the field.
+     */
+    public PrimeField field() {
+        return field;
+    }
+
+    /**
+     * Returns coefficient <i>a</i> of this curve.
+     *
+     * @return the coefficient in range <i>[0, p)</i>.
+     */
+    public Large a() {
+        return a;
+    }
+
+    /**
+     * Returns coefficient <i>b</i> of this curve.
+     *
+     * @return the coefficient in range <i>[0, p)</i>.
+     */
+    public Large b() {
+        return b;
+    }
+
+    /**
+     * Returns the point at infinity, the neutral element of the group of points.
+     *
+     * @return the point at infinity.
+     */
+    public EcPoint infinity() {
+        return infinity;
+    }
+
+    /**
+     * Returns a point of this curve by its affine coordinates.
+     *
+     * @param x coordinate <i>x</i>, reduced modulo <i>p</i>.
+     * @param y coordinate <i>y</i>, reduced modulo <i>p</i>.
+     * @return the point.
+     * @throws IllegalArgumentException if the point is not on this curve.
+     */
+    public EcPoint point(final Large x, final Large y) {
+        final FieldElement ex = field.element(x), ey = field.element(y);
+        if (!contains(ex, ey)) throw new IllegalArgumentException("Point is not on the curve");
+
+        return new EcPoint(this, ex, ey);
+    }
+
+    /**
+     * Checks if a point with affine coordinates is on this curve.
+     *
+     * @param x coordinate <i>x</i>, any number.
+     * @param y coordinate <i>y</i>, any number.
+     * @return <code>true</code> if <i>y<sup>2</sup> = x<sup>3</sup> + ax + b mod p</i>.
+     */
+    public boolean contains(final Large x, final Large y) {
+        return contains(field.element(x), field.element(y));
+    }
+
+    @Override
+    public String toString() {
+        return "y^2 = x^3 + " + a + "x + " + b + " over " + field;
+    }
+
+
+    /**
+     * Helper method. Checks the equation of curve on field elements.
+     */
+    private boolean contains(final FieldElement x, final FieldElement y) {
+        // x^3 + ax + b = (x^2 + a)x + b
+        final FieldElement right = field.element().square(x);
+        right.add(right, elementA).multiply(right, x).add(right, elementB);
+        return right.equals(field.element().square(y));
+    }
+}
@@ -0,0 +1,158 @@
+package core.ec;
+
+import core.arithmetic.Large;
+
+/**
+ * Scalar multiplication of a fixed point, such as the generator of a curve, by comb method of Lim and Lee.
+ * <p>
+ * Scalar of at most <i>t</i> bits is written as a matrix of <i>h</i> rows of <i>a = &lceil;t / h&rceil;</i> bits,
+ * so a column of bits is an index into a table of all <i>2<sup>h</sup></i> sums of multiples
+ * <i>2<sup>ia</sup>P</i>. Columns are split into <i>v</i> blocks of <i>b = &lceil;a / v&rceil;</i>
+ * columns with a table per block, so the multiple is computed by <i>b</i> doublings and at most <i>a</i>
+ * mixed additions, instead of <i>t</i> doublings by window methods.
+ * <p>
+ * Tables keep affine points, normalized by a single simultaneous inversion, and never change,
+ * so the multiplier could be shared between threads without locking.
+ *
+ * @author vadym
+ * @since 17.10.26 16:16
+ * @see core.arithmetic.FixedBaseExponentiator
+ */
+public final class FixedBaseMultiplier {
+    /**
+     * Default number of rows of scalar, the teeth of comb.
+     */
+    static final int TEETH = 6;
+    /**
+     * Default number of blocks of columns.
+     */
+    static final int BLOCKS = 2;
+
+    private final EcPoint base;
+    private final int bits, teeth, blocks;
+    /**
+     * Number of bits of a row, <i>a</i>, and number of columns of a block, <i>b</i>.
+     */
+    private final int width, columns;
+    /**
+     * Tables of blocks, <i>table[s][j]</i> is the sum of <i>2<sup>ia + sb</sup>P</i> over bits <i>i</i> of <i>j</i>.
+     */
+    private final EcPoint[][] table;
+
+
+    /**
+     * Creates a multiplier with default table size, {@value #BLOCKS} tables of <i>2<sup>{@value #TEETH}</sup></i> points.
+     *
+     * @param base a point.
+     * @param bits maximal bit length of scalars, longer ones are multiplied by window method.
+     * @throws IllegalArgumentException if bit length is not positive.
+     */
+    public FixedBaseMultiplier(final EcPoint base, int bits) {
+        this(base, bits, TEETH, BLOCKS);
+    }
+
+    /**
+     * Creates a multiplier with tables of given size.
+     *
+     * @param base   a point.
+     * @param bits   maximal bit length of scalars, longer ones are multiplied by window method.
+     * @param teeth  number of rows of scalar, from 1 to 16, a table has <i>2<sup>teeth</sup></i> points.
+     * @param blocks number of blocks of columns, a positive number of tables.
+     * @throws IllegalArgumentException if bit length, teeth or blocks are out of range.
+     */
+    public FixedBaseMultiplier(final EcPoint base, int bits, int teeth, int blocks) {
+        if (bits <= 0) throw new IllegalArgumentException("Bit length must be positive");
+        if (teeth < 1 || teeth > 16) throw new IllegalArgumentException("Teeth must be from 1 to 16");
+        if (blocks < 1) throw new IllegalArgumentException("Blocks must be positive");
+
+        this.base = base;
+        this.bits = bits;
+        this.teeth = teeth;
+        this.width = (bits + teeth - 1) / teeth;
+
+        // columns of a block, the number of blocks is corrected so none is empty
+        this.columns = (width + blocks - 1) / blocks;
+        this.blocks = (width + columns - 1) / columns;
+
+        this.table = tables();
+    }
+
+
+    /**
+     * Returns the base point of this multiplier.
+     *
+     * @return the base point.
+     */
+    public EcPoint base() {
+        return base;
+    }
+
+    /**
+     * Provides scalar multiplication of the base point.
+     *
+     * @param k any number, negative ones included.
+     * @return <i>kP</i>.
+     */
+    public EcPoint multiply(final Large k) {
+        if (k.bitLength() > bits) return base.multiply(k);
+
+        final PointArithmetic arithmetic = new PointArithmetic(base.curve());
+        final Jacobian r = new Jacobian(base.curve().field());
+        final boolean negative = k.sign() < 0;
+
+        for (int c = columns - 1; c >= 0; c--) {
+            arithmetic.twice(r);
+
+            for (int s = 0; s < blocks; s++) {
+                final int column = s * columns + c;
+                if (column >= width) continue;
+
+                // bits of the column from every row
+                int index = 0;
+                for (int i = 0, bit = column; i < teeth; i++, bit += width) {
+                    if (k.testBit(bit)) index |= 1 << i;
+                }
+                if (index != 0) arithmetic.add(r, table[s][index], negative);
+            }
+        }
+        return arithmetic.affine(r);
+    }
+
+
+    /**
+     * Helper method. Computes tables of blocks: multiples <i>2<sup>ia + sb</sup>P</i> by a single chain
+     * of doublings, and their sums by one addition each, then normalizes all of them at once.
+     */
+    private EcPoint[][] tables() {
+        final int size = 1 << teeth;
+        final PointArithmetic arithmetic = new PointArithmetic(base.curve());
+        final Jacobian[] points = new Jacobian[blocks * size];
+        final Jacobian x = arithmetic.jacobian(base);
+
+        int position = 0;
+        for (int i = 0; i < teeth; i++) {
+            for (int s = 0; s < blocks; s++) {
+                for (; position < i * width + s * columns; position++) arithmetic.twice(x);
+                points[s * size + (1 << i)] = new Jacobian(base.curve().field()).set(x);
+            }
+        }
+
+        for (int s = 0; s < blocks; s++) {
+            points[s * size] = new Jacobian(base.curve().field());
+            for (int j = 3; j < size; j++) {
+                if ((j & (j - 1)) == 0) continue;
+
+                // j without its highest bit, plus the multiple of the highest bit
+                final int high = Integer.highestOneBit(j);
+                final Jacobian r = new Jacobian(base.curve().field()).set(points[s * size + (j ^ high)]);
+                arithmetic.add(r, points[s * size + high], false);
+                points[s * size + j] = r;
+            }
+        }
+
+        final EcPoint[] affine = arithmetic.affine(points);
+        final EcPoint[][] t = new EcPoint[blocks][size];
+        for (int s = 0; s < blocks; s++) System.arraycopy(affine, s * size, t[s], 0, size);
+        return t;
+    }
+}
@@ -0,0 +1,67 @@
+package core.ec;
+
+import core.arithmetic.FieldElement;
+import core.arithmetic.PrimeField;
+
+/**
+ * Mutable point in Jacobian coordinates: <i>(X, Y, Z)</i> is the affine point <i>(X / Z<sup>2</sup>, Y / Z<sup>3</sup>)</i>,
+ * the point at infinity has <i>Z = 0</i>.
+ *
+ * @author vadym
+ * @since 17.10.26 16:16
+ */
+final class Jacobian {
+    final FieldElement x, y, z;
+
+
+    /**
+     * Creates the point at infinity.
+     */
+    Jacobian(final PrimeField field) {
+        this.x = field.one();
+        this.y = field.one();
+        this.z = field.element();
+    }
+
+
+    /**
+     * Checks if this is the point at infinity.
+     */
+    boolean isInfinity() {
+        return z.isZero();
+    }
+
+    /**
+     * Assigns the point at infinity.
+     */
+    Jacobian setInfinity() {
+        z.setZero();
+        return this;
+    }
+
+    /**
+     * Assigns another point.
+     */
+    Jacobian set(final Jacobian p) {
+        x.set(p.x);
+        y.set(p.y);
+        z.set(p.z);
+        return this;
+    }
+
+    /**
+     * Assigns an affine point, <i>Z = 1</i>.
+     */
+    Jacobian set(final EcPoint p, boolean negate) {
+        if (p.isInfinity()) return setInfinity();
+
+        x.set(p.x);
+        if (negate) {
+            y.negate(p.y);
+        } else {
+            y.set(p.y);
+        }
+        z.setOne();
+        return this;
+    }
+}
@@ -0,0 +1,98 @@
+package core.ec;
+
+import core.arithmetic.Large;
+
+/**
+ * Standard curve with a generator of prime order, as published in FIPS 186-4 and SEC 2.
+ *
+ * @author vadym
+ * @since 17.10.26 16:16
+ * @see <a href="http://www.secg.org/sec2-v2.pdf">SEC 2: Recommended Elliptic Curve Domain Parameters</a>
+ */
+public final class NamedCurve {
+    /**
+     * NIST P-256, secp256r1.
+     */
+    public static final NamedCurve P256 = new NamedCurve("P-256",
+            "115792089210356248762697446949407573530086143415290314195533631308867097853951",
+            "115792089210356248762697446949407573530086143415290314195533631308867097853948",
+            "41058363725152142129326129780047268409114441015993725554835256314039467401291",
+            "48439561293906451759052585252797914202762949526041747995844080717082404635286",
+            "36134250956749795798585127919587881956611106672985015071877198253568414405109",
+            "115792089210356248762697446949407573529996955224135760342422259061068512044369");
+    /**
+     * NIST P-384, secp384r1.
+     */
+    public static final NamedCurve P384 = new NamedCurve("P-384",
+            "39402006196394479212279040100143613805079739270465446667948293404245721771496870329047266088258938001861606973112319",
+            "39402006196394479212279040100143613805079739270465446667948293404245721771496870329047266088258938001861606973112316",
+            "27580193559959705877849011840389048093056905856361568521428707301988689241309860865136260764883745107765439761230575",
+            "26247035095799689268623156744566981891852923491109213387815615900925518854738050089022388053975719786650872476732087",
+            "8325710961489029985546751289520108179287853048861315594709205902480503199884419224438643760392947333078086511627871",
+            "39402006196394479212279040100143613805079739270465446667946905279627659399113263569398956308152294913554433653942643");
+    /**
+     * Koblitz curve secp256k1.
+     */
+    public static final NamedCurve SECP256K1 = new NamedCurve("secp256k1",
+            "115792089237316195423570985008687907853269984665640564039457584007908834671663",
+            "0",
+            "7",
+            "55066263022277343669578718895168534326250603453777594175500187360389116729240",
+            "32670510020758816978083085130507043184471273380659243275938904335757337482424",
+            "115792089237316195423570985008687907852837564279074904382605163141518161494337");
+
+    private final String name;
+    private final EllipticCurve curve;
+    private final EcPoint generator;
+    private final Large order;
+
+
+    private NamedCurve(String name, String p, String a, String b, String x, String y, String order) {
+        this.name = name;
+        this.curve = new EllipticCurve(new Large(p), new Large(a), new Large(b));
+        this.generator = curve.point(new Large(x), new Large(y));
+        this.order = new Large(order);
+    }
+
+
+    /**
+     * Returns the name of this curve.
+     *
+     * @return the name.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the curve.
+     *
+     * @return the curve.
+     */
+    public EllipticCurve curve() {
+        return curve;
+    }
+
+    /**
+     * Returns the generator of the group of points.
+     *
+     * @return the generator.
+     */
+    public EcPoint generator() {
+        return generator;
+    }
+
+    /**
+     * Returns the prime order of the generator, cofactor of all these curves is 1.
+     *
+     * @return the order.
+     */
+    public Large order() {
+        return order;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,291 @@
+package core.ec;
+
+import core.arithmetic.FieldElement;
+import core.arithmetic.Large;
+import core.arithmetic.PrimeField;
+
+/**
+ * Point operations of a curve in Jacobian coordinates, done in place with temporaries owned by the instance,
+ * so no inversion and no allocation happens per step. Formulas are taken from Explicit-Formulas Database:
+ * doubling dbl-2001-b, with <i>3X<sup>2</sup> + aZ<sup>4</sup></i> unless <i>a = -3</i>, addition add-2007-bl
+ * and mixed addition madd-2007-bl.
+ * <p>
+ * Not thread safe, an instance is used by a single operation.
+ *
+ * @author vadym
+ * @since 17.10.26 16:16
+ * @see <a href="https://hyperelliptic.org/EFD/g1p/auto-shortw-jacobian.html">Explicit-Formulas Database</a>
+ */
+final class PointArithmetic {
+    /**
+     * Upper bounds of bit lengths of scalars for window sizes from 2.
+     */
+    private static final int[] WINDOWS = {16, 64, 160, 384};
+
+    private final EllipticCurve curve;
+    private final PrimeField field;
+    private final FieldElement t0, t1, t2, t3, t4, t5, t6;
+
+
+    PointArithmetic(final EllipticCurve curve) {
+        this.curve = curve;
+        this.field = curve.field();
+        this.t0 = field.element();
+        this.t1 = field.element();
+        this.t2 = field.element();
+        this.t3 = field.element();
+        this.t4 = field.element();
+        this.t5 = field.element();
+        this.t6 = field.element();
+    }
+
+
+    /**
+     * Returns a new Jacobian point equal to an affine one.
+     */
+    Jacobian jacobian(final EcPoint p) {
+        return new Jacobian(field).set(p, false);
+    }
+
+    /**
+     * Doubles a point in place.
+     */
+    void twice(final Jacobian p) {
+        if (p.isInfinity()) return;
+        final FieldElement x = p.x, y = p.y, z = p.z;
+
+        t1.square(y);                               // YY
+        t2.square(t1);                              // YYYY
+        t3.square(z);                               // ZZ
+        t4.multiply(x, t1).add(t4, t4).add(t4, t4); // S = 4X YY
+
+        // M = 3XX + aZZ^2, or 3(X - ZZ)(X + ZZ) for a = -3
+        if (curve.minusThreeA) {
+            t5.subtract(x, t3);
+            t6.add(x, t3);
+            t5.multiply(t5, t6);
+        } else {
+            t5.square(x);
+            if (!curve.zeroA) t6.square(t3).multiply(t6, curve.elementA);
+        }
+        t0.add(t5, t5);
+        t5.add(t5, t0);
+        if (!curve.zeroA && !curve.minusThreeA) t5.add(t5, t6);
+
+        // Z3 = (Y + Z)^2 - YY - ZZ = 2YZ
+        z.multiply(y, z);
+        z.add(z, z);
+
+        // X3 = M^2 - 2S, Y3 = M(S - X3) - 8YYYY
+        x.square(t5).subtract(x, t4).subtract(x, t4);
+        t4.subtract(t4, x);
+        y.multiply(t5, t4);
+        t2.add(t2, t2).add(t2, t2).add(t2, t2);
+        y.subtract(y, t2);
+    }
+
+    /**
+     * Adds a point or its inverse in place of the first one, <i>q</i> could not be <i>p</i>.
+     */
+    void add(final Jacobian p, final Jacobian q, boolean negate) {
+        if (q.isInfinity()) return;
+        if (p.isInfinity()) {
+            p.set(q);
+            if (negate) p.y.negate(p.y);
+            return;
+        }
+
+        t0.square(p.z);                             // Z1Z1
+        t1.square(q.z);                             // Z2Z2
+        t2.multiply(p.x, t1);                       // U1
+        t3.multiply(q.x, t0);                       // U2
+        t4.multiply(p.y, q.z).multiply(t4, t1);     // S1
+        t5.multiply(q.y, p.z).multiply(t5, t0);     // S2
+        if (negate) t5.negate(t5);
+
+        t3.subtract(t3, t2);                        // H
+        t5.subtract(t5, t4).add(t5, t5);            // r
+        if (t3.isZero()) {
+            if (t5.isZero()) {
+                twice(p);
+            } else {
+                p.setInfinity();
+            }
+            return;
+        }
+
+        // Z3 = ((Z1 + Z2)^2 - Z1Z1 - Z2Z2)H
+        p.z.add(p.z, q.z).square(p.z).subtract(p.z, t0).subtract(p.z, t1).multiply(p.z, t3);
+
+        t6.add(t3, t3).square(t6);                  // I
+        t0.multiply(t3, t6);                        // J
+        t1.multiply(t2, t6);                        // V
+
+        // X3 = r^2 - J - 2V, Y3 = r(V - X3) - 2S1J
+        p.x.square(t5).subtract(p.x, t0).subtract(p.x, t1).subtract(p.x, t1);
+        t1.subtract(t1, p.x);
+        p.y.multiply(t5, t1);
+        t4.multiply(t4, t0).add(t4, t4);
+        p.y.subtract(p.y, t4);
+    }
+
+    /**
+     * Adds an affine point or its inverse in place of Jacobian one.
+     */
+    void add(final Jacobian p, final EcPoint q, boolean negate) {
+        if (q.isInfinity()) return;
+        if (p.isInfinity()) {
+            p.set(q, negate);
+            return;
+        }
+
+        t0.square(p.z);                             // Z1Z1
+        t1.multiply(q.x, t0);                       // U2
+        t2.multiply(q.y, p.z).multiply(t2, t0);     // S2
+        if (negate) t2.negate(t2);
+
+        t1.subtract(t1, p.x);                       // H
+        t2.subtract(t2, p.y).add(t2, t2);           // r
+        if (t1.isZero()) {
+            if (t2.isZero()) {
+                twice(p);
+            } else {
+                p.setInfinity();
+            }
+            return;
+        }
+
+        t3.square(t1);                              // HH
+        t4.add(t3, t3).add(t4, t4);                 // I
+        t5.multiply(t1, t4);                        // J
+        t6.multiply(p.x, t4);                       // V
+
+        // Z3 = (Z1 + H)^2 - Z1Z1 - HH
+        p.z.add(p.z, t1).square(p.z).subtract(p.z, t0).subtract(p.z, t3);
+
+        // X3 = r^2 - J - 2V, Y3 = r(V - X3) - 2Y1J
+        p.x.square(t2).subtract(p.x, t5).subtract(p.x, t6).subtract(p.x, t6);
+        t6.subtract(t6, p.x).multiply(t6, t2);
+        t5.multiply(p.y, t5).add(t5, t5);
+        p.y.subtract(t6, t5);
+    }
+
+    /**
+     * Returns affine point of Jacobian one by a single inversion.
+     */
+    EcPoint affine(final Jacobian p) {
+        if (p.isInfinity()) return curve.infinity();
+
+        t0.invert(p.z);
+        t1.square(t0);
+        final FieldElement x = field.element().multiply(p.x, t1);
+        t1.multiply(t1, t0);
+        final FieldElement y = field.element().multiply(p.y, t1);
+        return new EcPoint(curve, x, y);
+    }
+
+    /**
+     * Returns affine points of Jacobian ones by simultaneous inversion of all <i>Z</i>.
+     */
+    EcPoint[] affine(final Jacobian[] points) {
+        final FieldElement[] z = new FieldElement[points.length];
+        for (int i = 0; i < points.length; i++) z[i] = field.element().set(points[i].z);
+        field.invert(z);
+
+        final EcPoint[] r = new EcPoint[points.length];
+        for (int i = 0; i < points.length; i++) {
+            if (points[i].isInfinity()) {
+                r[i] = curve.infinity();
+                continue;
+            }
+
+            t1.square(z[i]);
+            final FieldElement x = field.element().multiply(points[i].x, t1);
+            t1.multiply(t1, z[i]);
+            final FieldElement y = field.element().multiply(points[i].y, t1);
+            r[i] = new EcPoint(curve, x, y);
+        }
+        return r;
+    }
+
+    /**
+     * Multiplies a point by width-<i>w</i> NAF of the scalar: odd multiples <i>P, 3P, ..., (2<sup>w-1</sup> - 1)P</i>
+     * are precomputed, then every digit takes a doubling and only non-zero ones, about one of <i>w + 1</i>,
+     * take an addition. Multiple <i>P</i> is added by mixed addition, the others by Jacobian one.
+     */
+    EcPoint multiply(final EcPoint p, final Large k) {
+        if (k.sign() == 0 || p.isInfinity()) return curve.infinity();
+
+        final int w = window(k.bitLength());
+        final int[] digits = wnaf(k, w);
+        final boolean negative = k.sign() < 0;
+
+        // odd multiples from 3P by adding 2P, entry 0 is only a placeholder for the affine point
+        final Jacobian[] table = new Jacobian[1 << (w - 2)];
+        if (table.length > 1) {
+            final Jacobian twice = jacobian(p);
+            twice(twice);
+            table[1] = jacobian(p);
+            add(table[1], twice, false);
+            for (int i = 2; i < table.length; i++) {
+                table[i] = new Jacobian(field).set(table[i - 1]);
+                add(table[i], twice, false);
+            }
+        }
+
+        final Jacobian r = new Jacobian(field);
+        for (int i = digits.length - 1; i >= 0; i--) {
+            twice(r);
+
+            final int d = digits[i];
+            if (d == 0) continue;
+
+            final int index = (Math.abs(d) - 1) >>> 1;
+            if (index == 0) {
+                add(r, p, d < 0 != negative);
+            } else {
+                add(r, table[index], d < 0 != negative);
+            }
+        }
+        return affine(r);
+    }
+
+
+    /**
+     * Helper method. Returns width of NAF for a scalar of given length.
+     */
+    static int window(int bits) {
+        int w = 2;
+        while (w - 2 < WINDOWS.length && bits > WINDOWS[w - 2]) w++;
+        return w;
+    }
+
+    /**
+     * Helper method. Returns width-<i>w</i> non-adjacent form of the absolute value of scalar, from the lowest digit:
+     * every non-zero digit is odd, less than <i>2<sup>w-1</sup></i> by absolute value and followed by
+     * at least <i>w - 1</i> zeros.
+     */
+    static int[] wnaf(final Large k, int w) {
+        final int length = k.bitLength();
+        final int[] digits = new int[length + 1];
+        int carry = 0;
+
+        for (int bit = 0; bit < length; ) {
+            if ((k.testBit(bit) ? 1 : 0) == carry) {
+                bit++;
+                continue;
+            }
+
+            final int count = Math.min(w, length - bit);
+            int word = carry;
+            for (int j = 0; j < count; j++) if (k.testBit(bit + j)) word += 1 << j;
+
+            // a digit above the half of window borrows from the next one
+            carry = word >>> (w - 1) & 1;
+            digits[bit] = word - (carry << w);
+            bit += count;
+        }
+        digits[length] = carry;
+        return digits;
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * Package provides elliptic curves over prime fields and scalar multiplication of their points,
+ * built over {@link core.arithmetic.PrimeField}.
+ *
+ * @author vadym
+ * @since 17.10.26 16:16
+ */
+package core.ec;
@@ -0,0 +1,259 @@
+package core.rsa;
+
+import core.arithmetic.Large;
+import core.arithmetic.MontgomeryContext;
+import core.arithmetic.PrimeGenerator;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * RSA private key in the form of Chinese reminder theorem and its operation <i>x<sup>d</sup> mod n</i>,
+ * used for decryption and signing.
+ * <p>
+ * The key keeps the primes <i>p</i>, <i>q</i>, exponents <i>dP = d mod (p - 1)</i>, <i>dQ = d mod (q - 1)</i>
+ * and coefficient <i>qInv = q<sup>-1</sup> mod p</i>, with Montgomery contexts of both primes.
+ * The operation takes two exponentiations of half size, <i>m<sub>1</sub> = x<sup>dP</sup> mod p</i> and
+ * <i>m<sub>2</sub> = x<sup>dQ</sup> mod q</i>, which could run in parallel, and recombines them
+ * by Garner's formula <i>m = m<sub>2</sub> + q (qInv (m<sub>1</sub> - m<sub>2</sub>) mod p)</i>.
+ * Half size exponentiation costs about eight times less, so the operation is about four times faster
+ * than a single one modulo <i>n</i>.
+ *
+ * @author vadym
+ * @since 17.10.26 15:51
+ * @see <a href="https://tools.ietf.org/html/rfc8017#section-5.1.2">RFC 8017, 5.1.2 RSADP</a>
+ */
+public final class RsaPrivateKey {
+    /**
+     * Public exponent of generated keys.
+     */
+    static final Large PUBLIC_EXPONENT = Large.valueOf(65537);
+
+    private final RsaPublicKey publicKey;
+    private final Large p, q, d, dP, dQ, qInv;
+    private final MontgomeryContext contextP, contextQ;
+    /**
+     * Montgomery representation of <i>qInv</i> modulo <i>p</i>.
+     */
+    private final Large qInvMontgomery;
+
+
+    /**
+     * Creates a private key from primes and public exponent.
+     *
+     * @param p        an odd prime.
+     * @param q        an odd prime other than <i>p</i>.
+     * @param exponent a public exponent, coprime with <i>p - 1</i> and <i>q - 1</i>.
+     * @throws IllegalArgumentException if primes are equal or even, or exponent is not invertible.
+     */
+    public RsaPrivateKey(final Large p, final Large q, final Large exponent) {
+        if (p.compareTo(q) == 0) throw new IllegalArgumentException("Primes must be distinct");
+
+        this.contextP = new MontgomeryContext(p);
+        this.contextQ = new MontgomeryContext(q);
+
+        final Large p1 = p.subtract(1);
+        final Large q1 = q.subtract(1);
+        if (!isCoprime(exponent, p1) || !isCoprime(exponent, q1)) {
+            throw new IllegalArgumentException("Exponent must be coprime with p - 1 and q - 1");
+        }
+
+        // d is the inverse modulo lcm(p - 1, q - 1)
+        final Large lambda = p1.multiply(q1).divide(p1.gcd(q1));
+
+        this.publicKey = new RsaPublicKey(p.multiply(q), exponent);
+        this.p = p;
+        this.q = q;
+        this.d = exponent.modInverse(lambda);
+        this.dP = d.modulo(p1);
+        this.dQ = d.modulo(q1);
+        this.qInv = q.modInverse(p);
+        this.qInvMontgomery = contextP.toMontgomery(qInv);
+    }
+
+
+    /**
+     * Generates a private key with modulus of given bit length and public exponent 65537.
+     *
+     * @param bits      a bit length of modulus, at least 32.
+     * @param generator a generator of primes.
+     * @return a new private key.
+     * @throws IllegalArgumentException if bit length is less than 32.
+     */
+    public static RsaPrivateKey generate(int bits, final PrimeGenerator generator) {
+        if (bits < 32) throw new IllegalArgumentException("Modulus must have at least 32 bits");
+
+        // both primes have two highest bits set, so the product has exactly the bit length
+        final Large p = prime(bits - bits / 2, generator);
+        Large q;
+        do {
+            q = prime(bits / 2, generator);
+        } while (q.compareTo(p) == 0);
+
+        return new RsaPrivateKey(p, q, PUBLIC_EXPONENT);
+    }
+
+
+    /**
+     * Returns the public key of this one.
+     *
+     * @return the public key.
+     */
+    public RsaPublicKey publicKey() {
+        return publicKey;
+    }
+
+    /**
+     * Returns the modulus <i>n</i>.
+     *
+     * @return the modulus.
+     */
+    public Large modulus() {
+        return publicKey.modulus();
+    }
+
+    /**
+     * Returns the private exponent <i>d</i>.
+     *
+     * @return the exponent.
+     */
+    public Large exponent() {
+        return d;
+    }
+
+    /**
+     * Returns the first prime <i>p</i>.
+     *
+     * @return the prime.
+     */
+    public Large primeP() {
+        return p;
+    }
+
+    /**
+     * Returns the second prime <i>q</i>.
+     *
+     * @return the prime.
+     */
+    public Large primeQ() {
+        return q;
+    }
+
+    /**
+     * Returns the exponent <i>dP = d mod (p - 1)</i>.
+     *
+     * @return the exponent.
+     */
+    public Large exponentP() {
+        return dP;
+    }
+
+    /**
+     * Returns the exponent <i>dQ = d mod (q - 1)</i>.
+     *
+     * @return the exponent.
+     */
+    public Large exponentQ() {
+        return dQ;
+    }
+
+    /**
+     * Returns the coefficient <i>qInv = q<sup>-1</sup> mod p</i>.
+     *
+     * @return the coefficient.
+     */
+    public Large coefficient() {
+        return qInv;
+    }
+
+    /**
+     * Provides the private operation, RSADP and RSASP1 of RFC 8017.
+     *
+     * @param x a ciphertext or message representative in range <i>[0, n)</i>.
+     * @return <i>x<sup>d</sup> mod n</i>.
+     * @throws IllegalArgumentException if the representative is out of range.
+     */
+    public Large decrypt(final Large x) {
+        checkRange(x, modulus());
+
+        final Large m1 = new Power(x, dP, contextP).compute();
+        final Large m2 = new Power(x, dQ, contextQ).compute();
+        return combine(m1, m2);
+    }
+
+    /**
+     * Provides the private operation with the exponentiations modulo <i>p</i> and <i>q</i> in parallel.
+     *
+     * @param x    a ciphertext or message representative in range <i>[0, n)</i>.
+     * @param pool a pool for the exponentiation modulo <i>p</i>.
+     * @return <i>x<sup>d</sup> mod n</i>.
+     * @throws IllegalArgumentException if the representative is out of range.
+     */
+    public Large decrypt(final Large x, final ForkJoinPool pool) {
+        checkRange(x, modulus());
+
+        final Power power = new Power(x, dP, contextP);
+        pool.execute(power);
+
+        final Large m2 = new Power(x, dQ, contextQ).compute();
+        return combine(power.join(), m2);
+    }
+
+
+    /**
+     * Checks that a representative is in range <i>[0, n)</i>.
+     */
+    static void checkRange(final Large x, final Large modulus) {
+        if (x.sign() < 0 || x.compareTo(modulus) >= 0) throw new IllegalArgumentException("Representative is out of range");
+    }
+
+    /**
+     * Helper method. Garner's recombination <i>m<sub>2</sub> + q (qInv (m<sub>1</sub> - m<sub>2</sub>) mod p)</i>.
+     */
+    private Large combine(final Large m1, final Large m2) {
+        Large difference = m1.subtract(m2.compareTo(p) < 0 ? m2 : m2.modulo(p));
+        if (difference.sign() < 0) difference = difference.add(p);
+
+        // Montgomery product with the representation of qInv gives the plain product
+        final Large h = contextP.multiply(qInvMontgomery, difference);
+        return m2.add(h.multiply(q));
+    }
+
+    /**
+     * Helper method. Generates a prime <i>r</i> with <i>r - 1</i> coprime with the public exponent.
+     */
+    private static Large prime(int bits, final PrimeGenerator generator) {
+        Large r;
+        do {
+            r = generator.generate(bits);
+        } while (!isCoprime(PUBLIC_EXPONENT, r.subtract(1)));
+        return r;
+    }
+
+    /**
+     * Helper method. Checks that numbers have no common divisor.
+     */
+    private static boolean isCoprime(final Large x, final Large y) {
+        return x.gcd(y).compareTo(Large.valueOf(1)) == 0;
+    }
+
+
+    /**
+     * Exponentiation modulo a prime, as a task for parallel private operation.
+     */
+    private static final class Power extends RecursiveTask<Large> {
+        private final Large base, exponent;
+        private final MontgomeryContext context;
+
+        Power(final Large base, final Large exponent, final MontgomeryContext context) {
+            this.base = base;
+            this.exponent = exponent;
+            this.context = context;
+        }
+
+        @Override
+        protected Large compute() {
+            return context.modPow(base, exponent);
+        }
+    }
+}
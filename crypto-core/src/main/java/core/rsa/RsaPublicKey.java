@@ -0,0 +1,83 @@
+package core.rsa;
+
+import core.arithmetic.Large;
+import core.arithmetic.MontgomeryContext;
+
+/**
+ * RSA public key <i>(n, e)</i> and its operation <i>x<sup>e</sup> mod n</i>, used for encryption and
+ * signature verification.
+ * <p>
+ * Montgomery context of the modulus is computed once with the key. Short exponents, as the usual 65537,
+ * are raised by plain square-and-multiply: a window table would cost more than it saves.
+ *
+ * @author vadym
+ * @since 17.10.26 15:51
+ * @see <a href="https://tools.ietf.org/html/rfc8017#section-5.1">RFC 8017, 5.1 Encryption and Decryption Primitives</a>
+ */
+public final class RsaPublicKey {
+    /**
+     * Number of bits of exponent up to which it's raised without window.
+     */
+    static final int SHORT_EXPONENT = 64;
+
+    private final Large modulus;
+    private final Large exponent;
+    private final MontgomeryContext context;
+
+
+    /**
+     * Creates a public key.
+     *
+     * @param modulus  an odd modulus greater than one.
+     * @param exponent a positive exponent.
+     * @throws IllegalArgumentException if modulus is not odd or exponent is not positive.
+     */
+    public RsaPublicKey(final Large modulus, final Large exponent) {
+        if (exponent.sign() <= 0) throw new IllegalArgumentException("Exponent must be positive");
+
+        this.modulus = modulus;
+        this.exponent = exponent;
+        this.context = new MontgomeryContext(modulus);
+    }
+
+
+    /**
+     * Returns the modulus <i>n</i>.
+     *
+     * @return the modulus.
+     */
+    public Large modulus() {
+        return modulus;
+    }
+
+    /**
+     * Returns the public exponent <i>e</i>.
+     *
+     * @return the exponent.
+     */
+    public Large exponent() {
+        return exponent;
+    }
+
+    /**
+     * Provides the public operation, RSAEP and RSAVP1 of RFC 8017.
+     *
+     * @param x a message or signature representative in range <i>[0, n)</i>.
+     * @return <i>x<sup>e</sup> mod n</i>.
+     * @throws IllegalArgumentException if the representative is out of range.
+     */
+    public Large encrypt(final Large x) {
+        RsaPrivateKey.checkRange(x, modulus);
+
+        if (exponent.bitLength() > SHORT_EXPONENT) return context.modPow(x, exponent);
+
+        // square-and-multiply from the highest bit, in Montgomery representation
+        final Large base = context.toMontgomery(x);
+        Large result = base;
+        for (int i = exponent.bitLength() - 2; i >= 0; i--) {
+            result = context.square(result);
+            if (exponent.testBit(i)) result = context.multiply(result, base);
+        }
+        return context.fromMontgomery(result);
+    }
+}
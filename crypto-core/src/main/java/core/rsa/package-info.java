@@ -0,0 +1,7 @@
+/**
+ * Package provides RSA keys and their primitive operations over {@link core.arithmetic.Large}.
+ *
+ * @author vadym
+ * @since 17.10.26 15:51
+ */
+package core.rsa;
@@ -0,0 +1,89 @@
+package crypto.core;
+
+import core.arithmetic.Large;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+/**
+ * Fixtures shared by tests compared with {@link BigInteger}: conversions of numbers
+ * and random generators seeded by parameters of a test.
+ *
+ * @author vadym
+ * @since 17.10.26 15:34
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+
+    /**
+     * Returns a generator seeded by parameters of a test, so every parameter set has its own numbers.
+     *
+     * @param parameters parameters of a test.
+     * @return a generator of <i>(...(p<sub>0</sub> * 31 + p<sub>1</sub>) * 31 + ...) + p<sub>n-1</sub></i> seed.
+     */
+    public static Random random(long... parameters) {
+        long seed = 0;
+        for (long parameter : parameters) seed = seed * 31 + parameter;
+        return new Random(seed);
+    }
+
+    /**
+     * Converts a number.
+     *
+     * @param x any number.
+     * @return large number of the same value.
+     */
+    public static Large large(BigInteger x) {
+        return new Large(x.signum(), x.abs().toByteArray());
+    }
+
+    /**
+     * Converts numbers.
+     *
+     * @param x any numbers.
+     * @return large numbers of the same values.
+     */
+    public static Large[] larges(BigInteger[] x) {
+        final Large[] r = new Large[x.length];
+        for (int i = 0; i < x.length; i++) r[i] = large(x[i]);
+        return r;
+    }
+
+    /**
+     * Converts a number.
+     *
+     * @param x any large number.
+     * @return number of the same value.
+     */
+    public static BigInteger big(Large x) {
+        return new BigInteger(x.sign(), x.toByteArray());
+    }
+
+    /**
+     * Converts a non-negative number into coefficients of 32 bits, from the least significant one.
+     *
+     * @param x a non-negative number.
+     * @param n number of coefficients, the higher ones are dropped.
+     * @return <i>n</i> coefficients.
+     */
+    public static int[] limbs(BigInteger x, int n) {
+        final int[] r = new int[n];
+        for (int i = 0; i < n; i++) r[i] = x.shiftRight(32 * i).intValue();
+        return r;
+    }
+
+    /**
+     * Converts coefficients of 32 bits, from the least significant one, into a number.
+     *
+     * @param x coefficients.
+     * @return non-negative number of the coefficients.
+     */
+    public static BigInteger big(int[] x) {
+        BigInteger r = BigInteger.ZERO;
+        for (int i = x.length - 1; i >= 0; i--) r = r.shiftLeft(32).or(BigInteger.valueOf(x[i] & 0xFFFFFFFFL));
+        return r;
+    }
+}
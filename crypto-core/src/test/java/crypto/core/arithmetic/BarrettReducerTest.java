@@ -0,0 +1,84 @@
+package crypto.core.arithmetic;
+
+import core.arithmetic.BarrettReducer;
+import core.arithmetic.Large;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Barrett reduction compared with modular arithmetic of {@link BigInteger}.
+ *
+ * @author vadym
+ * @since 17.10.26 14:37
+ */
+@RunWith(Parameterized.class)
+public class BarrettReducerTest {
+    private final BigInteger expectedX, expectedY, expectedM;
+    private final Large actualX, actualY;
+    private final BarrettReducer reducer;
+
+    public BarrettReducerTest(int mBits, boolean power) {
+        final Random random = new Random(mBits * 7L);
+
+        expectedM = power
+                ? BigInteger.ONE.shiftLeft(mBits - 1)
+                : new BigInteger(mBits, random).setBit(mBits - 1).clearBit(0);
+        expectedX = new BigInteger(2 * mBits, random).negate();
+        expectedY = new BigInteger(mBits + 5, random);
+
+        actualX = new Large(expectedX.toString());
+        actualY = new Large(expectedY.toString());
+        reducer = new BarrettReducer(new Large(expectedM.toString()));
+    }
+
+    @Parameterized.Parameters
+    public static Collection numbers() {
+        return Arrays.asList(new Object[][]{
+                {2, false},
+                {33, true},
+                {64, false},
+                {65, true},
+                {100, false},
+                {1024, false},
+                {2048, false},
+                {4097, true},
+                {12000, false}
+        });
+    }
+
+    @Test
+    public void shouldReduce() throws Exception {
+        assertEquals(expectedX.mod(expectedM).toString(), reducer.reduce(actualX).toString());
+        assertEquals(expectedY.mod(expectedM).toString(), reducer.reduce(actualY).toString());
+
+        final BigInteger longer = expectedX.pow(3);
+        assertEquals(longer.mod(expectedM).toString(), reducer.reduce(new Large(longer.toString())).toString());
+    }
+
+    @Test
+    public void shouldMultiply() throws Exception {
+        assertEquals(expectedX.multiply(expectedY).mod(expectedM).toString(),
+                reducer.multiply(actualX, actualY).toString());
+        assertEquals(expectedY.multiply(expectedY).mod(expectedM).toString(),
+                reducer.square(actualY).toString());
+    }
+
+    @Test
+    public void shouldModPow() throws Exception {
+        assertEquals(expectedX.modPow(expectedY, expectedM).toString(),
+                reducer.modPow(actualX, actualY).toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonPositiveModulus() throws Exception {
+        new BarrettReducer(new Large("0"));
+    }
+}
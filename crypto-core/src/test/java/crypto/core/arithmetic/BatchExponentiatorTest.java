@@ -0,0 +1,105 @@
+package crypto.core.arithmetic;
+
+import core.arithmetic.BatchExponentiator;
+import core.arithmetic.Large;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static crypto.core.Fixtures.big;
+import static crypto.core.Fixtures.large;
+import static crypto.core.Fixtures.larges;
+import static crypto.core.Fixtures.random;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Batches of powers compared with {@link BigInteger}, for odd and even moduli.
+ * Bases include negative ones and ones greater than modulus, exponents include zero.
+ *
+ * @author vadym
+ * @since 17.10.26 15:56
+ */
+@RunWith(Parameterized.class)
+public class BatchExponentiatorTest {
+    private static final int COUNT = 50;
+
+    private final BigInteger modulus;
+    private final BigInteger[] bases, exponents;
+    private final BatchExponentiator exponentiator;
+
+    public BatchExponentiatorTest(int bits, boolean odd) {
+        final Random random = random(bits);
+        final BigInteger m = new BigInteger(bits, random).setBit(bits - 1);
+        modulus = odd ? m.setBit(0) : m.clearBit(0).max(BigInteger.ONE);
+
+        bases = new BigInteger[COUNT];
+        exponents = new BigInteger[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            bases[i] = new BigInteger(bits + (i % 3) * 20, random);
+            if (i % 5 == 0) bases[i] = bases[i].negate();
+            exponents[i] = i == 7 ? BigInteger.ZERO : new BigInteger(1 + i * bits / COUNT, random);
+        }
+
+        exponentiator = new BatchExponentiator(large(modulus));
+    }
+
+    @Parameterized.Parameters
+    public static Collection numbers() {
+        return Arrays.asList(new Object[][]{
+                {1, true}, {2, false}, {64, false}, {65, true}, {521, true}, {1024, true}, {2048, false}
+        });
+    }
+
+    @Test
+    public void shouldModPow() throws Exception {
+        check(exponentiator.modPow(larges(bases), larges(exponents)), exponents);
+    }
+
+    @Test
+    public void shouldModPowInPool() throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            check(exponentiator.modPow(larges(bases), larges(exponents), pool), exponents);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldModPowBySharedExponent() throws Exception {
+        final BigInteger[] shared = new BigInteger[COUNT];
+        Arrays.fill(shared, exponents[COUNT - 1]);
+
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            check(exponentiator.modPow(larges(bases), large(shared[0])), shared);
+            check(exponentiator.modPow(larges(bases), large(shared[0]), pool), shared);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void shouldRejectNegativeExponent() throws Exception {
+        exponentiator.modPow(larges(bases), Large.valueOf(-1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectMissingExponents() throws Exception {
+        exponentiator.modPow(larges(bases), larges(Arrays.copyOf(exponents, COUNT - 1)));
+    }
+
+
+    private void check(Large[] actual, BigInteger[] exponents) {
+        assertEquals(bases.length, actual.length);
+        for (int i = 0; i < bases.length; i++) {
+            assertEquals("should raise " + i, bases[i].modPow(exponents[i], modulus), big(actual[i]));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package crypto.core.arithmetic;
+
+import core.arithmetic.BatchGcd;
+import core.arithmetic.Large;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static crypto.core.Fixtures.big;
+import static crypto.core.Fixtures.larges;
+import static crypto.core.Fixtures.random;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Batch divisors of RSA-like moduli compared with pairwise {@link BigInteger} divisors.
+ * Some moduli share a prime, one is repeated.
+ *
+ * @author vadym
+ * @since 17.10.26 17:16
+ */
+@RunWith(Parameterized.class)
+public class BatchGcdTest {
+    private final BigInteger[] moduli;
+    private final BigInteger[] expected;
+
+    public BatchGcdTest(int count, int bits) {
+        final Random random = random(count, bits);
+
+        final BigInteger shared = BigInteger.probablePrime(bits, random);
+        moduli = new BigInteger[count];
+        for (int i = 0; i < count; i++) {
+            final BigInteger p = i % 5 == 1 ? shared : BigInteger.probablePrime(bits, random);
+            moduli[i] = p.multiply(BigInteger.probablePrime(bits, random));
+        }
+        if (count > 3) moduli[3] = moduli[0];
+
+        expected = new BigInteger[count];
+        for (int i = 0; i < count; i++) {
+            BigInteger others = BigInteger.ONE;
+            for (int j = 0; j < count; j++) if (j != i) others = others.multiply(moduli[j]);
+            expected[i] = moduli[i].gcd(others);
+        }
+    }
+
+    @Parameterized.Parameters
+    public static Collection numbers() {
+        return Arrays.asList(new Object[][]{
+                {1, 32}, {2, 32}, {11, 64}, {40, 256}, {100, 512}
+        });
+    }
+
+    @Test
+    public void shouldGcd() throws Exception {
+        check(BatchGcd.gcd(larges(moduli)));
+    }
+
+    @Test
+    public void shouldGcdInPool() throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            check(BatchGcd.gcd(larges(moduli), pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldGcdEmpty() throws Exception {
+        assertEquals(0, BatchGcd.gcd(new Large[0]).length);
+    }
+
+
+    private void check(Large[] actual) {
+        assertEquals(moduli.length, actual.length);
+        for (int i = 0; i < moduli.length; i++) assertEquals("should divide " + i, expected[i], big(actual[i]));
+    }
+}
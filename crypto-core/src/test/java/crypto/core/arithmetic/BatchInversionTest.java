@@ -0,0 +1,122 @@
+package crypto.core.arithmetic;
+
+import core.arithmetic.Large;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static crypto.core.Fixtures.big;
+import static crypto.core.Fixtures.large;
+import static crypto.core.Fixtures.larges;
+import static crypto.core.Fixtures.limbs;
+import static crypto.core.Fixtures.random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Batches of modular inverses compared with {@link BigInteger}, for odd and even composite moduli.
+ * Numbers include zeros, negative ones, ones greater than modulus and ones sharing a factor with modulus.
+ *
+ * @author vadym
+ * @since 17.10.26 17:10
+ */
+@RunWith(Parameterized.class)
+public class BatchInversionTest {
+    private final BigInteger modulus;
+    private final BigInteger[] values;
+
+    public BatchInversionTest(int bits, boolean odd, int count) {
+        final Random random = random(bits, count);
+        final BigInteger m = new BigInteger(bits, random).setBit(bits - 1);
+        modulus = odd ? m.setBit(0) : m.clearBit(0).max(BigInteger.ONE);
+
+        values = new BigInteger[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = new BigInteger(bits + (i % 3) * 20, random);
+            if (i % 5 == 0) values[i] = values[i].negate();
+            if (i % 7 == 3) values[i] = BigInteger.ZERO;
+            if (i % 11 == 4) values[i] = modulus.multiply(BigInteger.valueOf(i));
+        }
+    }
+
+    @Parameterized.Parameters
+    public static Collection numbers() {
+        return Arrays.asList(new Object[][]{
+                {1, true, 5}, {2, false, 10}, {64, false, 50}, {65, true, 50},
+                {521, true, 300}, {1024, true, 200}, {2048, false, 100}
+        });
+    }
+
+    @Test
+    public void shouldBatchInverse() throws Exception {
+        check(Large.batchInverse(larges(values), large(modulus)));
+    }
+
+    @Test
+    public void shouldBatchInverseInPool() throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            check(Large.batchInverse(larges(values), large(modulus), pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldBatchInverseInPlace() throws Exception {
+        final int n = (modulus.bitLength() + 31) / 32;
+        final int[][] limbs = new int[values.length][];
+        for (int i = 0; i < values.length; i++) limbs[i] = limbs(values[i].mod(modulus), n);
+        final boolean[] failed = new boolean[values.length];
+
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Large.batchInverse(limbs, large(modulus), failed, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            final BigInteger x = values[i].mod(modulus);
+            final boolean invertible = modulus.equals(BigInteger.ONE) || x.gcd(modulus).equals(BigInteger.ONE);
+            assertEquals("should flag " + i, !invertible, failed[i]);
+            assertEquals("should invert " + i, invertible ? x.modInverse(modulus) : x, big(limbs[i]));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectResidueNotLessThanModulus() throws Exception {
+        final int n = (modulus.bitLength() + 31) / 32;
+        Large.batchInverse(new int[][]{limbs(modulus, n)}, large(modulus), new boolean[1]);
+    }
+
+    @Test
+    public void shouldBatchInverseEmpty() throws Exception {
+        assertEquals(0, Large.batchInverse(new Large[0], large(modulus)).length);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void shouldRejectNonPositiveModulus() throws Exception {
+        Large.batchInverse(larges(values), large(modulus.negate()));
+    }
+
+
+    private void check(Large[] actual) {
+        assertEquals(values.length, actual.length);
+        for (int i = 0; i < values.length; i++) {
+            if (modulus.equals(BigInteger.ONE)) {
+                assertEquals("should invert " + i, BigInteger.ZERO, big(actual[i]));
+            } else if (values[i].gcd(modulus).equals(BigInteger.ONE)) {
+                assertEquals("should invert " + i, values[i].modInverse(modulus), big(actual[i]));
+            } else {
+                assertNull("should not invert " + i, actual[i]);
+            }
+        }
+    }
+}
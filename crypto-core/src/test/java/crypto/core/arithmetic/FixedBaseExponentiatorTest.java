@@ -0,0 +1,84 @@
+package crypto.core.arithmetic;
+
+import core.arithmetic.FixedBaseExponentiator;
+import core.arithmetic.Large;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import static crypto.core.Fixtures.big;
+import static crypto.core.Fixtures.large;
+import static crypto.core.Fixtures.random;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Powers of a fixed base compared with {@link BigInteger}, for various table sizes, odd and even moduli.
+ * Exponents include zero and ones longer than the bit length of tables.
+ *
+ * @author vadym
+ * @since 17.10.26 15:59
+ */
+@RunWith(Parameterized.class)
+public class FixedBaseExponentiatorTest {
+    private final Random random;
+    private final BigInteger base, modulus;
+    private final int bits;
+    private final FixedBaseExponentiator exponentiator;
+
+    public FixedBaseExponentiatorTest(int modulusBits, boolean odd, int bits, int teeth, int blocks) {
+        random = random(modulusBits, bits, teeth, blocks);
+        final BigInteger m = new BigInteger(modulusBits, random).setBit(modulusBits - 1);
+
+        this.modulus = odd ? m.setBit(0) : m.clearBit(0).max(BigInteger.ONE);
+        this.base = new BigInteger(modulusBits + 10, random).negate();
+        this.bits = bits;
+        this.exponentiator = new FixedBaseExponentiator(large(base), large(modulus), bits, teeth, blocks);
+    }
+
+    @Parameterized.Parameters
+    public static Collection numbers() {
+        return Arrays.asList(new Object[][]{
+                {1, true, 10, 2, 1},
+                {64, false, 64, 1, 1},
+                {65, true, 3, 8, 4},
+                {256, true, 256, 6, 2},
+                {521, false, 160, 4, 3},
+                {1024, true, 1024, 8, 1},
+                {2048, true, 256, 6, 2},
+                {2048, false, 2048, 5, 8}
+        });
+    }
+
+    @Test
+    public void shouldModPow() throws Exception {
+        for (int i = 0; i <= 20; i++) {
+            final BigInteger e = new BigInteger(1 + i * (bits - 1) / 20, random);
+            assertEquals("should raise to " + e, base.modPow(e, modulus), big(exponentiator.modPow(large(e))));
+        }
+    }
+
+    @Test
+    public void shouldModPowByTrivialAndLongExponents() throws Exception {
+        final BigInteger full = BigInteger.ONE.shiftLeft(bits).subtract(BigInteger.ONE);
+        final BigInteger longer = new BigInteger(bits + 40, random).setBit(bits + 39);
+
+        for (BigInteger e : new BigInteger[]{BigInteger.ZERO, BigInteger.ONE, full, longer}) {
+            assertEquals("should raise to " + e, base.modPow(e, modulus), big(exponentiator.modPow(large(e))));
+        }
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void shouldRejectNegativeExponent() throws Exception {
+        exponentiator.modPow(Large.valueOf(-3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectTooManyTeeth() throws Exception {
+        new FixedBaseExponentiator(large(base), large(modulus), bits, 17, 1);
+    }
+}
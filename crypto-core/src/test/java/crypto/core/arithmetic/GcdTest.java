@@ -0,0 +1,100 @@
+package crypto.core.arithmetic;
+
+import core.Zip;
+import core.arithmetic.Large;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import static crypto.core.Fixtures.big;
+import static crypto.core.Fixtures.large;
+import static crypto.core.Fixtures.random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Greatest common divisor, extended one and modular inverse compared with {@link BigInteger}.
+ * Numbers have a common factor, so the divisor is not trivial.
+ *
+ * @author vadym
+ * @since 17.10.26 15:34
+ */
+@RunWith(Parameterized.class)
+public class GcdTest {
+    private final BigInteger expectedX, expectedY;
+    private final Large actualX, actualY;
+
+    public GcdTest(int xBits, int yBits, int gBits) {
+        final Random random = random(xBits, yBits, gBits);
+        final BigInteger g = new BigInteger(gBits, random).setBit(gBits - 1);
+
+        expectedX = new BigInteger(xBits, random).multiply(g).negate();
+        expectedY = new BigInteger(yBits, random).setBit(0).multiply(g);
+
+        actualX = large(expectedX);
+        actualY = large(expectedY);
+    }
+
+    @Parameterized.Parameters
+    public static Collection numbers() {
+        return Arrays.asList(new Object[][]{
+                {10, 5, 1},
+                {64, 63, 1},
+                {100, 31, 7},
+                {1000, 1000, 1},
+                {1024, 2048, 64},
+                {3000, 2900, 1000},
+                {10000, 300, 1},
+                {90000, 89000, 1},
+                {90000, 80000, 30000}
+        });
+    }
+
+    @Test
+    public void shouldGcd() throws Exception {
+        assertEquals("should provide correct divisor", expectedX.gcd(expectedY), big(actualX.gcd(actualY)));
+        assertEquals("should provide correct divisor of swapped", expectedX.gcd(expectedY), big(actualY.gcd(actualX)));
+    }
+
+    @Test
+    public void shouldExtendedGcd() throws Exception {
+        final Zip<Large, Zip<Large, Large>> actual = actualX.extendedGcd(actualY);
+        final BigInteger g = big(actual.one);
+        final BigInteger x = big(actual.two.one);
+        final BigInteger y = big(actual.two.two);
+
+        assertEquals("should provide correct divisor", expectedX.gcd(expectedY), g);
+        assertEquals("should provide correct cofactors", g, expectedX.multiply(x).add(expectedY.multiply(y)));
+        assertTrue("should provide the least cofactor", x.signum() >= 0 && x.compareTo(expectedY.divide(g)) < 0);
+    }
+
+    @Test
+    public void shouldModInverse() throws Exception {
+        final BigInteger m = expectedY.divide(expectedY.gcd(expectedX));
+        final BigInteger x = expectedX.divide(expectedY.gcd(expectedX));
+
+        assertEquals("should provide correct inverse", x.modInverse(m), big(large(x).modInverse(large(m))));
+    }
+
+    @Test
+    public void shouldGcdTrivial() throws Exception {
+        assertEquals(expectedX.abs(), big(actualX.gcd(new Large())));
+        assertEquals(expectedY, big(new Large().gcd(actualY)));
+        assertEquals("0", new Large().gcd(new Large()).toString());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void shouldRejectNotInvertible() throws Exception {
+        actualX.multiply(2).modInverse(actualY.multiply(3).add(actualY.multiply(3)));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void shouldRejectNonPositiveModulus() throws Exception {
+        actualY.modInverse(actualX);
+    }
+}
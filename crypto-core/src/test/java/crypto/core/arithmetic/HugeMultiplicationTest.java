@@ -0,0 +1,89 @@
+package crypto.core.arithmetic;
+
+import core.arithmetic.Large;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Multiplication of operands long enough to take the transforms.
+ * Results are compared as bytes, decimal conversion of such numbers is slower than the product.
+ *
+ * @author vadym
+ * @since 17.10.26 14:22
+ */
+@RunWith(Parameterized.class)
+public class HugeMultiplicationTest {
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private final BigInteger expectedX, expectedY;
+    private final Large actualX, actualY;
+
+    public HugeMultiplicationTest(int xBits, int yBits, boolean ones) {
+        final Random random = new Random(xBits * 31L + yBits);
+
+        if (ones) {
+            // every coefficient is maximal, so are the coefficients of convolution
+            expectedX = BigInteger.ONE.shiftLeft(xBits).subtract(BigInteger.ONE);
+            expectedY = BigInteger.ONE.shiftLeft(yBits).subtract(BigInteger.ONE);
+        } else {
+            expectedX = new BigInteger(xBits, random).setBit(xBits - 1);
+            expectedY = new BigInteger(yBits, random).setBit(yBits - 1);
+        }
+
+        actualX = new Large(1, expectedX.toByteArray());
+        actualY = new Large(1, expectedY.toByteArray());
+    }
+
+    @Parameterized.Parameters
+    public static Collection numbers() {
+        return Arrays.asList(new Object[][]{
+                {4000 * 32, 4000 * 32, false},
+                {9000 * 32 + 3, 6000 * 32 - 11, false},
+                {65536 * 32, 65536 * 32, true},
+                {300000 * 32, 200001 * 32, false},
+                {150000 * 32 + 17, 150000 * 32, true}
+        });
+    }
+
+    @Test
+    public void shouldMultiply() throws Exception {
+        assertArrayEquals("should provide correct multiplication",
+                magnitude(expectedX.multiply(expectedY)),
+                actualX.multiply(actualY).toByteArray()
+        );
+    }
+
+    @Test
+    public void shouldMultiplyInPool() throws Exception {
+        assertArrayEquals("should provide correct parallel multiplication",
+                magnitude(expectedX.multiply(expectedY)),
+                actualX.multiply(actualY, POOL).toByteArray()
+        );
+        assertArrayEquals("should provide correct parallel squaring",
+                magnitude(expectedX.multiply(expectedX)),
+                actualX.multiply(actualX, POOL).toByteArray()
+        );
+    }
+
+    @Test
+    public void shouldSquare() throws Exception {
+        assertArrayEquals("should provide correct squaring",
+                magnitude(expectedX.multiply(expectedX)),
+                actualX.multiply(actualX).toByteArray()
+        );
+    }
+
+    private static byte[] magnitude(BigInteger x) {
+        final byte[] bytes = x.toByteArray();
+        return bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+}
@@ -3,7 +3,13 @@ package crypto.core.arithmetic;
 import core.arithmetic.Large;
 import org.junit.Test;
 
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class LargeTest {
 
@@ -74,4 +80,56 @@ public class LargeTest {
     public void testToString() throws Exception {
         assertEquals("14627333968688430767", (new Large("14627333968688430767")).toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testParse() throws Exception {
+        assertEquals("-1234567890123", (new Large(new StringBuilder("-0001234567890123"))).toString());
+        assertEquals("987", Large.fromAscii("x987".getBytes(StandardCharsets.US_ASCII), 1, 3).toString());
+        assertEquals("0", Large.fromAscii("-000".getBytes(StandardCharsets.US_ASCII)).toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseInvalid() throws Exception {
+        new Large("12a3");
+    }
+
+    @Test
+    public void testLongConversion() throws Exception {
+        final Random random = new Random(3);
+
+        for (int length : new int[]{359, 360, 361, 5000, 20011}) {
+            final BigInteger expected = new BigInteger(length * 10 / 3, random);
+            final Large actual = new Large(expected.toString());
+
+            assertEquals(expected.toString(), actual.toString());
+            assertEquals(expected.negate().toString(), actual.negation().toString());
+            assertEquals(expected, new BigInteger(1, actual.toByteArray()));
+        }
+    }
+
+    @Test
+    public void testByteArray() throws Exception {
+        final BigInteger expected = new BigInteger("-14627333968688430767000000000000000000000001");
+
+        assertEquals(expected.toString(), (new Large(-1, expected.abs().toByteArray())).toString());
+        assertEquals(expected.abs(), new BigInteger(1, (new Large(expected.toString())).toByteArray()));
+        assertEquals(0, (new Large(1, new byte[0])).sign());
+    }
+
+    @Test
+    public void testBitLength() throws Exception {
+        assertEquals(0, (new Large("0")).bitLength());
+        assertEquals(33, (new Large("4294967296")).bitLength());
+        assertEquals(32, (new Large("-4294967295")).bitLength());
+    }
+
+    @Test
+    public void testBit() throws Exception {
+        final Large x = new Large("-4294967296");
+
+        assertTrue(x.testBit(32));
+        assertFalse(x.testBit(31));
+        assertFalse(x.testBit(1000));
+        assertTrue(new Large("5").testBit(2));
+    }
+}
@@ -12,10 +12,28 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({
         LargeTest.class,
         AdditionTest.class,
+        BarrettReducerTest.class,
+        BatchGcdTest.class,
+        BatchExponentiatorTest.class,
+        BatchInversionTest.class,
         CompareTest.class,
         DivisionTest.class,
+        FixedBaseExponentiatorTest.class,
+        GcdTest.class,
+        LongDivisionTest.class,
+        HugeMultiplicationTest.class,
         MultiplicationTest.class,
+        LongMultiplicationTest.class,
+        ModPowTest.class,
+        MontgomeryContextTest.class,
+        MultiExponentiationTest.class,
+        MutableLargeTest.class,
         PowerTest.class,
+        PrimalityTest.class,
+        PrimeFieldTest.class,
+        PrimeGeneratorTest.class,
+        ProductTreeTest.class,
+        ReciprocalTest.class,
         SubtractionTest.class
 })
 public class LargeTestsSuite {
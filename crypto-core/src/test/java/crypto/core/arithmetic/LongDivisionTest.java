@@ -0,0 +1,81 @@
+package crypto.core.arithmetic;
+
+import core.Zip;
+import core.arithmetic.Large;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Division of operands long enough to take the recursive algorithm.
+ *
+ * @author vadym
+ * @since 17.10.26 14:44
+ */
+@RunWith(Parameterized.class)
+public class LongDivisionTest {
+    private final BigInteger expectedX, expectedY;
+    private final Large actualX, actualY;
+
+    public LongDivisionTest(int xBits, int yBits) {
+        final Random random = new Random(xBits * 31L + yBits);
+
+        expectedX = new BigInteger(xBits, random).setBit(xBits - 1);
+        expectedY = new BigInteger(yBits, random).setBit(yBits - 1).negate();
+
+        actualX = new Large(1, expectedX.toByteArray());
+        actualY = new Large(-1, expectedY.abs().toByteArray());
+    }
+
+    @Parameterized.Parameters
+    public static Collection numbers() {
+        return Arrays.asList(new Object[][]{
+                {120 * 32, 79 * 32},
+                {120 * 32, 80 * 32},
+                {120 * 32 - 1, 80 * 32},
+                {161 * 32 + 5, 81 * 32 - 3},
+                {400 * 32, 159 * 32 + 1},
+                {1000 * 32 + 7, 333 * 32},
+                {2000 * 32, 1999 * 32},
+                {3000 * 32 + 1, 1000 * 32},
+                {5000 * 32, 100 * 32},
+                {6000 * 32 - 1, 2500 * 32 + 17}
+        });
+    }
+
+    @Test
+    public void shouldDivide() throws Exception {
+        final Zip<Large, Large> actual = actualX.divideAndModulo(actualY);
+
+        assertEquals("should provide correct division",
+                expectedX.divide(expectedY).toString(),
+                actual.one.toString()
+        );
+        assertEquals("should provide correct reminder",
+                expectedX.mod(expectedY.abs()).toString(),
+                actual.two.toString()
+        );
+    }
+
+    @Test
+    public void shouldDivideExactly() throws Exception {
+        // negative product of magnitude x|y| + 1
+        final Large product = actualX.multiply(actualY).add(Large.valueOf(-1));
+
+        assertEquals("should divide a product",
+                expectedX.toString(),
+                product.divide(actualY).toString()
+        );
+        assertEquals("should provide reminder of a product",
+                "1",
+                product.modulo(actualX).toString()
+        );
+    }
+}
@@ -0,0 +1,87 @@
+package crypto.core.arithmetic;
+
+import core.arithmetic.Large;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Multiplication of operands long enough to take the recursive algorithms.
+ *
+ * @author vadym
+ * @since 17.10.26 14:11
+ */
+@RunWith(Parameterized.class)
+public class LongMultiplicationTest {
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private final BigInteger expectedX, expectedY;
+    private final Large actualX, actualY;
+
+    public LongMultiplicationTest(int xBits, int yBits) {
+        final Random random = new Random(xBits * 31L + yBits);
+
+        expectedX = new BigInteger(xBits, random).setBit(xBits - 1);
+        expectedY = new BigInteger(yBits, random).setBit(yBits - 1).negate();
+
+        actualX = new Large(1, expectedX.toByteArray());
+        actualY = new Large(-1, expectedY.abs().toByteArray());
+    }
+
+    @Parameterized.Parameters
+    public static Collection numbers() {
+        return Arrays.asList(new Object[][]{
+                {40 * 32, 40 * 32},
+                {63 * 32 + 1, 64 * 32},
+                {64 * 32 + 1, 129 * 32 - 1},
+                {41 * 32 - 5, 40 * 32},
+                {100 * 32, 100 * 32 + 7},
+                {333 * 32, 97 * 32},
+                {500 * 32, 400 * 32 + 3},
+                {1000 * 32 + 1, 999 * 32},
+                {1500 * 32 + 1, 1201 * 32},
+                {4096 * 32, 2049 * 32},
+                {5000 * 32, 45 * 32}
+        });
+    }
+
+    @Test
+    public void shouldMultiply() throws Exception {
+        assertEquals("should provide correct multiplication",
+                expectedX.multiply(expectedY).toString(),
+                actualX.multiply(actualY).toString()
+        );
+    }
+
+    @Test
+    public void shouldMultiplyInPool() throws Exception {
+        assertEquals("should provide correct parallel multiplication",
+                expectedX.multiply(expectedY).toString(),
+                actualX.multiply(actualY, POOL).toString()
+        );
+        assertEquals("should provide correct parallel squaring",
+                expectedX.multiply(expectedX).toString(),
+                actualX.multiply(actualX, POOL).toString()
+        );
+    }
+
+    @Test
+    public void shouldSquare() throws Exception {
+        assertEquals("should provide correct squaring",
+                expectedY.multiply(expectedY).toString(),
+                actualY.multiply(actualY).toString()
+        );
+        assertEquals("should provide correct squaring",
+                expectedY.multiply(expectedY).toString(),
+                actualY.square().toString()
+        );
+    }
+}
@@ -0,0 +1,82 @@
+package crypto.core.arithmetic;
+
+import core.arithmetic.Large;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Modular exponentiation compared with {@link BigInteger#modPow(BigInteger, BigInteger)}.
+ *
+ * @author vadym
+ * @since 17.10.26 14:31
+ */
+@RunWith(Parameterized.class)
+public class ModPowTest {
+    private final BigInteger expectedX, expectedE, expectedM;
+    private final Large actualX, actualE, actualM;
+
+    public ModPowTest(int xBits, int eBits, int mBits, boolean odd) {
+        final Random random = new Random(xBits * 31L + eBits * 17L + mBits);
+
+        expectedX = new BigInteger(xBits, random).negate();
+        expectedE = new BigInteger(eBits, random);
+
+        final BigInteger m = new BigInteger(mBits, random).setBit(mBits - 1);
+        expectedM = odd ? m.setBit(0) : m.clearBit(0);
+
+        actualX = new Large(expectedX.toString());
+        actualE = new Large(expectedE.toString());
+        actualM = new Large(expectedM.toString());
+    }
+
+    @Parameterized.Parameters
+    public static Collection numbers() {
+        return Arrays.asList(new Object[][]{
+                {10, 5, 7, true},
+                {100, 31, 64, false},
+                {64, 64, 33, true},
+                {512, 512, 512, true},
+                {1000, 1024, 1024, false},
+                {2048, 2048, 2048, true},
+                {4000, 2000, 3072, true},
+                {100, 4096, 4096, false}
+        });
+    }
+
+    @Test
+    public void shouldModPow() throws Exception {
+        assertEquals("should provide correct modular power",
+                expectedX.modPow(expectedE, expectedM).toString(),
+                actualX.modPow(actualE, actualM).toString()
+        );
+        assertEquals("should provide correct modular power of positive base",
+                expectedX.negate().modPow(expectedE, expectedM).toString(),
+                actualX.abs().modPow(actualE, actualM).toString()
+        );
+    }
+
+    @Test
+    public void shouldModPowTrivial() throws Exception {
+        assertEquals("1", actualX.modPow(new Large("0"), actualM).toString());
+        assertEquals("0", actualX.modPow(actualE, new Large("1")).toString());
+        assertEquals("0", new Large("0").modPow(actualE.add(1), actualM).toString());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void shouldRejectNegativeExponent() throws Exception {
+        actualX.modPow(new Large("-1"), actualM);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void shouldRejectNonPositiveModulus() throws Exception {
+        actualX.modPow(actualE, actualM.negation());
+    }
+}
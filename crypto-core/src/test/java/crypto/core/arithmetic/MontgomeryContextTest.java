@@ -0,0 +1,97 @@
+package crypto.core.arithmetic;
+
+import core.arithmetic.Large;
+import core.arithmetic.MontgomeryContext;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Montgomery multiplication compared with modular arithmetic of {@link BigInteger}.
+ *
+ * @author vadym
+ * @since 17.10.26 14:35
+ */
+@RunWith(Parameterized.class)
+public class MontgomeryContextTest {
+    private final BigInteger expectedX, expectedY, expectedM;
+    private final Large actualX, actualY;
+    private final MontgomeryContext context;
+
+    public MontgomeryContextTest(int mBits, boolean ones) {
+        final Random random = new Random(mBits);
+
+        expectedM = ones
+                ? BigInteger.ONE.shiftLeft(mBits).subtract(BigInteger.ONE)
+                : new BigInteger(mBits, random).setBit(mBits - 1).setBit(0);
+        expectedX = new BigInteger(mBits + 40, random).negate();
+        expectedY = new BigInteger(mBits, random).mod(expectedM);
+
+        actualX = new Large(expectedX.toString());
+        actualY = new Large(expectedY.toString());
+        context = new MontgomeryContext(new Large(expectedM.toString()));
+    }
+
+    @Parameterized.Parameters
+    public static Collection numbers() {
+        return Arrays.asList(new Object[][]{
+                {2, false},
+                {31, true},
+                {32, true},
+                {100, false},
+                {1000, false},
+                {1024, true},
+                {2048, false},
+                {4096, true},
+                {12000, false}
+        });
+    }
+
+    @Test
+    public void shouldConvert() throws Exception {
+        final Large x = context.toMontgomery(actualX);
+        final BigInteger r = BigInteger.ONE.shiftLeft(32 * ((expectedM.bitLength() + 31) / 32));
+
+        assertEquals(expectedX.multiply(r).mod(expectedM).toString(), x.toString());
+        assertEquals(expectedX.mod(expectedM).toString(), context.fromMontgomery(x).toString());
+    }
+
+    @Test
+    public void shouldMultiply() throws Exception {
+        final Large product = context.multiply(context.toMontgomery(actualX), context.toMontgomery(actualY));
+
+        assertEquals(expectedX.multiply(expectedY).mod(expectedM).toString(),
+                context.fromMontgomery(product).toString());
+    }
+
+    @Test
+    public void shouldSquare() throws Exception {
+        final Large square = context.square(context.toMontgomery(actualX));
+
+        assertEquals(expectedX.multiply(expectedX).mod(expectedM).toString(),
+                context.fromMontgomery(square).toString());
+    }
+
+    @Test
+    public void shouldModPow() throws Exception {
+        assertEquals(expectedX.modPow(expectedY, expectedM).toString(),
+                context.modPow(actualX, actualY).toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectOutOfRange() throws Exception {
+        context.square(context.modulus());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectEvenModulus() throws Exception {
+        new MontgomeryContext(context.modulus().add(1));
+    }
+}
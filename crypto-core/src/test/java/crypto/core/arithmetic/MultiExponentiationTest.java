@@ -0,0 +1,100 @@
+package crypto.core.arithmetic;
+
+import core.arithmetic.Large;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import static crypto.core.Fixtures.big;
+import static crypto.core.Fixtures.large;
+import static crypto.core.Fixtures.larges;
+import static crypto.core.Fixtures.random;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Products of modular powers compared with products of {@link BigInteger#modPow(BigInteger, BigInteger)}.
+ * Exponents have different lengths, one of them could be zero.
+ *
+ * @author vadym
+ * @since 17.10.26 16:02
+ */
+@RunWith(Parameterized.class)
+public class MultiExponentiationTest {
+    private final BigInteger modulus;
+    private final BigInteger[] bases, exponents;
+
+    public MultiExponentiationTest(int count, int eBits, int mBits, boolean odd) {
+        final Random random = random(count, eBits, mBits);
+        final BigInteger m = new BigInteger(mBits, random).setBit(mBits - 1);
+
+        modulus = odd ? m.setBit(0) : m.clearBit(0).max(BigInteger.ONE);
+        bases = new BigInteger[count];
+        exponents = new BigInteger[count];
+        for (int i = 0; i < count; i++) {
+            bases[i] = new BigInteger(mBits + 5, random);
+            if (i % 2 == 1) bases[i] = bases[i].negate();
+            exponents[i] = new BigInteger(eBits - i * eBits / (count + 1), random);
+        }
+    }
+
+    @Parameterized.Parameters
+    public static Collection numbers() {
+        return Arrays.asList(new Object[][]{
+                {1, 100, 64, true},
+                {2, 10, 7, true},
+                {2, 160, 1024, true},
+                {2, 256, 2048, false},
+                {3, 1, 1, true},
+                {3, 521, 521, true},
+                {5, 2048, 2048, true},
+                {8, 300, 100, false}
+        });
+    }
+
+    @Test
+    public void shouldModPow() throws Exception {
+        assertEquals(expected(exponents), big(Large.modPow(larges(bases), larges(exponents), large(modulus))));
+    }
+
+    @Test
+    public void shouldModPowWithZeroExponent() throws Exception {
+        final BigInteger[] e = exponents.clone();
+        e[0] = BigInteger.ZERO;
+
+        assertEquals(expected(e), big(Large.modPow(larges(bases), larges(e), large(modulus))));
+    }
+
+    @Test
+    public void shouldModPowTrivial() throws Exception {
+        final BigInteger[] zeros = new BigInteger[bases.length];
+        Arrays.fill(zeros, BigInteger.ZERO);
+
+        assertEquals(BigInteger.ONE.mod(modulus), big(Large.modPow(larges(bases), larges(zeros), large(modulus))));
+        assertEquals(BigInteger.ONE, big(Large.modPow(new Large[0], new Large[0], Large.valueOf(7))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectMissingExponents() throws Exception {
+        Large.modPow(larges(bases), new Large[bases.length + 1], large(modulus));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void shouldRejectNegativeExponent() throws Exception {
+        final Large[] e = larges(exponents);
+        e[e.length - 1] = Large.valueOf(-1);
+
+        Large.modPow(larges(bases), e, large(modulus));
+    }
+
+
+    private BigInteger expected(BigInteger[] e) {
+        BigInteger r = BigInteger.ONE.mod(modulus);
+        for (int i = 0; i < bases.length; i++) r = r.multiply(bases[i].modPow(e[i], modulus)).mod(modulus);
+        return r;
+    }
+}
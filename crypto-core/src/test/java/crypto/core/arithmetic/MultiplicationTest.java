@@ -59,4 +59,12 @@ public class MultiplicationTest extends AbstractTest {
                 Large.karatsuba(actualX, actualY).toString()
         );
     }
+
+    @Test
+    public void shouldSquare() throws Exception {
+        assertEquals("should provide correct squaring",
+                expectedY.multiply(expectedY).toString(),
+                actualY.square().toString()
+        );
+    }
 }
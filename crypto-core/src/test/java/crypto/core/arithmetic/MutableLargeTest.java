@@ -0,0 +1,101 @@
+package crypto.core.arithmetic;
+
+import core.arithmetic.Large;
+import core.arithmetic.MutableLarge;
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author vadym
+ * @since 17.10.26 14:07
+ */
+public class MutableLargeTest {
+    private static final String X = "9234013274012419836418634983459547689126439817263478157836453178654";
+    private static final String Y = "2934097831972391728347612783641927841983569834695";
+
+    private final BigInteger expectedX = new BigInteger(X);
+    private final BigInteger expectedY = new BigInteger(Y);
+
+    private static MutableLarge mutable(String x) {
+        return new MutableLarge(new Large(x));
+    }
+
+    @Test
+    public void testConversion() throws Exception {
+        assertEquals(X, mutable(X).toLarge().toString());
+        assertEquals(X, mutable("-" + X).toString());
+        assertTrue(mutable("0").isZero());
+        assertEquals("18446744073709551615", new MutableLarge().set(-1L).toString());
+    }
+
+    @Test
+    public void testAddition() throws Exception {
+        assertEquals(expectedX.add(expectedY).toString(), mutable(X).add(mutable(Y)).toString());
+        assertEquals(expectedX.add(expectedY).toString(), mutable(Y).add(mutable(X)).toString());
+    }
+
+    @Test
+    public void testSubtraction() throws Exception {
+        assertEquals(expectedX.subtract(expectedY).toString(), mutable(X).subtract(mutable(Y)).toString());
+        assertTrue(mutable(X).subtract(mutable(X)).isZero());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testNegativeSubtraction() throws Exception {
+        mutable(Y).subtract(mutable(X));
+    }
+
+    @Test
+    public void testMultiply() throws Exception {
+        assertEquals(expectedX.multiply(BigInteger.valueOf(1234567)).toString(),
+                mutable(X).multiply(1234567).toString());
+        assertEquals(expectedX.multiply(expectedY).toString(),
+                new MutableLarge().multiply(mutable(X), mutable(Y)).toString());
+    }
+
+    @Test
+    public void testSquare() throws Exception {
+        assertEquals(expectedX.multiply(expectedX).toString(), new MutableLarge().square(mutable(X)).toString());
+        assertTrue(new MutableLarge().square(mutable("0")).isZero());
+    }
+
+    @Test
+    public void testShift() throws Exception {
+        assertEquals(expectedX.shiftLeft(77).toString(), mutable(X).shiftLeft(77).toString());
+        assertEquals(expectedX.shiftRight(77).toString(), mutable(X).shiftRight(77).toString());
+        assertEquals(expectedX.shiftRight(64).toString(), mutable(X).shiftRight(64).toString());
+        assertTrue(mutable(X).shiftRight(1000).isZero());
+    }
+
+    @Test
+    public void testDivide() throws Exception {
+        final MutableLarge quotient = new MutableLarge();
+        final MutableLarge reminder = mutable(X).divide(mutable(Y), quotient);
+
+        assertEquals(expectedX.divide(expectedY).toString(), quotient.toString());
+        assertEquals(expectedX.mod(expectedY).toString(), reminder.toString());
+        assertEquals(expectedX.mod(expectedY).toString(), mutable(X).reduce(mutable(Y)).toString());
+
+        final MutableLarge x = mutable(X);
+        assertEquals(expectedX.mod(BigInteger.valueOf(1000003)).intValue(), x.divide(1000003));
+        assertEquals(expectedX.divide(BigInteger.valueOf(1000003)).toString(), x.toString());
+    }
+
+    @Test
+    public void testRepeatedUse() throws Exception {
+        final MutableLarge x = mutable(X);
+        final MutableLarge product = new MutableLarge(64);
+        final MutableLarge y = mutable(Y);
+
+        product.multiply(x, y).reduce(x);
+        final String expected = expectedX.multiply(expectedY).mod(expectedX).toString();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expected, product.multiply(x, y).reduce(x).toString());
+        }
+    }
+}
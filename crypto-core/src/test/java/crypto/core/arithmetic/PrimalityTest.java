@@ -0,0 +1,98 @@
+package crypto.core.arithmetic;
+
+import core.arithmetic.Large;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import static crypto.core.Fixtures.large;
+import static crypto.core.Fixtures.random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Primality test compared with {@link BigInteger} on random odd numbers, primes and products of primes.
+ *
+ * @author vadym
+ * @since 17.10.26 15:42
+ */
+@RunWith(Parameterized.class)
+public class PrimalityTest {
+    private final int bits;
+    private final Random random;
+
+    public PrimalityTest(int bits) {
+        this.bits = bits;
+        this.random = random(bits);
+    }
+
+    @Parameterized.Parameters
+    public static Collection numbers() {
+        return Arrays.asList(new Object[][]{
+                {12}, {23}, {31}, {32}, {33}, {64}, {100}, {256}, {521}, {1024}, {2048}
+        });
+    }
+
+    @Test
+    public void shouldMatchBigInteger() throws Exception {
+        final int count = bits <= 12 ? 1 << bits : 300;
+
+        for (int i = 0; i < count; i++) {
+            final BigInteger x = bits <= 12 ? BigInteger.valueOf(i) : new BigInteger(bits, random).setBit(0);
+            final boolean expected = x.isProbablePrime(100);
+
+            assertEquals("should test " + x, expected, large(x).isProbablePrime());
+            assertEquals("should test by Baillie-PSW " + x, expected, large(x).isProbablePrime(true));
+        }
+    }
+
+    @Test
+    public void shouldAcceptPrimes() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            final BigInteger p = BigInteger.probablePrime(bits, random);
+
+            assertTrue("should accept " + p, large(p).isProbablePrime());
+            assertTrue("should accept by Baillie-PSW " + p, large(p).isProbablePrime(true));
+            assertTrue("should accept negation of " + p, large(p.negate()).isProbablePrime());
+        }
+    }
+
+    @Test
+    public void shouldRejectProducts() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            final BigInteger p = BigInteger.probablePrime(bits / 2 + 1, random);
+            final BigInteger n = p.multiply(BigInteger.probablePrime(bits - bits / 2, random));
+
+            assertFalse("should reject " + n, large(n).isProbablePrime());
+            assertFalse("should reject by Baillie-PSW " + n, large(n).isProbablePrime(true));
+            assertFalse("should reject square " + p, large(p.multiply(p)).isProbablePrime(true));
+        }
+    }
+
+    @Test
+    public void shouldRejectPseudoprimes() throws Exception {
+        // Carmichael numbers, two of them and the last numbers are strong pseudoprimes to base 2, all factors above the sieve
+        final long[] numbers = {561, 65700513721L, 71171308081L, 168003672409L, 8725753, 9863461, 13694761};
+
+        for (long n : numbers) {
+            assertFalse("should reject " + n, Large.valueOf(n).isProbablePrime());
+            assertFalse("should reject by Baillie-PSW " + n, Large.valueOf(n).isProbablePrime(true));
+        }
+    }
+
+    @Test
+    public void shouldAcceptMersennePrimes() throws Exception {
+        for (int p : new int[]{31, 61, 89, 107, 127, 521, 607, 1279, 2203}) {
+            final BigInteger m = BigInteger.ONE.shiftLeft(p).subtract(BigInteger.ONE);
+
+            assertTrue("should accept 2^" + p + " - 1", large(m).isProbablePrime());
+            assertTrue("should accept by Baillie-PSW 2^" + p + " - 1", large(m).isProbablePrime(true));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package crypto.core.arithmetic;
+
+import core.arithmetic.FieldElement;
+import core.arithmetic.PrimeField;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import static crypto.core.Fixtures.big;
+import static crypto.core.Fixtures.large;
+import static crypto.core.Fixtures.random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Field operations compared with {@link BigInteger}, for pseudo-Mersenne, Solinas and generic primes.
+ * Operands include zero, one, <i>p - 1</i> and results written into an operand.
+ *
+ * @author vadym
+ * @since 17.10.26 16:11
+ */
+@RunWith(Parameterized.class)
+public class PrimeFieldTest {
+    private static final int COUNT = 30;
+
+    private final BigInteger p;
+    private final PrimeField field;
+    private final BigInteger[] values;
+
+    public PrimeFieldTest(String name, BigInteger p) {
+        final Random random = random(p.bitLength());
+
+        this.p = p;
+        this.field = new PrimeField(large(p));
+        this.values = new BigInteger[COUNT];
+        values[0] = BigInteger.ZERO;
+        values[1] = BigInteger.ONE;
+        values[2] = p.subtract(BigInteger.ONE);
+        for (int i = 3; i < COUNT; i++) values[i] = new BigInteger(p.bitLength() + 8, random).mod(p);
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection numbers() {
+        final Random random = new Random(42);
+
+        return Arrays.asList(new Object[][]{
+                {"3", BigInteger.valueOf(3)},
+                {"2^31 - 1", power(31).subtract(BigInteger.ONE)},
+                {"2^127 - 1", power(127).subtract(BigInteger.ONE)},
+                {"2^255 - 19", power(255).subtract(BigInteger.valueOf(19))},
+                {"2^521 - 1", power(521).subtract(BigInteger.ONE)},
+                {"P-192", power(192).subtract(power(64)).subtract(BigInteger.ONE)},
+                {"P-224", power(224).subtract(power(96)).add(BigInteger.ONE)},
+                {"P-256", power(256).subtract(power(224)).add(power(192)).add(power(96)).subtract(BigInteger.ONE)},
+                {"P-384", power(384).subtract(power(128)).subtract(power(96)).add(power(32)).subtract(BigInteger.ONE)},
+                {"secp256k1", power(256).subtract(power(32)).subtract(BigInteger.valueOf(977))},
+                {"random 61", BigInteger.probablePrime(61, random)},
+                {"random 256", BigInteger.probablePrime(256, random)},
+                {"random 1024", BigInteger.probablePrime(1024, random)}
+        });
+    }
+
+    @Test
+    public void shouldConvert() throws Exception {
+        for (BigInteger x : values) {
+            assertEquals(x, big(field.element(large(x)).toLarge()));
+            assertEquals(x, big(field.element(large(x.add(p.multiply(p)))).toLarge()));
+            assertEquals(x.negate().mod(p), big(field.element(large(x.negate())).toLarge()));
+        }
+        assertTrue(field.element().isZero());
+        assertTrue(field.one().isOne());
+        assertEquals(field.one(), field.element(large(p.add(BigInteger.ONE))));
+    }
+
+    @Test
+    public void shouldAddAndSubtract() throws Exception {
+        final FieldElement r = field.element();
+        for (BigInteger x : values) {
+            for (BigInteger y : values) {
+                final FieldElement a = field.element(large(x)), b = field.element(large(y));
+
+                assertEquals(x.add(y).mod(p), big(r.add(a, b).toLarge()));
+                assertEquals(x.subtract(y).mod(p), big(r.subtract(a, b).toLarge()));
+                assertEquals(x.subtract(y).mod(p), big(a.subtract(a, b).toLarge()));
+            }
+            assertEquals(x.negate().mod(p), big(r.negate(field.element(large(x))).toLarge()));
+        }
+    }
+
+    @Test
+    public void shouldMultiplyAndSquare() throws Exception {
+        final FieldElement r = field.element();
+        for (BigInteger x : values) {
+            for (BigInteger y : values) {
+                final FieldElement a = field.element(large(x)), b = field.element(large(y));
+
+                assertEquals(x.multiply(y).mod(p), big(r.multiply(a, b).toLarge()));
+                assertEquals(x.multiply(y).mod(p), big(b.multiply(a, b).toLarge()));
+            }
+            final FieldElement a = field.element(large(x));
+            assertEquals(x.multiply(x).mod(p), big(r.square(a).toLarge()));
+            assertEquals(x.multiply(x).mod(p), big(r.multiply(a, a).toLarge()));
+            assertEquals(x.multiply(x).mod(p), big(a.square(a).toLarge()));
+        }
+    }
+
+    @Test
+    public void shouldInvert() throws Exception {
+        final FieldElement r = field.element();
+        for (int i = 1; i < COUNT; i++) {
+            if (values[i].signum() == 0) continue;
+            final FieldElement a = field.element(large(values[i]));
+
+            assertEquals(values[i].modInverse(p), big(r.invert(a).toLarge()));
+            assertTrue(r.multiply(r, a).isOne());
+            assertEquals(values[i].modInverse(p), big(a.invert(a).toLarge()));
+        }
+    }
+
+    @Test
+    public void shouldInvertBatch() throws Exception {
+        final FieldElement[] elements = new FieldElement[COUNT];
+        for (int i = 0; i < COUNT; i++) elements[i] = field.element(large(values[i]));
+
+        assertEquals(false, field.invert(elements));
+        assertTrue(elements[0].isZero());
+        for (int i = 1; i < COUNT; i++) {
+            if (values[i].signum() == 0) continue;
+            assertEquals(values[i].modInverse(p), big(elements[i].toLarge()));
+        }
+
+        final FieldElement[] nonZero = Arrays.stream(elements).filter(e -> !e.isZero()).toArray(FieldElement[]::new);
+        assertTrue(field.invert(nonZero));
+        for (int i = 1; i < COUNT; i++) assertEquals(values[i], big(elements[i].toLarge()));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void shouldRejectInversionOfZero() throws Exception {
+        field.element().invert(field.element());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectElementsOfDifferentFields() throws Exception {
+        final PrimeField other = new PrimeField(large(p));
+        field.element().add(field.one(), other.one());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectCompositeModulus() throws Exception {
+        new PrimeField(large(p.multiply(p)));
+    }
+
+
+    private static BigInteger power(int n) {
+        return BigInteger.ONE.shiftLeft(n);
+    }
+}
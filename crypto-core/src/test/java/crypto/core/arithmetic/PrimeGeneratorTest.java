@@ -0,0 +1,78 @@
+package crypto.core.arithmetic;
+
+import core.arithmetic.Large;
+import core.arithmetic.PrimeGenerator;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Generated primes checked by {@link BigInteger}, sequentially and in a pool.
+ *
+ * @author vadym
+ * @since 17.10.26 15:49
+ */
+@RunWith(Parameterized.class)
+public class PrimeGeneratorTest {
+    private final int bits;
+
+    public PrimeGeneratorTest(int bits) {
+        this.bits = bits;
+    }
+
+    @Parameterized.Parameters
+    public static Collection numbers() {
+        return Arrays.asList(new Object[][]{
+                {2}, {3}, {16}, {32}, {33}, {64}, {100}, {512}, {1024}
+        });
+    }
+
+    @Test
+    public void shouldGenerateSequentially() throws Exception {
+        final PrimeGenerator generator = new PrimeGenerator(new Random(bits));
+
+        for (int i = 0; i < 3; i++) check(generator.generate(bits));
+    }
+
+    @Test
+    public void shouldGenerateInPool() throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final PrimeGenerator generator = new PrimeGenerator(new Random(bits), pool);
+
+            for (int i = 0; i < 3; i++) check(generator.generate(bits));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldRepeatWithSameSeed() throws Exception {
+        final Large expected = new PrimeGenerator(new Random(bits)).generate(bits);
+
+        assertEquals(0, expected.compareTo(new PrimeGenerator(new Random(bits)).generate(bits)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectShortLength() throws Exception {
+        new PrimeGenerator(new Random(bits)).generate(1);
+    }
+
+
+    private void check(Large p) {
+        final BigInteger expected = new BigInteger(p.sign(), p.toByteArray());
+
+        assertEquals("should have the bit length", bits, p.bitLength());
+        assertTrue("should have two highest bits set", p.testBit(bits - 2));
+        assertTrue("should be prime " + expected, expected.isProbablePrime(100));
+    }
+}
@@ -0,0 +1,117 @@
+package crypto.core.arithmetic;
+
+import core.arithmetic.Large;
+import core.arithmetic.ProductTree;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static crypto.core.Fixtures.big;
+import static crypto.core.Fixtures.large;
+import static crypto.core.Fixtures.larges;
+import static crypto.core.Fixtures.random;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Product and remainder trees compared with {@link BigInteger}, in the heap, in a pool and spilled to files.
+ * Numbers of a batch have different lengths and include one, reduced numbers include negative ones.
+ *
+ * @author vadym
+ * @since 17.10.26 17:16
+ */
+@RunWith(Parameterized.class)
+public class ProductTreeTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final BigInteger[] values;
+    private final BigInteger product, x;
+
+    public ProductTreeTest(int count, int bits) {
+        final Random random = random(count, bits);
+
+        values = new BigInteger[count];
+        BigInteger p = BigInteger.ONE;
+        for (int i = 0; i < count; i++) {
+            values[i] = i == 2 ? BigInteger.ONE : new BigInteger(bits + (i % 3) * 40, random).setBit(0);
+            p = p.multiply(values[i]);
+        }
+        product = p;
+        x = new BigInteger(p.bitLength() + 100, random).negate();
+    }
+
+    @Parameterized.Parameters
+    public static Collection numbers() {
+        return Arrays.asList(new Object[][]{
+                {1, 64}, {2, 32}, {3, 100}, {7, 512}, {64, 1024}, {101, 256}, {150, 2048}
+        });
+    }
+
+    @Test
+    public void shouldBuildAndDescend() throws Exception {
+        try (ProductTree tree = new ProductTree(larges(values))) {
+            check(tree);
+        }
+    }
+
+    @Test
+    public void shouldBuildAndDescendInPool() throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try (ProductTree tree = new ProductTree(larges(values), pool)) {
+            check(tree);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldBuildAndDescendSpilled() throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try (ProductTree tree = new ProductTree(larges(values), pool, folder.getRoot().toPath())) {
+            check(tree);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals("should delete levels", 0, folder.getRoot().list().length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectEmpty() throws Exception {
+        new ProductTree(new Large[0]);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void shouldRejectNonPositiveValue() throws Exception {
+        final Large[] larges = larges(values);
+        larges[larges.length - 1] = new Large();
+        new ProductTree(larges);
+    }
+
+
+    private void check(final ProductTree tree) {
+        assertEquals(values.length, tree.size());
+        assertEquals("should multiply", product, big(tree.product()));
+
+        checkRemainders(tree, x);
+        checkRemainders(tree, x.negate());
+        checkRemainders(tree, product);
+        checkRemainders(tree, BigInteger.ZERO);
+    }
+
+    private void checkRemainders(final ProductTree tree, final BigInteger y) {
+        final Large[] remainders = tree.remainders(large(y));
+        final Large[] squares = tree.remaindersOfSquares(large(y));
+        for (int i = 0; i < values.length; i++) {
+            assertEquals("should reduce " + i, y.mod(values[i]), big(remainders[i]));
+            assertEquals("should reduce by square " + i, y.mod(values[i].multiply(values[i])), big(squares[i]));
+        }
+    }
+}
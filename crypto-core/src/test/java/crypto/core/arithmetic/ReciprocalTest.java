@@ -0,0 +1,100 @@
+package crypto.core.arithmetic;
+
+import core.Zip;
+import core.arithmetic.Large;
+import core.arithmetic.Reciprocal;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Division by a reciprocal computed by Newton iteration.
+ * Results are compared as bytes with signs, decimal conversion of long numbers is slower than the division.
+ *
+ * @author vadym
+ * @since 17.10.26 14:49
+ */
+@RunWith(Parameterized.class)
+public class ReciprocalTest {
+    private final BigInteger expectedX, expectedY;
+    private final Large actualX, actualY;
+
+    public ReciprocalTest(int xBits, int yBits) {
+        final Random random = new Random(xBits * 31L + yBits);
+
+        expectedX = new BigInteger(xBits, random).setBit(xBits - 1).negate();
+        expectedY = new BigInteger(yBits, random).setBit(yBits - 1);
+
+        actualX = new Large(-1, expectedX.abs().toByteArray());
+        actualY = new Large(1, expectedY.toByteArray());
+    }
+
+    @Parameterized.Parameters
+    public static Collection numbers() {
+        return Arrays.asList(new Object[][]{
+                {64, 64},
+                {100 * 32, 3 * 32 + 1},
+                {399 * 32, 399 * 32},
+                {800 * 32 + 3, 400 * 32},
+                {1601 * 32, 800 * 32 - 1},
+                {3000 * 32, 1001 * 32 + 7},
+                {9000 * 32 + 1, 1500 * 32},
+                {2000 * 32, 2100 * 32},
+                {101000 * 32, 50000 * 32 + 5}
+        });
+    }
+
+    @Test
+    public void shouldDivide() throws Exception {
+        final Zip<Large, Large> actual = new Reciprocal(actualY).divideAndModulo(actualX);
+        final BigInteger quotient = expectedX.divide(expectedY);
+
+        assertEquals("should provide sign of division", quotient.signum(), actual.one.sign());
+        assertArrayEquals("should provide correct division", magnitude(quotient), actual.one.toByteArray());
+        assertArrayEquals("should provide correct reminder",
+                magnitude(expectedX.abs().mod(expectedY)),
+                actual.two.toByteArray()
+        );
+    }
+
+    @Test
+    public void shouldDivideRepeatedly() throws Exception {
+        final Reciprocal reciprocal = new Reciprocal(actualY);
+        final Large product = actualY.multiply(actualY).add(actualY).add(Large.valueOf(-1));
+
+        // y^2 + y - 1 = y * y + (y - 1)
+        assertArrayEquals("should divide a product", magnitude(expectedY), reciprocal.divide(product).toByteArray());
+        assertArrayEquals("should provide reminder of a product",
+                magnitude(expectedY.subtract(BigInteger.ONE)),
+                reciprocal.modulo(product).toByteArray()
+        );
+    }
+
+    @Test
+    public void shouldDivideLarge() throws Exception {
+        final Zip<Large, Large> actual = actualX.divideAndModulo(actualY);
+
+        assertArrayEquals("should provide correct division",
+                magnitude(expectedX.divide(expectedY)),
+                actual.one.toByteArray()
+        );
+        assertArrayEquals("should provide correct reminder",
+                magnitude(expectedX.abs().mod(expectedY)),
+                actual.two.toByteArray()
+        );
+    }
+
+
+    private static byte[] magnitude(BigInteger x) {
+        final byte[] bytes = x.abs().toByteArray();
+        return bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+}
@@ -0,0 +1,228 @@
+package crypto.core.ec;
+
+import core.arithmetic.Large;
+import core.ec.EcPoint;
+import core.ec.EllipticCurve;
+import core.ec.FixedBaseMultiplier;
+import core.ec.NamedCurve;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static crypto.core.Fixtures.big;
+import static crypto.core.Fixtures.large;
+import static crypto.core.Fixtures.random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Point operations compared with affine formulas over {@link BigInteger}, for named curves
+ * and curves with general coefficient <i>a</i> over pseudo-Mersenne and generic primes.
+ *
+ * @author vadym
+ * @since 17.10.26 16:16
+ */
+@RunWith(Parameterized.class)
+public class EllipticCurveTest {
+    private static final int COUNT = 12;
+
+    private final Random random;
+    private final EllipticCurve curve;
+    private final EcPoint g;
+    private final BigInteger p, a, order;
+
+    public EllipticCurveTest(String name, NamedCurve named, BigInteger p, BigInteger a, BigInteger b) {
+        random = random(name.hashCode());
+        if (named != null) {
+            curve = named.curve();
+            g = named.generator();
+            order = big(named.order());
+        } else {
+            curve = new EllipticCurve(large(p), large(a), large(b));
+            g = point(curve, random);
+            order = null;
+        }
+        this.p = big(curve.field().modulus());
+        this.a = big(curve.a());
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection numbers() {
+        final BigInteger mersenne = BigInteger.ONE.shiftLeft(61).subtract(BigInteger.ONE);
+        final BigInteger generic = prime(192, new Random(7));
+
+        return Arrays.asList(new Object[][]{
+                {"P-256", NamedCurve.P256, null, null, null},
+                {"P-384", NamedCurve.P384, null, null, null},
+                {"secp256k1", NamedCurve.SECP256K1, null, null, null},
+                {"2^61 - 1", null, mersenne, BigInteger.valueOf(2), BigInteger.valueOf(3)},
+                {"generic 192", null, generic, new BigInteger(190, new Random(1)), new BigInteger(190, new Random(2))}
+        });
+    }
+
+    @Test
+    public void shouldAddAndDouble() throws Exception {
+        EcPoint x = g;
+        BigInteger[] expected = affine(g);
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals(point(add(expected, expected)), x.twice());
+            assertEquals(point(add(expected, affine(g))), x.add(g));
+
+            expected = add(expected, add(expected, affine(g)));
+            x = x.twice().add(g);
+            assertTrue(curve.contains(x.x(), x.y()));
+        }
+
+        assertTrue(g.add(g.negate()).isInfinity());
+        assertEquals(g.twice(), g.add(g));
+        assertEquals(g, g.add(curve.infinity()));
+        assertEquals(g, curve.infinity().add(g));
+    }
+
+    @Test
+    public void shouldMultiply() throws Exception {
+        for (int i = 0; i < COUNT; i++) {
+            final BigInteger k = new BigInteger(1 + i * (p.bitLength() + 10) / COUNT, random);
+
+            assertEquals("should multiply by " + k, point(multiply(affine(g), k)), g.multiply(large(k)));
+            assertEquals("should multiply by -" + k, point(multiply(affine(g), k)).negate(), g.multiply(large(k.negate())));
+        }
+        assertTrue(g.multiply(Large.valueOf(0)).isInfinity());
+        assertEquals(g, g.multiply(Large.valueOf(1)));
+        assertEquals(g.twice().add(g), g.multiply(Large.valueOf(3)));
+    }
+
+    @Test
+    public void shouldMultiplyByOrder() throws Exception {
+        if (order == null) return;
+
+        assertTrue(g.multiply(large(order)).isInfinity());
+        assertEquals(g.negate(), g.multiply(large(order.subtract(BigInteger.ONE))));
+        assertEquals(g, g.multiply(large(order.add(BigInteger.ONE))));
+    }
+
+    @Test
+    public void shouldMultiplyFixedBase() throws Exception {
+        final int bits = p.bitLength();
+        for (int[] size : new int[][]{{6, 2}, {4, 1}, {1, 1}, {8, 5}}) {
+            final FixedBaseMultiplier comb = new FixedBaseMultiplier(g, bits, size[0], size[1]);
+
+            for (int i = 0; i < COUNT; i++) {
+                final BigInteger k = new BigInteger(1 + i * (bits + 20) / COUNT, random);
+                assertEquals("should multiply by " + k, g.multiply(large(k)), comb.multiply(large(k)));
+                assertEquals("should multiply by -" + k, g.multiply(large(k.negate())), comb.multiply(large(k.negate())));
+            }
+            assertTrue(comb.multiply(Large.valueOf(0)).isInfinity());
+            if (order != null) assertTrue(comb.multiply(large(order)).isInfinity());
+        }
+    }
+
+    @Test
+    public void shouldReadPointConcurrently() throws Exception {
+        final EcPoint x = g.multiply(large(new BigInteger(p.bitLength(), random)));
+        final BigInteger[] expected = affine(x);
+        final AtomicInteger wrong = new AtomicInteger();
+
+        final Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 20000; j++) {
+                    if (!expected[0].equals(big(x.x())) || !expected[1].equals(big(x.y()))) wrong.incrementAndGet();
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) thread.join();
+        assertEquals(0, wrong.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectPointNotOnCurve() throws Exception {
+        curve.point(g.x(), g.y().add(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectSingularCurve() throws Exception {
+        new EllipticCurve(large(p), Large.valueOf(0), Large.valueOf(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectSingularCurveOfRepeatedRoot() throws Exception {
+        // x^3 - 3x + 2 = (x - 1)^2 (x + 2)
+        new EllipticCurve(large(p), Large.valueOf(-3), Large.valueOf(2));
+    }
+
+    @Test
+    public void shouldAcceptCurveOfZeroB() throws Exception {
+        assertEquals(BigInteger.ZERO, big(new EllipticCurve(large(p), Large.valueOf(1), Large.valueOf(0)).b()));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void shouldRejectCoordinatesOfInfinity() throws Exception {
+        curve.infinity().x();
+    }
+
+
+    /**
+     * Affine sum of points, <code>null</code> for infinity.
+     */
+    private BigInteger[] add(BigInteger[] x, BigInteger[] y) {
+        if (x == null) return y;
+        if (y == null) return x;
+
+        final BigInteger lambda;
+        if (x[0].equals(y[0])) {
+            if (x[1].add(y[1]).mod(p).signum() == 0) return null;
+            lambda = x[0].pow(2).multiply(BigInteger.valueOf(3)).add(a).multiply(x[1].shiftLeft(1).modInverse(p)).mod(p);
+        } else {
+            lambda = y[1].subtract(x[1]).multiply(y[0].subtract(x[0]).modInverse(p)).mod(p);
+        }
+
+        final BigInteger x3 = lambda.pow(2).subtract(x[0]).subtract(y[0]).mod(p);
+        return new BigInteger[]{x3, lambda.multiply(x[0].subtract(x3)).subtract(x[1]).mod(p)};
+    }
+
+    private BigInteger[] multiply(BigInteger[] x, BigInteger k) {
+        BigInteger[] r = null;
+        for (int i = k.bitLength() - 1; i >= 0; i--) {
+            r = add(r, r);
+            if (k.testBit(i)) r = add(r, x);
+        }
+        return r;
+    }
+
+    private EcPoint point(BigInteger[] x) {
+        return x == null ? curve.infinity() : curve.point(large(x[0]), large(x[1]));
+    }
+
+    private static BigInteger[] affine(EcPoint x) {
+        return x.isInfinity() ? null : new BigInteger[]{big(x.x()), big(x.y())};
+    }
+
+    /**
+     * Random point of a curve over a prime <i>p = 3 mod 4</i>, square roots are powers by <i>(p + 1) / 4</i>.
+     */
+    private static EcPoint point(EllipticCurve curve, Random random) {
+        final BigInteger p = big(curve.field().modulus());
+        for (; ; ) {
+            final BigInteger x = new BigInteger(p.bitLength() - 1, random);
+            final BigInteger right = x.pow(3).add(big(curve.a()).multiply(x)).add(big(curve.b())).mod(p);
+            final BigInteger y = right.modPow(p.add(BigInteger.ONE).shiftRight(2), p);
+
+            if (y.pow(2).mod(p).equals(right)) return curve.point(large(x), large(y));
+        }
+    }
+
+    private static BigInteger prime(int bits, Random random) {
+        for (; ; ) {
+            final BigInteger x = BigInteger.probablePrime(bits, random);
+            if (x.testBit(1)) return x;
+        }
+    }
+}
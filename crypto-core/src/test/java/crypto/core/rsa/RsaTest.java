@@ -0,0 +1,101 @@
+package crypto.core.rsa;
+
+import core.arithmetic.Large;
+import core.arithmetic.PrimeGenerator;
+import core.rsa.RsaPrivateKey;
+import core.rsa.RsaPublicKey;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static crypto.core.Fixtures.big;
+import static crypto.core.Fixtures.large;
+import static crypto.core.Fixtures.random;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * RSA operations with generated keys compared with {@link BigInteger}.
+ *
+ * @author vadym
+ * @since 17.10.26 15:51
+ */
+@RunWith(Parameterized.class)
+public class RsaTest {
+    private final int bits;
+    private final Random random;
+    private final RsaPrivateKey key;
+
+    public RsaTest(int bits) {
+        this.bits = bits;
+        this.random = random(bits);
+        this.key = RsaPrivateKey.generate(bits, new PrimeGenerator(random));
+    }
+
+    @Parameterized.Parameters
+    public static Collection numbers() {
+        return Arrays.asList(new Object[][]{
+                {32}, {33}, {512}, {1024}, {2048}
+        });
+    }
+
+    @Test
+    public void shouldGenerateKey() throws Exception {
+        final BigInteger p = big(key.primeP());
+        final BigInteger q = big(key.primeQ());
+        final BigInteger d = big(key.exponent());
+
+        assertEquals("should have the bit length", bits, key.modulus().bitLength());
+        assertEquals(p.multiply(q), big(key.modulus()));
+        assertEquals(d.mod(p.subtract(BigInteger.ONE)), big(key.exponentP()));
+        assertEquals(d.mod(q.subtract(BigInteger.ONE)), big(key.exponentQ()));
+        assertEquals(q.modInverse(p), big(key.coefficient()));
+        assertEquals("should invert exponent", BigInteger.ONE,
+                d.multiply(big(key.publicKey().exponent())).mod(p.subtract(BigInteger.ONE)));
+    }
+
+    @Test
+    public void shouldDecrypt() throws Exception {
+        final BigInteger n = big(key.modulus());
+        final ForkJoinPool pool = new ForkJoinPool(2);
+
+        try {
+            for (int i = 0; i < 10; i++) {
+                final BigInteger x = new BigInteger(bits, random).mod(n);
+                final BigInteger expected = x.modPow(big(key.exponent()), n);
+
+                assertEquals("should decrypt", expected, big(key.decrypt(large(x))));
+                assertEquals("should decrypt in parallel", expected, big(key.decrypt(large(x), pool)));
+                assertEquals("should encrypt back", x, big(key.publicKey().encrypt(key.decrypt(large(x)))));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldEncryptByAnyExponent() throws Exception {
+        final BigInteger n = big(key.modulus());
+        final BigInteger x = new BigInteger(bits, random).mod(n);
+
+        for (BigInteger e : new BigInteger[]{BigInteger.ONE, BigInteger.valueOf(3), BigInteger.valueOf(65537),
+                new BigInteger(64, random), new BigInteger(65, random).setBit(64), new BigInteger(bits, random)}) {
+            assertEquals("should encrypt by " + e, x.modPow(e, n), big(new RsaPublicKey(key.modulus(), large(e)).encrypt(large(x))));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectOutOfRange() throws Exception {
+        key.decrypt(key.modulus());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNotInvertibleExponent() throws Exception {
+        new RsaPrivateKey(key.primeP(), key.primeQ(), Large.valueOf(2));
+    }
+}
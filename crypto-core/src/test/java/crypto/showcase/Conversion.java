@@ -0,0 +1,55 @@
+package crypto.showcase;
+
+import core.arithmetic.Large;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+/**
+ * Throughput of decimal parsing and printing, in digits per second, compared with {@link BigInteger}.
+ *
+ * @author vadym
+ * @since 17.10.26 14:05
+ */
+public class Conversion {
+
+    public static void main(String[] args) {
+        final Random random = new Random(7);
+
+        for (int length : new int[]{1_000, 10_000, 100_000, 1_000_000}) {
+            final StringBuilder text = new StringBuilder(length);
+            text.append((char) ('1' + random.nextInt(9)));
+            while (text.length() < length) text.append((char) ('0' + random.nextInt(10)));
+            final String x = text.toString();
+
+            final int rounds = Math.max(1, 2_000_000 / length);
+
+            long time = System.nanoTime();
+            Large large = null;
+            for (int i = 0; i < rounds; i++) large = new Large(x);
+            final double largeParse = rate(length, rounds, time);
+
+            time = System.nanoTime();
+            BigInteger big = null;
+            for (int i = 0; i < rounds; i++) big = new BigInteger(x);
+            final double bigParse = rate(length, rounds, time);
+
+            time = System.nanoTime();
+            for (int i = 0; i < rounds; i++) large.abs().toString();     // a fresh copy, the text is cached
+            final double largePrint = rate(length, rounds, time);
+
+            time = System.nanoTime();
+            for (int i = 0; i < rounds; i++) big.toString();
+            final double bigPrint = rate(length, rounds, time);
+
+            if (!x.equals(large.toString())) throw new IllegalStateException("conversion mismatch");
+
+            System.out.printf("%,10d digits: parse %,14.0f vs %,14.0f d/s, print %,14.0f vs %,14.0f d/s%n",
+                    length, largeParse, bigParse, largePrint, bigPrint);
+        }
+    }
+
+    private static double rate(int length, int rounds, long start) {
+        return (double) length * rounds / ((System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,60 @@
+package crypto.showcase;
+
+import core.arithmetic.Large;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Scaling of parallel multiplication with the number of threads, on operands of 100 000 coefficients and more.
+ * Sizes could be given as arguments, in coefficients of 32 bits.
+ *
+ * @author vadym
+ * @since 17.10.26 14:30
+ */
+public class ParallelScaling {
+
+    public static void main(String[] args) {
+        final Random random = new Random(7);
+        final int[] sizes = args.length > 0 ? new int[args.length] : new int[]{100_000, 400_000, 1_000_000};
+        for (int i = 0; i < args.length; i++) sizes[i] = Integer.parseInt(args[i]);
+
+        final int processors = Runtime.getRuntime().availableProcessors();
+        System.out.printf("available processors: %d%n", processors);
+
+        for (int size : sizes) {
+            final Large x = new Large(1, new BigInteger(size * 32, random).setBit(size * 32 - 1).toByteArray());
+            final Large y = new Large(1, new BigInteger(size * 32, random).setBit(size * 32 - 1).toByteArray());
+
+            final Large expected = x.multiply(y);
+            final double sequential = time(x, y, null);
+
+            System.out.printf("%,10d coefficients: sequential %8.1f ms%n", size, sequential);
+
+            for (int threads = 1; threads <= 32; threads *= 2) {
+                final ForkJoinPool pool = new ForkJoinPool(threads);
+
+                if (x.multiply(y, pool).compareTo(expected) != 0) throw new IllegalStateException("product mismatch");
+                final double parallel = time(x, y, pool);
+
+                System.out.printf("%,10d coefficients: %2d threads %8.1f ms, speedup %5.2f%n",
+                        size, threads, parallel, sequential / parallel);
+
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static double time(final Large x, final Large y, final ForkJoinPool pool) {
+        double best = Double.MAX_VALUE;
+
+        for (int i = 0; i < 3; i++) {
+            final long start = System.nanoTime();
+            if (pool == null) x.multiply(y); else x.multiply(y, pool);
+            best = Math.min(best, (System.nanoTime() - start) / 1e6);
+        }
+
+        return best;
+    }
+}